@@ -0,0 +1,13 @@
+package dev.guilherme.payments_flux.reactive;
+
+import dev.guilherme.payments_flux.api.mapper.WalletMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication(scanBasePackageClasses = {PaymentsFluxReactiveApplication.class, WalletMapper.class})
+public class PaymentsFluxReactiveApplication {
+
+    static void main(String[] args) {
+        SpringApplication.run(PaymentsFluxReactiveApplication.class, args);
+    }
+}
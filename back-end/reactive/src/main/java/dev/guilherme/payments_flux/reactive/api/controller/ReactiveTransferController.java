@@ -0,0 +1,53 @@
+package dev.guilherme.payments_flux.reactive.api.controller;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.reactive.domain.service.transfer.ReactiveTransferService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(value = "v1/api/transfer")
+@AllArgsConstructor
+public class ReactiveTransferController {
+
+    private final ReactiveTransferService transferService;
+
+    @PostMapping
+    public Mono<ResponseEntity<TransferDTO.Response>> create(@RequestBody @Valid TransferDTO.CreateRequest transferDTO) {
+        return transferService.create(transferDTO).map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TransferDTO.Response>> findById(@PathVariable String id) {
+        return transferService.findById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Page<TransferDTO.Response>>> findAll(
+            @PageableDefault(size = 10, sort = "createdAt") Pageable pageable) {
+        return transferService.findAll(pageable).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/sender/{id}")
+    public Flux<TransferDTO.Response> findBySender(@PathVariable String id) {
+        return transferService.findBySender(id);
+    }
+
+    @GetMapping("/receiver/{id}")
+    public Flux<TransferDTO.Response> findByReceiver(@PathVariable String id) {
+        return transferService.findByReceiver(id);
+    }
+
+    @PostMapping("/summary")
+    public Flux<TransferDTO.FinancialSummary> getDailySummary(@RequestBody @Valid TransferDTO.FinancialSummaryRequest request) {
+        return transferService.getFinancialSummary(request);
+    }
+}
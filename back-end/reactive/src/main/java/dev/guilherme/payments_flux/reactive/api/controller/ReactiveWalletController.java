@@ -0,0 +1,65 @@
+package dev.guilherme.payments_flux.reactive.api.controller;
+
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.reactive.domain.service.wallet.ReactiveWalletService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequestMapping(value = "v1/api/wallet")
+@AllArgsConstructor
+public class ReactiveWalletController {
+
+    private final ReactiveWalletService walletService;
+
+    @PostMapping
+    public Mono<ResponseEntity<WalletDTO.Response>> create(@RequestBody @Validated(WalletDTO.DocumentCheck.class) WalletDTO.CreateRequest walletDTO) {
+        return walletService.create(walletDTO).map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<WalletDTO.Response>> findById(@PathVariable String id) {
+        return walletService.findById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/balance/{id}")
+    public Mono<ResponseEntity<BigDecimal>> getBalance(@PathVariable String id) {
+        return walletService.getBalance(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Flux<WalletDTO.Response> findAll() {
+        return walletService.findAll();
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<WalletDTO.Response>> update(@PathVariable String id,
+                                                           @RequestBody @Valid WalletDTO.UpdateRequest walletDTO) {
+        return walletService.update(id, walletDTO).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable String id) {
+        return walletService.delete(id).thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+
+    @PostMapping("/deposit/{id}")
+    public Mono<ResponseEntity<WalletDTO.Response>> deposit(@PathVariable String id,
+                                                            @RequestBody @Valid WalletDTO.MoneyRequest depositDTO) {
+        return walletService.deposit(id, depositDTO).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/withdraw/{id}")
+    public Mono<ResponseEntity<WalletDTO.Response>> withdraw(@PathVariable String id,
+                                                             @RequestBody @Valid WalletDTO.MoneyRequest withdrawDTO) {
+        return walletService.withdraw(id, withdrawDTO).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.guilherme.payments_flux.reactive.api.exception;
+
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.api.exception.ErrorResponse;
+import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
+import dev.guilherme.payments_flux.api.exception.ValidationErrorResponse;
+import dev.guilherme.payments_flux.api.exception.ValidationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link dev.guilherme.payments_flux.api.exception.GlobalExceptionHandler},
+ * producing the same error bodies and status codes.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex, ServerHttpRequest request) {
+        return error(HttpStatus.NOT_FOUND, "Resource Not Found", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Business Rule Violation", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ErrorResponse> handleValidationException(ValidationException ex, ServerHttpRequest request) {
+        return error(HttpStatus.BAD_REQUEST, "Validation Error", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ValidationErrorResponse> handleValidationExceptions(WebExchangeBindException ex,
+                                                                              ServerHttpRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            errors.put(fieldName, error.getDefaultMessage());
+        });
+
+        ValidationErrorResponse response = new ValidationErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                errors,
+                LocalDateTime.now(),
+                request.getPath().value()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyException(OptimisticLockingFailureException ex,
+                                                                    ServerHttpRequest request) {
+        return error(HttpStatus.CONFLICT, "Conflict Error", ex.getMessage(), request);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex,
+                                                                      ServerHttpRequest request) {
+        return error(HttpStatus.CONFLICT, "Conflict Error",
+                "Concurrent modification detected. Please retry the operation.", request);
+    }
+
+    private ResponseEntity<ErrorResponse> error(HttpStatus status, String error, String message, ServerHttpRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                status.value(),
+                error,
+                message,
+                LocalDateTime.now(),
+                request.getPath().value()
+        );
+        return ResponseEntity.status(status).body(response);
+    }
+}
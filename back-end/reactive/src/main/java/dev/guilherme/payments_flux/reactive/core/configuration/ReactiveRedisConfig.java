@@ -0,0 +1,28 @@
+package dev.guilherme.payments_flux.reactive.core.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+
+@Configuration
+public class ReactiveRedisConfig {
+
+    /**
+     * Same key and value encoding as the servlet stack's {@code balance-cache},
+     * so both applications read and evict each other's entries.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, BigDecimal> balanceRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, BigDecimal> context = RedisSerializationContext
+                .<String, BigDecimal>newSerializationContext(RedisSerializer.string())
+                .value(new JacksonJsonRedisSerializer<>(BigDecimal.class))
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
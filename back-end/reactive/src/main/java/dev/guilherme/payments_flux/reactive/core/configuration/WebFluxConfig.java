@@ -0,0 +1,32 @@
+package dev.guilherme.payments_flux.reactive.core.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration
+public class WebFluxConfig implements WebFluxConfigurer {
+
+    /**
+     * Reads the same {@code payments-flux.password-hash.cost} as the servlet
+     * stack, so both hash the same wallets at the same cost. This stack does not
+     * calibrate, so the property must hold a pinned cost.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${payments-flux.password-hash.cost:10}") int cost) {
+        if (cost <= 0) {
+            throw new IllegalStateException("payments-flux.password-hash.cost must be pinned for the reactive stack, got " + cost);
+        }
+        return new BCryptPasswordEncoder(cost);
+    }
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
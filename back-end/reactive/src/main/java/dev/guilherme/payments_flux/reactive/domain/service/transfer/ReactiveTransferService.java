@@ -0,0 +1,22 @@
+package dev.guilherme.payments_flux.reactive.domain.service.transfer;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTransferService {
+
+    Mono<TransferDTO.Response> create(TransferDTO.CreateRequest transferDTO);
+
+    Mono<TransferDTO.Response> findById(String id);
+
+    Mono<Page<TransferDTO.Response>> findAll(Pageable pageable);
+
+    Flux<TransferDTO.Response> findBySender(String id);
+
+    Flux<TransferDTO.Response> findByReceiver(String id);
+
+    Flux<TransferDTO.FinancialSummary> getFinancialSummary(TransferDTO.FinancialSummaryRequest request);
+}
@@ -0,0 +1,128 @@
+package dev.guilherme.payments_flux.reactive.domain.service.transfer;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
+import dev.guilherme.payments_flux.api.mapper.TransferMapper;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceVersionProjection;
+import dev.guilherme.payments_flux.reactive.domain.service.wallet.ReactiveBalanceCache;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Service
+@AllArgsConstructor
+public class ReactiveTransferServiceImpl implements ReactiveTransferService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveBalanceCache balanceCache;
+    private final TransferMapper transferMapper;
+
+    @Override
+    public Mono<TransferDTO.Response> create(TransferDTO.CreateRequest transferDTO) {
+        return mongoTemplate.query(Wallet.class)
+                .as(WalletBalanceVersionProjection.class)
+                .matching(Query.query(where("_id").in(transferDTO.senderId(), transferDTO.receiverId())))
+                .all()
+                .collectMap(WalletBalanceVersionProjection::id)
+                .flatMap(wallets -> transfer(wallets, transferDTO))
+                .as(transactionalOperator::transactional)
+                .flatMap(transfer -> balanceCache.evict(transfer.getSenderId(), transfer.getReceiverId())
+                        .thenReturn(transferMapper.toResponse(transfer)));
+    }
+
+    @Override
+    public Mono<TransferDTO.Response> findById(String id) {
+        return mongoTemplate.findById(id, Transfer.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Transfer not found", id)))
+                .map(transferMapper::toResponse);
+    }
+
+    @Override
+    public Mono<Page<TransferDTO.Response>> findAll(Pageable pageable) {
+        return Mono.zip(
+                        mongoTemplate.find(new Query().with(pageable), Transfer.class)
+                                .map(transferMapper::toResponse)
+                                .collectList(),
+                        mongoTemplate.count(new Query(), Transfer.class))
+                .map(page -> new PageImpl<>(page.getT1(), pageable, page.getT2()));
+    }
+
+    @Override
+    public Flux<TransferDTO.Response> findBySender(String id) {
+        return mongoTemplate.find(Query.query(where("senderId").is(id)), Transfer.class)
+                .map(transferMapper::toResponse);
+    }
+
+    @Override
+    public Flux<TransferDTO.Response> findByReceiver(String id) {
+        return mongoTemplate.find(Query.query(where("receiverId").is(id)), Transfer.class)
+                .map(transferMapper::toResponse);
+    }
+
+    @Override
+    public Flux<TransferDTO.FinancialSummary> getFinancialSummary(TransferDTO.FinancialSummaryRequest request) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("createdAt").gte(request.startDate()).lte(request.endDate())
+                        .and("type").in("TRANSFER", "DEPOSIT", "WITHDRAW")),
+                Aggregation.group("type").sum("amount").as("totalAmount").count().as("count"),
+                Aggregation.project("totalAmount", "count").and("operationType").previousOperation());
+        return mongoTemplate.aggregate(aggregation, Transfer.class, TransferDTO.FinancialSummary.class);
+    }
+
+    private Mono<Transfer> transfer(Map<String, WalletBalanceVersionProjection> wallets, TransferDTO.CreateRequest transferDTO) {
+        WalletBalanceVersionProjection receiver = wallets.get(transferDTO.receiverId());
+        if (receiver == null) {
+            return Mono.error(new ResourceNotFoundException("Wallet receiver with id %d not found.", transferDTO.receiverId()));
+        }
+        WalletBalanceVersionProjection sender = wallets.get(transferDTO.senderId());
+        if (sender == null) {
+            return Mono.error(new ResourceNotFoundException("Wallet sender with id %d not found.", transferDTO.senderId()));
+        }
+        if (sender.id().equals(receiver.id())) {
+            return Mono.error(BusinessException.SAME_WALLET);
+        }
+        if (sender.balance().compareTo(transferDTO.amount()) < 0) {
+            return Mono.error(BusinessException.INSUFFICIENT_BALANCE);
+        }
+
+        Transfer newTransfer = transferMapper.toEntity(transferDTO);
+        newTransfer.setSenderId(sender.id());
+        newTransfer.setReceiverId(receiver.id());
+        newTransfer.setCreatedAt(LocalDateTime.now());
+
+        return updateBalance(sender, sender.balance().subtract(transferDTO.amount()))
+                .then(updateBalance(receiver, receiver.balance().add(transferDTO.amount())))
+                .then(mongoTemplate.insert(newTransfer));
+    }
+
+    private Mono<Void> updateBalance(WalletBalanceVersionProjection wallet, BigDecimal balance) {
+        return mongoTemplate.updateFirst(
+                        Query.query(where("_id").is(wallet.id()).and("version").is(wallet.version())),
+                        new Update().set("balance", balance).inc("version", 1),
+                        Wallet.class)
+                .flatMap(result -> result.getMatchedCount() == 1
+                        ? Mono.<Void>empty()
+                        : Mono.error(new OptimisticLockingFailureException(
+                                "Wallet " + wallet.id() + " was modified concurrently.")));
+    }
+}
@@ -0,0 +1,53 @@
+package dev.guilherme.payments_flux.reactive.domain.service.wallet;
+
+import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking cache-aside for wallet balances. Redis failures degrade to a
+ * database read instead of failing the request.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class ReactiveBalanceCache {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final ReactiveRedisTemplate<String, BigDecimal> balanceRedisTemplate;
+
+    public Mono<BigDecimal> get(String id, Supplier<Mono<BigDecimal>> loader) {
+        String key = key(id);
+        return balanceRedisTemplate.opsForValue().get(key)
+                .onErrorResume(e -> {
+                    log.warn("Balance cache read failed for {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(loader).flatMap(balance -> balanceRedisTemplate.opsForValue()
+                        .set(key, balance, TTL)
+                        .onErrorReturn(false)
+                        .thenReturn(balance)));
+    }
+
+    public Mono<Void> evict(String... ids) {
+        return balanceRedisTemplate.delete(Arrays.stream(ids).map(ReactiveBalanceCache::key).toArray(String[]::new))
+                .onErrorResume(e -> {
+                    log.warn("Balance cache eviction failed for {}: {}", Arrays.toString(ids), e.getMessage());
+                    return Mono.just(0L);
+                })
+                .then();
+    }
+
+    private static String key(String id) {
+        return CacheNames.BALANCE + "::" + id;
+    }
+}
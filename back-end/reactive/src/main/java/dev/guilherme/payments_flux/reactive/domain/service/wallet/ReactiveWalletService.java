@@ -0,0 +1,26 @@
+package dev.guilherme.payments_flux.reactive.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ReactiveWalletService {
+
+    Mono<WalletDTO.Response> create(WalletDTO.CreateRequest walletDTO);
+
+    Mono<WalletDTO.Response> findById(String id);
+
+    Flux<WalletDTO.Response> findAll();
+
+    Mono<BigDecimal> getBalance(String id);
+
+    Mono<WalletDTO.Response> update(String id, WalletDTO.UpdateRequest walletDTO);
+
+    Mono<Void> delete(String id);
+
+    Mono<WalletDTO.Response> deposit(String id, WalletDTO.MoneyRequest depositDTO);
+
+    Mono<WalletDTO.Response> withdraw(String id, WalletDTO.MoneyRequest withdrawDTO);
+}
@@ -0,0 +1,111 @@
+package dev.guilherme.payments_flux.reactive.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
+import dev.guilherme.payments_flux.api.mapper.WalletMapper;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceProjection;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Service
+@AllArgsConstructor
+public class ReactiveWalletServiceImpl implements ReactiveWalletService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactiveBalanceCache balanceCache;
+    private final PasswordEncoder passwordEncoder;
+    private final WalletMapper walletMapper;
+
+    @Override
+    public Mono<WalletDTO.Response> create(WalletDTO.CreateRequest walletDTO) {
+        // BCrypt is CPU-bound and slow by design; keep it off the event loop.
+        return Mono.fromCallable(() -> passwordEncoder.encode(walletDTO.password()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(hash -> {
+                    Wallet newWallet = walletMapper.toEntity(walletDTO);
+                    newWallet.setPassword(hash);
+                    newWallet.setBalance(BigDecimal.ZERO);
+                    return newWallet;
+                })
+                .flatMap(mongoTemplate::insert)
+                .map(walletMapper::toResponse);
+    }
+
+    @Override
+    public Mono<WalletDTO.Response> findById(String id) {
+        return findWallet(id).map(walletMapper::toResponse);
+    }
+
+    @Override
+    public Flux<WalletDTO.Response> findAll() {
+        return mongoTemplate.findAll(Wallet.class).map(walletMapper::toResponse);
+    }
+
+    @Override
+    public Mono<BigDecimal> getBalance(String id) {
+        return balanceCache.get(id, () -> mongoTemplate.query(Wallet.class)
+                .as(WalletBalanceProjection.class)
+                .matching(Query.query(where("_id").is(id)))
+                .one()
+                .map(WalletBalanceProjection::balance)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Wallet not found", id))));
+    }
+
+    @Override
+    public Mono<WalletDTO.Response> update(String id, WalletDTO.UpdateRequest walletDTO) {
+        return findWallet(id)
+                .flatMap(wallet -> {
+                    walletMapper.updateEntity(walletDTO, wallet);
+                    return mongoTemplate.save(wallet);
+                })
+                .map(walletMapper::toResponse);
+    }
+
+    @Override
+    public Mono<Void> delete(String id) {
+        return mongoTemplate.remove(Query.query(where("_id").is(id)), Wallet.class)
+                .flatMap(result -> result.getDeletedCount() == 0
+                        ? Mono.error(new ResourceNotFoundException("Wallet not found", id))
+                        : balanceCache.evict(id));
+    }
+
+    @Override
+    public Mono<WalletDTO.Response> deposit(String id, WalletDTO.MoneyRequest depositDTO) {
+        return findWallet(id)
+                .flatMap(wallet -> {
+                    wallet.setBalance(wallet.getBalance().add(depositDTO.amount()));
+                    return mongoTemplate.save(wallet);
+                })
+                .flatMap(wallet -> balanceCache.evict(id).thenReturn(walletMapper.toResponse(wallet)));
+    }
+
+    @Override
+    public Mono<WalletDTO.Response> withdraw(String id, WalletDTO.MoneyRequest withdrawDTO) {
+        return findWallet(id)
+                .flatMap(wallet -> {
+                    if (wallet.getBalance().compareTo(withdrawDTO.amount()) < 0) {
+                        return Mono.error(BusinessException.INSUFFICIENT_BALANCE);
+                    }
+                    wallet.setBalance(wallet.getBalance().subtract(withdrawDTO.amount()));
+                    return mongoTemplate.save(wallet);
+                })
+                .flatMap(wallet -> balanceCache.evict(id).thenReturn(walletMapper.toResponse(wallet)));
+    }
+
+    private Mono<Wallet> findWallet(String id) {
+        return mongoTemplate.findById(id, Wallet.class)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Wallet not found", id)));
+    }
+}
@@ -0,0 +1,165 @@
+package dev.guilherme.payments_flux.reactive.api.controller;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class ReactiveApiIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:latest");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReactiveRedisTemplate<String, BigDecimal> balanceRedisTemplate;
+
+    private WebTestClient webTestClient;
+    private Wallet sender;
+    private Wallet receiver;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+        mongoTemplate.dropCollection(Transfer.class).block();
+        mongoTemplate.dropCollection(Wallet.class).block();
+        mongoTemplate.createCollection(Transfer.class).block();
+        balanceRedisTemplate.getConnectionFactory().getReactiveConnection().serverCommands().flushAll().block();
+
+        sender = mongoTemplate.insert(new Wallet(null, "Sender User", "16244749006", "sender@email.com",
+                "password123", new BigDecimal("1000.00"), 0L)).block();
+        receiver = mongoTemplate.insert(new Wallet(null, "Receiver User", "53359657039", "receiver@email.com",
+                "password123", new BigDecimal("500.00"), 0L)).block();
+    }
+
+    @Test
+    @DisplayName("Should create a wallet through the reactive API")
+    void shouldCreateWallet() {
+        WalletDTO.CreateRequest request = new WalletDTO.CreateRequest(
+                "New User", "529.982.247-25", "new@email.com", "password123");
+
+        webTestClient.post().uri("/v1/api/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").exists()
+                .jsonPath("$.cpfCnpj").isEqualTo("52998224725")
+                .jsonPath("$.balance").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid wallet payloads with the shared validation error body")
+    void shouldRejectInvalidWallet() {
+        WalletDTO.CreateRequest request = new WalletDTO.CreateRequest("", "123", "not-an-email", "123");
+
+        webTestClient.post().uri("/v1/api/wallet")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.errors.email").exists();
+    }
+
+    @Test
+    @DisplayName("Should serve balances through the cache and evict them on transfer")
+    void shouldCacheBalanceAndEvictOnTransfer() {
+        webTestClient.get().uri("/v1/api/wallet/balance/{id}", sender.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BigDecimal.class).isEqualTo(new BigDecimal("1000.00"));
+
+        assertEquals(new BigDecimal("1000.00"),
+                balanceRedisTemplate.opsForValue().get(CacheNames.BALANCE + "::" + sender.getId()).block());
+
+        webTestClient.post().uri("/v1/api/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TransferDTO.CreateRequest(sender.getId(), receiver.getId(), new BigDecimal("200.00")))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.senderId").isEqualTo(sender.getId())
+                .jsonPath("$.amount").isEqualTo(200.00);
+
+        assertFalse(balanceRedisTemplate.hasKey(CacheNames.BALANCE + "::" + sender.getId()).block());
+
+        webTestClient.get().uri("/v1/api/wallet/balance/{id}", sender.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BigDecimal.class).isEqualTo(new BigDecimal("800.00"));
+
+        webTestClient.get().uri("/v1/api/transfer/receiver/{id}", receiver.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a transfer with insufficient balance")
+    void shouldRejectTransferWithInsufficientBalance() {
+        webTestClient.post().uri("/v1/api/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TransferDTO.CreateRequest(sender.getId(), receiver.getId(), new BigDecimal("2000.00")))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Insufficient balance for transfer.");
+
+        assertEquals(0L, mongoTemplate.count(new Query(), Transfer.class).block());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown wallet")
+    void shouldReturnNotFoundForUnknownWallet() {
+        webTestClient.get().uri("/v1/api/wallet/{id}", "000000000000000000000000")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.path").isEqualTo("/v1/api/wallet/000000000000000000000000");
+    }
+}
@@ -1,9 +1,12 @@
 package dev.guilherme.payments_flux.api.dto;
 
 import dev.guilherme.payments_flux.core.validator.CPFCNPJ;
+import dev.guilherme.payments_flux.core.validator.CpfCnpj;
 import jakarta.validation.constraints.*;
+import jakarta.validation.groups.Default;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public record WalletDTO(
     String id,
@@ -14,14 +17,23 @@ public record WalletDTO(
     @NotNull @DecimalMin("0.00") BigDecimal balance
 ) {
     
+    /**
+     * Validation group of the CPF/CNPJ check on {@link CreateRequest}. It extends
+     * {@link Default}, so validating it runs every other constraint too, while
+     * the bulk import validates only {@link Default} after checking the whole
+     * chunk's documents in one batch pass.
+     */
+    public interface DocumentCheck extends Default {
+    }
+
     public record CreateRequest(
         @NotBlank String fullName,
-        @NotBlank @CPFCNPJ String cpfCnpj,
+        @NotBlank @CPFCNPJ(groups = DocumentCheck.class) String cpfCnpj,
         @NotBlank @Email @Size(max = 40) String email,
         @NotBlank @Size(min = 6) String password
     ) {
         public CreateRequest {
-            cpfCnpj = (cpfCnpj != null) ? cpfCnpj.replaceAll("\\D", "") : null;
+            cpfCnpj = CpfCnpj.normalize(cpfCnpj);
         }
     }
     
@@ -32,10 +44,14 @@ public record WalletDTO(
         @NotBlank @Size(min = 6) String password
     ) {
         public UpdateRequest {
-            cpfCnpj = (cpfCnpj != null) ? cpfCnpj.replaceAll("\\D", "") : null;
+            cpfCnpj = CpfCnpj.normalize(cpfCnpj);
         }
     }
 
+    public record BalancesRequest(
+            @NotEmpty @Size(max = 500) List<@NotBlank String> ids
+    ) {}
+
     public record MoneyRequest(
             @NotNull @Positive @Digits(integer = 8, fraction = 2) BigDecimal amount
     ) {}
@@ -47,4 +63,20 @@ public record WalletDTO(
         String email,
         BigDecimal balance
     ) {}
+
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    public record ImportError(
+        long line,
+        String message
+    ) {}
+
+    public record ImportResult(
+        long processed,
+        long imported,
+        List<ImportError> errors
+    ) {}
 }
@@ -0,0 +1,31 @@
+package dev.guilherme.payments_flux.api.exception;
+
+/**
+ * A request refused by a business rule. These are expected outcomes, not
+ * bugs, and can outnumber successful requests during card-testing attacks,
+ * so the exception carries no stack trace; the rules that fire on every such
+ * request are shared, immutable instances. The reason is a short, stable code
+ * for metrics, where the message is meant for clients.
+ */
+public class BusinessException extends ServiceException {
+
+    public static final BusinessException INSUFFICIENT_BALANCE =
+            new BusinessException("insufficient_balance", "Insufficient balance for transfer.");
+    public static final BusinessException SAME_WALLET =
+            new BusinessException("same_wallet", "The transferency is not be finished.");
+
+    private final String reason;
+
+    public BusinessException(String message) {
+        this("business_rule", message);
+    }
+
+    public BusinessException(String reason, String message) {
+        super(message, false);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
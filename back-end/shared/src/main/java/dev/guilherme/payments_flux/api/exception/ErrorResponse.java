@@ -0,0 +1,11 @@
+package dev.guilherme.payments_flux.api.exception;
+
+import java.time.LocalDateTime;
+
+public record ErrorResponse(
+        int status,
+        String error,
+        String message,
+        LocalDateTime timestamp,
+        String path
+) {}
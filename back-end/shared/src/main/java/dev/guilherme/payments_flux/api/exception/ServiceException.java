@@ -8,4 +8,8 @@ public class ServiceException extends RuntimeException {
     public ServiceException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    protected ServiceException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,17 @@
+package dev.guilherme.payments_flux.api.exception;
+
+import java.time.Duration;
+
+public class TooManyRequestsException extends ServiceException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,12 @@
+package dev.guilherme.payments_flux.api.exception;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record ValidationErrorResponse(
+        int status,
+        String error,
+        Map<String, String> errors,
+        LocalDateTime timestamp,
+        String path
+) {}
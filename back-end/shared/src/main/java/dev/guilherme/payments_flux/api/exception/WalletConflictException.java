@@ -0,0 +1,17 @@
+package dev.guilherme.payments_flux.api.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+public class WalletConflictException extends OptimisticLockingFailureException {
+
+    private final String walletId;
+
+    public WalletConflictException(String walletId) {
+        super("Wallet " + walletId + " was modified concurrently.");
+        this.walletId = walletId;
+    }
+
+    public String getWalletId() {
+        return walletId;
+    }
+}
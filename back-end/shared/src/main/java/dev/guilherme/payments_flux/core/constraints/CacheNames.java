@@ -3,4 +3,5 @@ package dev.guilherme.payments_flux.core.constraints;
 public final class CacheNames {
     public static final String TRANSFER = "transfer-cache";
     public static final String BALANCE = "balance-cache";
+    public static final String TRANSFER_RESPONSE = "transfer-response-cache";
 }
@@ -0,0 +1,156 @@
+package dev.guilherme.payments_flux.core.validator;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Check-digit validation and normalization of CPF and CNPJ numbers, including
+ * the alphanumeric CNPJ, whose first twelve characters may be letters valued
+ * by their ASCII code minus 48. Validation is a single pass over the input
+ * that accumulates the CPF and CNPJ weighted sums side by side, skipping the
+ * usual punctuation, so it never allocates.
+ */
+public final class CpfCnpj {
+
+    public static final String INVALID_MESSAGE = "Invalid CPF or CNPJ";
+
+    private static final int CPF_LENGTH = 11;
+    private static final int CNPJ_LENGTH = 14;
+    private static final int CNPJ_BASE_LENGTH = 12;
+    // Second CNPJ check-digit weights; the first check digit uses them from index 1.
+    private static final int[] CNPJ_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private CpfCnpj() {
+    }
+
+    public static boolean isValid(CharSequence value) {
+        int length = 0;
+        int first = -1;
+        int previous = -1;
+        int last = -1;
+        boolean repeated = true;
+        boolean letters = false;
+        int cpfSum1 = 0;
+        int cpfSum2 = 0;
+        int cnpjSum1 = 0;
+        int cnpjSum2 = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                if (length >= CNPJ_BASE_LENGTH) {
+                    return false;
+                }
+                letters = true;
+                digit = Character.toUpperCase(c) - '0';
+            } else if (c == '.' || c == '-' || c == '/' || c == ' ') {
+                continue;
+            } else {
+                return false;
+            }
+            if (length == CNPJ_LENGTH) {
+                return false;
+            }
+
+            if (length == 0) {
+                first = digit;
+            } else if (digit != first) {
+                repeated = false;
+            }
+            if (length < 9) {
+                cpfSum1 += digit * (10 - length);
+            }
+            if (length < 10) {
+                cpfSum2 += digit * (11 - length);
+            }
+            if (length < CNPJ_BASE_LENGTH) {
+                cnpjSum1 += digit * CNPJ_WEIGHTS[length + 1];
+            }
+            if (length < CNPJ_BASE_LENGTH + 1) {
+                cnpjSum2 += digit * CNPJ_WEIGHTS[length];
+            }
+            previous = last;
+            last = digit;
+            length++;
+        }
+
+        if (repeated) {
+            return false;
+        }
+        if (length == CPF_LENGTH) {
+            return !letters && previous == checkDigit(cpfSum1) && last == checkDigit(cpfSum2);
+        }
+        if (length == CNPJ_LENGTH) {
+            return previous == checkDigit(cnpjSum1) && last == checkDigit(cnpjSum2);
+        }
+        return false;
+    }
+
+    /**
+     * Validates a batch, such as the CPF/CNPJ column of an import chunk, and
+     * returns the indexes of the invalid entries. Null or blank entries are left
+     * to {@code @NotBlank} and are not reported.
+     */
+    public static BitSet findInvalid(List<? extends CharSequence> values) {
+        BitSet invalid = new BitSet(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            CharSequence value = values.get(i);
+            if (value != null && !isBlank(value) && !isValid(value)) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Strips punctuation and upper-cases letters. Returns the same instance when
+     * the value is already canonical, which is the common case for API clients.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        int length = value.length();
+        int i = 0;
+        while (i < length && isCanonical(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return value;
+        }
+
+        char[] chars = new char[length];
+        value.getChars(0, i, chars, 0);
+        int size = i;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (isCanonical(c)) {
+                chars[size++] = c;
+            } else if (c >= 'a' && c <= 'z') {
+                chars[size++] = (char) (c - ('a' - 'A'));
+            }
+        }
+        return new String(chars, 0, size);
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static boolean isCanonical(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isBlank(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
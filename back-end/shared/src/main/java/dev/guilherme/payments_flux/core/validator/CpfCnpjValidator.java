@@ -0,0 +1,17 @@
+package dev.guilherme.payments_flux.core.validator;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CpfCnpjValidator implements ConstraintValidator<CPFCNPJ, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null || value.isBlank()) {
+            return true;
+        }
+        return CpfCnpj.isValid(value);
+    }
+}
@@ -6,7 +6,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
@@ -20,10 +19,8 @@ public class Wallet {
 
     private String fullName;
 
-    @Indexed(unique = true)
     private String cpfCnpj;
 
-    @Indexed(unique = true)
     private String email;
 
     @JsonIgnore
@@ -0,0 +1,5 @@
+package dev.guilherme.payments_flux.domain.projections;
+
+import java.math.BigDecimal;
+
+public record WalletIdBalanceProjection(String id, BigDecimal balance) {}
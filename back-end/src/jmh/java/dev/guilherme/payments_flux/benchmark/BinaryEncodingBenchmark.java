@@ -0,0 +1,80 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.codec.DtoCodecs;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a transfer request and encoding a transfer response in JSON,
+ * generic CBOR and CBOR with the hand-written codecs. The mean payload sizes
+ * are printed once per trial.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BinaryEncodingBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinaryEncodingBenchmark {
+
+    private static final int SAMPLES = 1_024;
+
+    @Param({"json", "cbor", "cbor-codecs"})
+    public String encoding;
+
+    private ObjectMapper mapper;
+    private byte[][] requests;
+    private TransferDTO.Response[] responses;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        mapper = switch (encoding) {
+            case "json" -> JsonMapper.builder().build();
+            case "cbor" -> CBORMapper.builder().build();
+            case "cbor-codecs" -> CBORMapper.builder().addModule(DtoCodecs.module()).build();
+            default -> throw new IllegalArgumentException(encoding);
+        };
+
+        requests = new byte[SAMPLES][];
+        responses = new TransferDTO.Response[SAMPLES];
+        SplittableRandom random = new SplittableRandom(42L);
+        long requestBytes = 0;
+        long responseBytes = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            String sender = String.format("%024x", random.nextLong(1L << 48));
+            String receiver = String.format("%024x", random.nextLong(1L << 48));
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 100_000_000), 2);
+            requests[i] = mapper.writeValueAsBytes(new TransferDTO.CreateRequest(sender, receiver, amount));
+            responses[i] = new TransferDTO.Response(String.format("%024x", i), sender, receiver, amount,
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(i));
+            requestBytes += requests[i].length;
+            responseBytes += mapper.writeValueAsBytes(responses[i]).length;
+        }
+        System.out.printf("%n%s: %.1f request bytes, %.1f response bytes%n", encoding,
+                (double) requestBytes / SAMPLES, (double) responseBytes / SAMPLES);
+    }
+
+    @Benchmark
+    public TransferDTO.CreateRequest decodeRequest() {
+        return mapper.readValue(requests[next++ & (SAMPLES - 1)], TransferDTO.CreateRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() {
+        return mapper.writeValueAsBytes(responses[next++ & (SAMPLES - 1)]);
+    }
+}
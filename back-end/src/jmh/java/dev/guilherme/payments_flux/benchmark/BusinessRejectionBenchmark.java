@@ -0,0 +1,86 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.api.exception.ErrorResponse;
+import dev.guilherme.payments_flux.api.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of a rejected transfer under a card-testing load, from the throw deep
+ * in the call stack to the response bytes: a stack-capturing exception mapped
+ * to an ErrorResponse and serialized by Jackson, against the shared stackless
+ * rejection rendered from a cached template.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BusinessRejectionBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BusinessRejectionBenchmark {
+
+    // Roughly the frames between the servlet container and a service method.
+    @Param({"120"})
+    public int stackDepth;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private ServletWebRequest request;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("POST", "/v1/api/transfer");
+        servletRequest.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        request = new ServletWebRequest(servletRequest);
+    }
+
+    @Benchmark
+    public byte[] stackTraceAndErrorResponse() {
+        try {
+            throwAt(stackDepth, () -> new StackfulBusinessException("Insufficient balance for transfer."));
+            return null;
+        } catch (StackfulBusinessException ex) {
+            ErrorResponse response = new ErrorResponse(
+                    400, "Business Rule Violation", ex.getMessage(), LocalDateTime.now(),
+                    request.getDescription(false).replace("uri=", ""));
+            return jsonMapper.writeValueAsBytes(response);
+        }
+    }
+
+    @Benchmark
+    public Object stacklessCachedTemplate() {
+        try {
+            throwAt(stackDepth, () -> BusinessException.INSUFFICIENT_BALANCE);
+            return null;
+        } catch (BusinessException ex) {
+            return handler.handleBusinessException(ex, request).getBody();
+        }
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    private static final class StackfulBusinessException extends RuntimeException {
+        StackfulBusinessException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import br.com.caelum.stella.validation.CNPJValidator;
+import br.com.caelum.stella.validation.CPFValidator;
+import br.com.caelum.stella.validation.InvalidStateException;
+import dev.guilherme.payments_flux.core.validator.CpfCnpjValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code @CPFCNPJ} constraint as Bean Validation calls it, per document
+ * shape, against the former path: regex normalization plus a new Stella
+ * validator per call. Run with {@code ./gradlew jmh -PjmhIncludes=CpfCnpjValidatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CpfCnpjValidatorBenchmark {
+
+    @Param({"52998224725", "529.982.247-25", "11.222.333/0001-81", "12.ABC.345/01DE-35", "52998224724"})
+    public String document;
+
+    private final CpfCnpjValidator validator = new CpfCnpjValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(document, null);
+    }
+
+    @Benchmark
+    public boolean previous() {
+        String cpfCnpj = document.replaceAll("\\D", "").replaceAll("[^0-9]", "");
+        try {
+            if (cpfCnpj.length() == 11) {
+                new CPFValidator().assertValid(cpfCnpj);
+                return true;
+            } else if (cpfCnpj.length() > 11) {
+                new CNPJValidator().assertValid(cpfCnpj);
+                return true;
+            }
+        } catch (InvalidStateException e) {
+            return false;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceVersionProjection;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.bson.types.ObjectId;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Map-backed repository stubs, built as dynamic proxies so only the methods
+ * the service hot paths call need an implementation; anything else throws.
+ * They mirror what the Mongo repositories do for those calls, including the
+ * version check of {@code updateBalance}, without any I/O.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static WalletRepository wallets(Map<String, Wallet> store) {
+        return proxy(WalletRepository.class, (method, args) -> switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(store.get((String) args[0]));
+            case "save" -> {
+                Wallet wallet = (Wallet) args[0];
+                store.put(wallet.getId(), wallet);
+                yield wallet;
+            }
+            case "findBalanceVersionByIdIn" -> {
+                List<WalletBalanceVersionProjection> found = new ArrayList<>(2);
+                for (String id : (Collection<String>) args[0]) {
+                    Wallet wallet = store.get(id);
+                    if (wallet != null) {
+                        found.add(new WalletBalanceVersionProjection(id, wallet.getBalance(), wallet.getVersion()));
+                    }
+                }
+                yield found;
+            }
+            case "updateBalance" -> {
+                Wallet wallet = store.get((String) args[0]);
+                if (wallet == null || wallet.getVersion() != (long) args[1]) {
+                    yield 0L;
+                }
+                wallet.setBalance((BigDecimal) args[2]);
+                wallet.setVersion(wallet.getVersion() + 1);
+                yield 1L;
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static TransferRepository transfers() {
+        return proxy(TransferRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                Transfer transfer = (Transfer) args[0];
+                transfer.setId(new ObjectId().toHexString());
+                yield transfer;
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + " (in memory)";
+                };
+            }
+            return handler.apply(method, args);
+        });
+        return type.cast(instance);
+    }
+}
@@ -0,0 +1,61 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.api.mapper.TransferMapper;
+import dev.guilherme.payments_flux.api.mapper.WalletMapper;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MapStruct mappings used on every wallet and transfer request.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=MapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private final WalletMapper walletMapper = Mappers.getMapper(WalletMapper.class);
+    private final TransferMapper transferMapper = Mappers.getMapper(TransferMapper.class);
+
+    private final Wallet wallet = new Wallet("65f1c0a4e4b0a1b2c3d4e5f6", "Benchmark Holder", "52998224725",
+            "holder@payments-flux.dev", "password", new BigDecimal("1234.56"), 3L);
+    private final WalletDTO.CreateRequest walletRequest = new WalletDTO.CreateRequest(
+            "Benchmark Holder", "52998224725", "holder@payments-flux.dev", "password123");
+    private final Transfer transfer = new Transfer("65f1c0a4e4b0a1b2c3d4e5f8", "65f1c0a4e4b0a1b2c3d4e5f6",
+            "65f1c0a4e4b0a1b2c3d4e5f7", new BigDecimal("25.00"), LocalDateTime.of(2025, 1, 1, 12, 0));
+    private final TransferDTO.CreateRequest transferRequest = new TransferDTO.CreateRequest(
+            "65f1c0a4e4b0a1b2c3d4e5f6", "65f1c0a4e4b0a1b2c3d4e5f7", new BigDecimal("25.00"));
+
+    @Benchmark
+    public WalletDTO.Response walletToResponse() {
+        return walletMapper.toResponse(wallet);
+    }
+
+    @Benchmark
+    public Wallet walletToEntity() {
+        return walletMapper.toEntity(walletRequest);
+    }
+
+    @Benchmark
+    public TransferDTO.Response transferToResponse() {
+        return transferMapper.toResponse(transfer);
+    }
+
+    @Benchmark
+    public Transfer transferToEntity() {
+        return transferMapper.toEntity(transferRequest);
+    }
+}
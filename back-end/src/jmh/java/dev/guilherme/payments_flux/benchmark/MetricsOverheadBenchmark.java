@@ -0,0 +1,76 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.core.cache.MeteredCacheManager;
+import dev.guilherme.payments_flux.core.metrics.ServiceMetricsInterceptor;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of the service timer and the cache counters against the same call
+ * without them, on the Prometheus registry the application exports from.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=MetricsOverheadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+    private Supplier<String> plainService;
+    private Supplier<String> timedService;
+    private Cache plainCache;
+    private Cache meteredCache;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        Supplier<String> target = () -> "65f1c0a4e4b0a1b2c3d4e5f6";
+
+        ProxyFactory plain = new ProxyFactory(target);
+        plain.addInterface(Supplier.class);
+        plainService = (Supplier<String>) plain.getProxy();
+
+        ProxyFactory timed = new ProxyFactory(target);
+        timed.addInterface(Supplier.class);
+        timed.addAdvice(new ServiceMetricsInterceptor(meterRegistry));
+        timedService = (Supplier<String>) timed.getProxy();
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("balance-cache");
+        plainCache = cacheManager.getCache("balance-cache");
+        meteredCache = new MeteredCacheManager(cacheManager, meterRegistry).getCache("balance-cache");
+        plainCache.put("65f1c0a4e4b0a1b2c3d4e5f6", "1234.56");
+    }
+
+    @Benchmark
+    public String serviceCall() {
+        return plainService.get();
+    }
+
+    @Benchmark
+    public String timedServiceCall() {
+        return timedService.get();
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper cacheGet() {
+        return plainCache.get("65f1c0a4e4b0a1b2c3d4e5f6");
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper meteredCacheGet() {
+        return meteredCache.get("65f1c0a4e4b0a1b2c3d4e5f6");
+    }
+}
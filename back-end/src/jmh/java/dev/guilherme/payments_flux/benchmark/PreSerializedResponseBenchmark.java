@@ -0,0 +1,59 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU time and allocation per transfer-cache hit, excluding the Redis round
+ * trip that both paths share: the default path deserializes the cached JSON
+ * into a {@link TransferDTO.Response} and serializes it again for the HTTP
+ * response; the pre-serialized path copies the cached bytes to the output.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=PreSerializedResponseBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PreSerializedResponseBenchmark {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final JacksonJsonRedisSerializer<TransferDTO.Response> redisSerializer =
+            new JacksonJsonRedisSerializer<>(TransferDTO.Response.class);
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+    private byte[] cachedJson;
+    private byte[] cachedResponse;
+
+    @Setup
+    public void setUp() {
+        TransferDTO.Response transfer = new TransferDTO.Response("6650f1c2a4b5c6d7e8f90123", "6650f1c2a4b5c6d7e8f90124",
+                "6650f1c2a4b5c6d7e8f90125", new BigDecimal("1234.56"), LocalDateTime.of(2025, 3, 1, 12, 30));
+        cachedJson = redisSerializer.serialize(transfer);
+        cachedResponse = jsonMapper.writeValueAsBytes(transfer);
+    }
+
+    @Benchmark
+    public int deserializeAndSerialize() {
+        output.reset();
+        output.writeBytes(jsonMapper.writeValueAsBytes(redisSerializer.deserialize(cachedJson)));
+        return output.size();
+    }
+
+    @Benchmark
+    public int preSerializedBytes() {
+        output.reset();
+        output.write(cachedResponse, 0, cachedResponse.length);
+        return output.size();
+    }
+}
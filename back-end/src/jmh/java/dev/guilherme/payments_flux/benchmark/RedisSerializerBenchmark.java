@@ -0,0 +1,81 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.core.configuration.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the cache values with the serializers the cache
+ * manager is configured with, i.e. what a cache write and a cache hit cost
+ * on top of the Redis round trip.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=RedisSerializerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RedisSerializerBenchmark {
+
+    private final JacksonJsonRedisSerializer<WalletDTO.Response> walletSerializer = RedisConfig.walletSerializer();
+    private final JacksonJsonRedisSerializer<TransferDTO.Response> transferSerializer = RedisConfig.transferSerializer();
+    private final JacksonJsonRedisSerializer<BigDecimal> balanceSerializer = RedisConfig.balanceSerializer();
+
+    private final WalletDTO.Response wallet = new WalletDTO.Response("65f1c0a4e4b0a1b2c3d4e5f6", "Benchmark Holder",
+            "52998224725", "holder@payments-flux.dev", new BigDecimal("1234.56"));
+    private final TransferDTO.Response transfer = new TransferDTO.Response("65f1c0a4e4b0a1b2c3d4e5f8",
+            "65f1c0a4e4b0a1b2c3d4e5f6", "65f1c0a4e4b0a1b2c3d4e5f7", new BigDecimal("25.00"),
+            LocalDateTime.of(2025, 1, 1, 12, 0));
+    private final BigDecimal balance = new BigDecimal("1234.56");
+
+    private byte[] walletBytes;
+    private byte[] transferBytes;
+    private byte[] balanceBytes;
+
+    @Setup
+    public void setUp() {
+        walletBytes = walletSerializer.serialize(wallet);
+        transferBytes = transferSerializer.serialize(transfer);
+        balanceBytes = balanceSerializer.serialize(balance);
+    }
+
+    @Benchmark
+    public byte[] serializeWallet() {
+        return walletSerializer.serialize(wallet);
+    }
+
+    @Benchmark
+    public WalletDTO.Response deserializeWallet() {
+        return walletSerializer.deserialize(walletBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeTransfer() {
+        return transferSerializer.serialize(transfer);
+    }
+
+    @Benchmark
+    public TransferDTO.Response deserializeTransfer() {
+        return transferSerializer.deserialize(transferBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeBalance() {
+        return balanceSerializer.serialize(balance);
+    }
+
+    @Benchmark
+    public BigDecimal deserializeBalance() {
+        return balanceSerializer.deserialize(balanceBytes);
+    }
+}
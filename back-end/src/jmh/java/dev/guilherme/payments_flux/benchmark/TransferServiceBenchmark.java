@@ -0,0 +1,61 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.mapper.TransferMapper;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.service.transfer.TransferServiceImpl;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TransferServiceImpl.create} over in-memory repositories. Transfers
+ * alternate direction between two wallets so balances stay put across
+ * iterations. Transaction and cache annotations are not applied outside the
+ * Spring proxy.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=TransferServiceBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TransferServiceBenchmark {
+
+    private static final String FIRST = "65f1c0a4e4b0a1b2c3d4e5f6";
+    private static final String SECOND = "65f1c0a4e4b0a1b2c3d4e5f7";
+    private static final BigDecimal AMOUNT = new BigDecimal("25.00");
+
+    private TransferServiceImpl transferService;
+    private TransferDTO.CreateRequest forward;
+    private TransferDTO.CreateRequest backward;
+    private boolean flip;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Map<String, Wallet> store = new HashMap<>();
+        store.put(FIRST, new Wallet(FIRST, "First Holder", "52998224725", "first@payments-flux.dev",
+                "password", new BigDecimal("1000.00"), 0L));
+        store.put(SECOND, new Wallet(SECOND, "Second Holder", "11222333000181", "second@payments-flux.dev",
+                "password", new BigDecimal("1000.00"), 0L));
+        transferService = new TransferServiceImpl(InMemoryRepositories.transfers(), InMemoryRepositories.wallets(store),
+                Mappers.getMapper(TransferMapper.class), null, event -> { });
+        forward = new TransferDTO.CreateRequest(FIRST, SECOND, AMOUNT);
+        backward = new TransferDTO.CreateRequest(SECOND, FIRST, AMOUNT);
+    }
+
+    @Benchmark
+    public TransferDTO.Response create() {
+        flip = !flip;
+        return transferService.create(flip ? forward : backward);
+    }
+}
@@ -0,0 +1,148 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A sender's transfers over a seven-day range in the regular and the
+ * time-series layouts of the transfers collection, against a Testcontainers
+ * Mongo; sampled, so the results carry percentiles. Storage and index sizes
+ * are printed once per trial. Needs Docker.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=TransferStorageBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransferStorageBenchmark {
+
+    private static final int BATCH = 10_000;
+    private static final Duration SPAN = Duration.ofDays(365);
+    private static final long RANGE_DAYS = 7;
+
+    @Param({"regular", "timeseries"})
+    public String layout;
+
+    @Param({"10000000"})
+    public long transfers;
+
+    @Param({"100000"})
+    public int wallets;
+
+    private MongoDBContainer mongo;
+    private MongoClient client;
+    private MongoCollection<Document> collection;
+    private Instant start;
+    private final SplittableRandom random = new SplittableRandom(7L);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = new MongoDBContainer("mongo:latest");
+        mongo.start();
+        client = MongoClients.create(mongo.getReplicaSetUrl("transfer_benchmark"));
+        MongoDatabase db = client.getDatabase("transfer_benchmark");
+
+        String name = "transfers_" + layout;
+        if (layout.equals("timeseries")) {
+            db.createCollection(name, new CreateCollectionOptions()
+                    .timeSeriesOptions(new TimeSeriesOptions("createdAt")
+                            .metaField("senderId")
+                            .granularity(TimeSeriesGranularity.SECONDS)));
+        } else {
+            db.createCollection(name);
+        }
+        collection = db.getCollection(name);
+        collection.createIndex(Indexes.compoundIndex(Indexes.ascending("senderId"), Indexes.descending("createdAt")),
+                new IndexOptions().name("transfers_senderId_createdAt"));
+        collection.createIndex(Indexes.compoundIndex(Indexes.ascending("receiverId"), Indexes.descending("createdAt")),
+                new IndexOptions().name("transfers_receiverId_createdAt"));
+        collection.createIndex(Indexes.ascending("createdAt", "type", "amount"),
+                new IndexOptions().name("transfers_createdAt_type_amount"));
+
+        start = Instant.now().minus(SPAN);
+        seed();
+
+        Document stats = collection.aggregate(List.of(
+                        new Document("$collStats", new Document("storageStats", new Document()))))
+                .first()
+                .get("storageStats", Document.class);
+        System.out.printf("%n%s: %d documents, %.1f MB storage, %.1f MB indexes%n", name, transfers,
+                toMegabytes(stats.get("storageSize")), toMegabytes(stats.get("totalIndexSize")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        mongo.stop();
+    }
+
+    @Benchmark
+    public List<Document> senderRange() {
+        Instant from = start.plus(Duration.ofDays(random.nextLong(SPAN.toDays() - RANGE_DAYS)));
+        Document filter = new Document("senderId", walletId(random.nextInt(wallets)))
+                .append("createdAt", new Document("$gte", Date.from(from))
+                        .append("$lt", Date.from(from.plus(Duration.ofDays(RANGE_DAYS)))));
+        return collection.find(filter).into(new ArrayList<>());
+    }
+
+    private void seed() {
+        SplittableRandom seed = new SplittableRandom(42L);
+        long step = SPAN.toMillis() / transfers;
+        List<Document> batch = new ArrayList<>(BATCH);
+
+        for (long i = 0; i < transfers; i++) {
+            batch.add(new Document("_id", new ObjectId())
+                    .append("senderId", walletId(seed.nextInt(wallets)))
+                    .append("receiverId", walletId(seed.nextInt(wallets)))
+                    .append("amount", new Decimal128(BigDecimal.valueOf(seed.nextInt(1, 1_000_000), 2)))
+                    .append("createdAt", Date.from(start.plusMillis(i * step)))
+                    .append("_class", "dev.guilherme.payments_flux.domain.entity.Transfer"));
+
+            if (batch.size() == BATCH) {
+                collection.insertMany(batch, new InsertManyOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch, new InsertManyOptions().ordered(false));
+        }
+    }
+
+    private static String walletId(int index) {
+        return String.format("%024x", index);
+    }
+
+    private static double toMegabytes(Object bytes) {
+        return ((Number) bytes).doubleValue() / (1024 * 1024);
+    }
+}
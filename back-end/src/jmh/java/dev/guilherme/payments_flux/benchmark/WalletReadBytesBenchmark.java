@@ -0,0 +1,121 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The wallet reads of one transfer against a Testcontainers Mongo: both full
+ * wallet documents by id versus a single {@code $in} with the balance/version
+ * projection. Each benchmark returns the bytes it read; the mean per path is
+ * printed once per trial. Needs Docker.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=WalletReadBytesBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WalletReadBytesBenchmark {
+
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Param({"10000"})
+    public int wallets;
+
+    private MongoDBContainer mongo;
+    private MongoClient client;
+    private MongoCollection<RawBsonDocument> collection;
+    private List<ObjectId> ids;
+    private final SplittableRandom random = new SplittableRandom(7L);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongo = new MongoDBContainer("mongo:latest");
+        mongo.start();
+        client = MongoClients.create(mongo.getReplicaSetUrl("wallet_benchmark"));
+        collection = client.getDatabase("wallet_benchmark").getCollection("wallets", RawBsonDocument.class);
+        ids = seed(client.getDatabase("wallet_benchmark").getCollection("wallets"));
+
+        long full = 0;
+        long projected = 0;
+        for (int i = 0; i < 1_000; i++) {
+            full += fullDocuments();
+            projected += balanceVersionProjection();
+        }
+        System.out.printf("%nbytes / transfer: %.1f full documents, %.1f balance/version projection%n",
+                full / 1_000.0, projected / 1_000.0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        mongo.stop();
+    }
+
+    @Benchmark
+    public long fullDocuments() {
+        ObjectId sender = ids.get(random.nextInt(wallets));
+        ObjectId receiver = ids.get(random.nextInt(wallets));
+        return size(collection.find(Filters.eq("_id", sender)).first())
+                + size(collection.find(Filters.eq("_id", receiver)).first());
+    }
+
+    @Benchmark
+    public long balanceVersionProjection() {
+        ObjectId sender = ids.get(random.nextInt(wallets));
+        ObjectId receiver = ids.get(random.nextInt(wallets));
+        long bytes = 0;
+        for (RawBsonDocument document : collection.find(Filters.in("_id", sender, receiver))
+                .projection(Projections.include("balance", "version"))) {
+            bytes += size(document);
+        }
+        return bytes;
+    }
+
+    private List<ObjectId> seed(MongoCollection<Document> target) {
+        SplittableRandom seed = new SplittableRandom(42L);
+        List<ObjectId> seeded = new ArrayList<>(wallets);
+        List<Document> batch = new ArrayList<>(wallets);
+
+        for (int i = 0; i < wallets; i++) {
+            ObjectId id = new ObjectId();
+            seeded.add(id);
+            batch.add(new Document("_id", id)
+                    .append("fullName", "Wallet Holder Number " + i)
+                    .append("cpfCnpj", String.format("%011d", seed.nextLong(100_000_000_000L)))
+                    .append("email", "wallet.holder." + i + "@payments-flux.dev")
+                    .append("password", BCRYPT_HASH)
+                    .append("balance", new Decimal128(BigDecimal.valueOf(seed.nextInt(1, 10_000_000), 2)))
+                    .append("version", 0L)
+                    .append("_class", "dev.guilherme.payments_flux.domain.entity.Wallet"));
+        }
+        target.insertMany(batch);
+        return seeded;
+    }
+
+    private static long size(RawBsonDocument document) {
+        return document == null ? 0 : document.getByteBuffer().remaining();
+    }
+}
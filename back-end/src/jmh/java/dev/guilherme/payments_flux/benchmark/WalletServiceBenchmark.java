@@ -0,0 +1,56 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.api.mapper.WalletMapper;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.service.wallet.WalletServiceImpl;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code WalletServiceImpl.deposit/withdraw} over an in-memory repository, so
+ * the score is the service, mapping and event publication cost alone. Cache
+ * annotations are not applied outside the Spring proxy.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=WalletServiceBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WalletServiceBenchmark {
+
+    private static final String WALLET_ID = "65f1c0a4e4b0a1b2c3d4e5f6";
+    private static final WalletDTO.MoneyRequest AMOUNT = new WalletDTO.MoneyRequest(new BigDecimal("12.34"));
+
+    private WalletServiceImpl walletService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Map<String, Wallet> store = new HashMap<>();
+        store.put(WALLET_ID, new Wallet(WALLET_ID, "Benchmark Holder", "52998224725", "holder@payments-flux.dev",
+                "password", new BigDecimal("1000000000000.00"), 0L));
+        walletService = new WalletServiceImpl(InMemoryRepositories.wallets(store), null,
+                Mappers.getMapper(WalletMapper.class), null, event -> { });
+    }
+
+    @Benchmark
+    public WalletDTO.Response deposit() {
+        return walletService.deposit(WALLET_ID, AMOUNT);
+    }
+
+    @Benchmark
+    public WalletDTO.Response withdraw() {
+        return walletService.withdraw(WALLET_ID, AMOUNT);
+    }
+}
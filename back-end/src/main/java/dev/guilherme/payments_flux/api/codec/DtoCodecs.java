@@ -0,0 +1,137 @@
+package dev.guilherme.payments_flux.api.codec;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.module.SimpleModule;
+
+import java.math.BigDecimal;
+
+/**
+ * Hand-written codecs for the DTOs on the high-volume transfer and wallet
+ * paths. They stream fields straight from and to the token stream, skipping
+ * the record introspection and property buffering of the generic bean
+ * (de)serializers, and write definite-length maps so binary formats can omit
+ * the break marker. Amounts travel as native decimals, never as text.
+ * Registered only on the binary mapper; JSON keeps the default handling.
+ */
+public final class DtoCodecs {
+
+    private DtoCodecs() {
+    }
+
+    public static SimpleModule module() {
+        return new SimpleModule("payments-flux-dto-codecs")
+                .addDeserializer(TransferDTO.CreateRequest.class, new TransferCreateRequestDeserializer())
+                .addDeserializer(WalletDTO.MoneyRequest.class, new MoneyRequestDeserializer())
+                .addSerializer(TransferDTO.Response.class, new TransferResponseSerializer())
+                .addSerializer(WalletDTO.Response.class, new WalletResponseSerializer());
+    }
+
+    static final class TransferCreateRequestDeserializer extends ValueDeserializer<TransferDTO.CreateRequest> {
+
+        @Override
+        public TransferDTO.CreateRequest deserialize(JsonParser p, DeserializationContext ctxt) {
+            if (!p.isExpectedStartObjectToken()) {
+                return (TransferDTO.CreateRequest) ctxt.handleUnexpectedToken(TransferDTO.CreateRequest.class, p);
+            }
+            String senderId = null;
+            String receiverId = null;
+            BigDecimal amount = null;
+            for (String name = p.nextName(); name != null; name = p.nextName()) {
+                p.nextToken();
+                switch (name) {
+                    case "senderId" -> senderId = readString(p);
+                    case "receiverId" -> receiverId = readString(p);
+                    case "amount" -> amount = readDecimal(p, ctxt);
+                    default -> p.skipChildren();
+                }
+            }
+            return new TransferDTO.CreateRequest(senderId, receiverId, amount);
+        }
+    }
+
+    static final class MoneyRequestDeserializer extends ValueDeserializer<WalletDTO.MoneyRequest> {
+
+        @Override
+        public WalletDTO.MoneyRequest deserialize(JsonParser p, DeserializationContext ctxt) {
+            if (!p.isExpectedStartObjectToken()) {
+                return (WalletDTO.MoneyRequest) ctxt.handleUnexpectedToken(WalletDTO.MoneyRequest.class, p);
+            }
+            BigDecimal amount = null;
+            for (String name = p.nextName(); name != null; name = p.nextName()) {
+                p.nextToken();
+                if ("amount".equals(name)) {
+                    amount = readDecimal(p, ctxt);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return new WalletDTO.MoneyRequest(amount);
+        }
+    }
+
+    static final class TransferResponseSerializer extends ValueSerializer<TransferDTO.Response> {
+
+        @Override
+        public void serialize(TransferDTO.Response value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value, 5);
+            gen.writeStringProperty("id", value.id());
+            gen.writeStringProperty("senderId", value.senderId());
+            gen.writeStringProperty("receiverId", value.receiverId());
+            writeDecimal(gen, "amount", value.amount());
+            gen.writeStringProperty("createdAt", value.createdAt() == null ? null : value.createdAt().toString());
+            gen.writeEndObject();
+        }
+    }
+
+    static final class WalletResponseSerializer extends ValueSerializer<WalletDTO.Response> {
+
+        @Override
+        public void serialize(WalletDTO.Response value, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartObject(value, 5);
+            gen.writeStringProperty("id", value.id());
+            gen.writeStringProperty("fullName", value.fullName());
+            gen.writeStringProperty("cpfCnpj", value.cpfCnpj());
+            gen.writeStringProperty("email", value.email());
+            writeDecimal(gen, "balance", value.balance());
+            gen.writeEndObject();
+        }
+    }
+
+    private static String readString(JsonParser p) {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+    }
+
+    private static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt) {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> p.getDecimalValue();
+            // Lenient with clients that send amounts as text to avoid float rounding.
+            case VALUE_STRING -> parseDecimal(p.getString(), ctxt);
+            case VALUE_NULL -> null;
+            default -> (BigDecimal) ctxt.handleUnexpectedToken(BigDecimal.class, p);
+        };
+    }
+
+    private static BigDecimal parseDecimal(String text, DeserializationContext ctxt) {
+        try {
+            return new BigDecimal(text.trim());
+        } catch (NumberFormatException ex) {
+            return (BigDecimal) ctxt.handleWeirdStringValue(BigDecimal.class, text, "not a valid decimal amount");
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator gen, String name, BigDecimal value) {
+        if (value == null) {
+            gen.writeNullProperty(name);
+        } else {
+            gen.writeNumberProperty(name, value);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package dev.guilherme.payments_flux.api.controller;
 
 import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.core.admission.AdmissionControl;
+import dev.guilherme.payments_flux.core.cache.PreSerializedResponseCache;
+import dev.guilherme.payments_flux.core.conflict.ConflictRetry;
+import dev.guilherme.payments_flux.core.constraints.CacheNames;
 import dev.guilherme.payments_flux.domain.service.transfer.TransferService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -12,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -22,15 +27,25 @@ import java.util.List;
 public class TransferController {
 
     private final TransferService transferService;
+    private final AdmissionControl admissionControl;
+    private final ConflictRetry conflictRetry;
+    private final PreSerializedResponseCache responseCache;
 
     @PostMapping
     public ResponseEntity<TransferDTO.Response> create(@RequestBody @Valid TransferDTO.CreateRequest transferDTO) {
-        TransferDTO.Response response = transferService.create(transferDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        try (AdmissionControl.Permit permit = admissionControl.acquire(transferDTO.senderId(),
+                transferDTO.receiverId())) {
+            TransferDTO.Response response = conflictRetry.execute(() -> transferService.create(transferDTO),
+                    transferDTO.senderId(), transferDTO.receiverId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TransferDTO.Response> findById(@PathVariable String id) {
+    public ResponseEntity<?> findById(@PathVariable String id, ServletWebRequest request) {
+        if (responseCache.handles(request)) {
+            return responseCache.respond(CacheNames.TRANSFER_RESPONSE, id, () -> transferService.findById(id), request);
+        }
         TransferDTO.Response response = transferService.findById(id);
         return ResponseEntity.ok(response);
     }
@@ -1,16 +1,25 @@
 package dev.guilherme.payments_flux.api.controller;
 
 import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.core.admission.AdmissionControl;
+import dev.guilherme.payments_flux.core.conflict.ConflictRetry;
+import dev.guilherme.payments_flux.domain.service.wallet.BalanceEventHub;
+import dev.guilherme.payments_flux.domain.service.wallet.WalletImportService;
 import dev.guilherme.payments_flux.domain.service.wallet.WalletService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @Validated
@@ -19,13 +28,26 @@ import java.util.List;
 public class WalletController {
 
     private final WalletService walletService;
+    private final WalletImportService walletImportService;
+    private final AdmissionControl admissionControl;
+    private final ConflictRetry conflictRetry;
+    private final BalanceEventHub balanceEventHub;
 
     @PostMapping
-    public ResponseEntity<WalletDTO.Response> create(@RequestBody @Valid WalletDTO.CreateRequest walletDTO) {
+    public ResponseEntity<WalletDTO.Response> create(@RequestBody @Validated(WalletDTO.DocumentCheck.class) WalletDTO.CreateRequest walletDTO) {
         WalletDTO.Response response = walletService.create(walletDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<WalletDTO.ImportResult> importWallets(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                InputStream body) {
+        WalletDTO.ImportFormat format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? WalletDTO.ImportFormat.NDJSON
+                : WalletDTO.ImportFormat.CSV;
+        return ResponseEntity.ok(walletImportService.importWallets(body, format));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<WalletDTO.Response> findById(@PathVariable String id) {
         WalletDTO.Response response = walletService.findById(id);
@@ -38,6 +60,17 @@ public class WalletController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable String id,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return balanceEventHub.subscribe(id, lastEventId, () -> walletService.balanceSnapshot(id));
+    }
+
+    @PostMapping("/balances")
+    public ResponseEntity<Map<String, BigDecimal>> getBalances(@RequestBody @Valid WalletDTO.BalancesRequest request) {
+        return ResponseEntity.ok(walletService.getBalances(request.ids()));
+    }
+
     @GetMapping
     public ResponseEntity<List<WalletDTO.Response>> findAll() {
         return ResponseEntity.ok(walletService.findAll());
@@ -59,14 +92,18 @@ public class WalletController {
     @PostMapping("/deposit/{id}")
     public ResponseEntity<WalletDTO.Response> deposit(@PathVariable String id,
                                                       @RequestBody @Valid WalletDTO.MoneyRequest depositDTO) {
-        WalletDTO.Response response = walletService.deposit(id, depositDTO);
-        return ResponseEntity.ok(response);
+        try (AdmissionControl.Permit permit = admissionControl.acquire(id)) {
+            WalletDTO.Response response = conflictRetry.execute(() -> walletService.deposit(id, depositDTO), id);
+            return ResponseEntity.ok(response);
+        }
     }
 
     @PostMapping("/withdraw/{id}")
     public ResponseEntity<WalletDTO.Response> withdraw(@PathVariable String id,
                                                        @RequestBody @Valid WalletDTO.MoneyRequest withdrawDTO) {
-        WalletDTO.Response response = walletService.withdraw(id, withdrawDTO);
-        return ResponseEntity.ok(response);
+        try (AdmissionControl.Permit permit = admissionControl.acquire(id)) {
+            WalletDTO.Response response = conflictRetry.execute(() -> walletService.withdraw(id, withdrawDTO), id);
+            return ResponseEntity.ok(response);
+        }
     }
 }
@@ -1,7 +0,0 @@
-package dev.guilherme.payments_flux.api.exception;
-
-public class BusinessException extends ServiceException {
-    public BusinessException(String message) {
-        super(message);
-    }
-}
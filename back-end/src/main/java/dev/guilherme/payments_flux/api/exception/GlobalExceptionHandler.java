@@ -2,12 +2,15 @@ package dev.guilherme.payments_flux.api.exception;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
@@ -17,21 +20,7 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    public record ErrorResponse(
-            int status,
-            String error,
-            String message,
-            LocalDateTime timestamp,
-            String path
-    ) {}
-
-    public record ValidationErrorResponse(
-            int status,
-            String error,
-            Map<String, String> errors,
-            LocalDateTime timestamp,
-            String path
-    ) {}
+    private final RejectionTemplates rejections = new RejectionTemplates();
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleResourceNotFound(ResourceNotFoundException ex, WebRequest request) {
@@ -40,19 +29,25 @@ public class GlobalExceptionHandler {
                 "Resource Not Found",
                 ex.getMessage(),
                 LocalDateTime.now(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
     @ExceptionHandler(BusinessException.class)
-    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex, WebRequest request) {
+    public ResponseEntity<?> handleBusinessException(BusinessException ex, WebRequest request) {
+        if (RejectionTemplates.acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(rejections.render(HttpStatus.BAD_REQUEST, "Business Rule Violation", ex.getMessage(),
+                            path(request)));
+        }
         ErrorResponse response = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
                 "Business Rule Violation",
                 ex.getMessage(),
                 LocalDateTime.now(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
@@ -64,7 +59,7 @@ public class GlobalExceptionHandler {
                 "Validation Error",
                 ex.getMessage(),
                 LocalDateTime.now(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
@@ -85,7 +80,7 @@ public class GlobalExceptionHandler {
                 "Validation Failed",
                 errors,
                 LocalDateTime.now(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
 
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
@@ -99,11 +94,39 @@ public class GlobalExceptionHandler {
                 "Conflict Error",
                 ex.getMessage(),
                 LocalDateTime.now(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleOverloaded(OverloadedException ex, WebRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Overloaded",
+                ex.getMessage(),
+                LocalDateTime.now(),
+                path(request)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(response);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequests(TooManyRequestsException ex, WebRequest request) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                LocalDateTime.now(),
+                path(request)
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(response);
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex,
                                                                       WebRequest request) {
@@ -112,8 +135,16 @@ public class GlobalExceptionHandler {
                 "Conflict Error",
                 "Concurrent modification detected. Please retry the operation.",
                 LocalDateTime.now(),
-                request.getDescription(false).replace("uri=", "")
+                path(request)
         );
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
+
+    private static String path(WebRequest request) {
+        if (request instanceof ServletWebRequest servletRequest) {
+            return servletRequest.getRequest().getRequestURI();
+        }
+        String description = request.getDescription(false);
+        return description.startsWith("uri=") ? description.substring(4) : description;
+    }
 }
@@ -0,0 +1,106 @@
+package dev.guilherme.payments_flux.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import tools.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders {@link ErrorResponse} bodies for business-rule rejections as JSON
+ * bytes from a template cached per status, error and message, so the hot
+ * rejection path does no object mapping: only the timestamp, formatted at
+ * most once per millisecond, and the request path are spliced in.
+ */
+class RejectionTemplates {
+
+    private static final int MAX_TEMPLATES = 256;
+    private static final int MAX_ACCEPT_VALUES = 64;
+    private static final Map<String, Boolean> ACCEPTS_JSON = new ConcurrentHashMap<>();
+    private static final byte[] PATH = "\",\"path\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "}".getBytes(StandardCharsets.US_ASCII);
+
+    private final Map<Key, byte[]> templates = new ConcurrentHashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, new byte[0]);
+
+    /**
+     * Whether every media type the client accepts is compatible with JSON, so a
+     * pre-rendered JSON body is a valid answer. The common values are answered
+     * without parsing, and the decision for any other value is cached, since
+     * clients send few distinct Accept headers.
+     */
+    static boolean acceptsJson(String accept) {
+        if (accept == null || accept.equals("*/*") || accept.equals(MediaType.APPLICATION_JSON_VALUE)) {
+            return true;
+        }
+        Boolean cached = ACCEPTS_JSON.get(accept);
+        if (cached != null) {
+            return cached;
+        }
+        boolean decision = accept.isBlank() || MediaType.parseMediaTypes(accept).stream()
+                .allMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+        if (ACCEPTS_JSON.size() < MAX_ACCEPT_VALUES) {
+            ACCEPTS_JSON.putIfAbsent(accept, decision);
+        }
+        return decision;
+    }
+
+    byte[] render(HttpStatus status, String error, String message, String path) {
+        Key key = new Key(status, error, message);
+        byte[] head = templates.get(key);
+        if (head == null) {
+            head = head(status, error, message);
+            if (templates.size() < MAX_TEMPLATES) {
+                templates.putIfAbsent(key, head);
+            }
+        }
+        byte[] time = timestamp();
+        byte[] quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+
+        byte[] body = new byte[head.length + time.length + PATH.length + quotedPath.length + 2 + END.length];
+        int offset = append(body, 0, head);
+        offset = append(body, offset, time);
+        offset = append(body, offset, PATH);
+        body[offset++] = '"';
+        offset = append(body, offset, quotedPath);
+        body[offset++] = '"';
+        append(body, offset, END);
+        return body;
+    }
+
+    private static byte[] head(HttpStatus status, String error, String message) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        return ("{\"status\":" + status.value()
+                + ",\"error\":\"" + new String(encoder.quoteAsCharArray(error))
+                + "\",\"message\":\"" + new String(encoder.quoteAsCharArray(message))
+                + "\",\"timestamp\":\"").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp current = timestamp;
+        if (current.millis() != now) {
+            String formatted = DateTimeFormatter.ISO_LOCAL_DATE_TIME
+                    .format(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), zone));
+            current = new Timestamp(now, formatted.getBytes(StandardCharsets.US_ASCII));
+            timestamp = current;
+        }
+        return current.bytes();
+    }
+
+    private static int append(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    private record Key(HttpStatus status, String error, String message) {}
+
+    private record Timestamp(long millis, byte[] bytes) {}
+}
@@ -0,0 +1,214 @@
+package dev.guilherme.payments_flux.core.admission;
+
+import dev.guilherme.payments_flux.api.exception.OverloadedException;
+import dev.guilherme.payments_flux.core.configuration.PersistenceLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.BaseStream;
+
+/**
+ * Vegas-style limit on in-flight persistence calls of one operation class.
+ * Every call adds its RTT and the concurrency it ran at to striped
+ * accumulators, so sampling never serialises callers. Once per window the call
+ * that closes it compares the window's mean RTT with the lowest one seen (the
+ * no-load RTT) to estimate how many calls are queueing inside Mongo. A small
+ * queue grows the limit by log10(limit), a large one shrinks it by the same
+ * step, and a timeout or connection failure cuts it multiplicatively. Calls
+ * over the limit are shed before they reach the driver.
+ * <p>
+ * The no-load RTT is re-measured every {@code probeInterval} samples, but only
+ * from a window that ran well below the limit; a window under load would
+ * record the queueing delay as the new baseline.
+ * <p>
+ * A call that returns a {@link BaseStream} keeps its slot until the stream is
+ * closed, since the cursor is read after the call returns; its RTT sample is
+ * still the time to open the cursor, so a slow consumer does not look like a
+ * slow database.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double ALPHA = 3;
+    private static final double BETA = 6;
+
+    private final PersistenceLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer rttTimer;
+    private final Counter rejected;
+
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAccumulator windowMinRtt = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator windowMaxConcurrency = new LongAccumulator(Math::max, 0);
+    private final LongAdder windowDrops = new LongAdder();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile long nextUpdateAt;
+    private volatile int limit;
+
+    // Only read and written by update(), which the updating flag keeps to one thread at a time.
+    private double estimatedLimit;
+    private long rttNoLoad = Long.MAX_VALUE;
+    private long samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(String operation, PersistenceLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.estimatedLimit = properties.initialLimit();
+        this.limit = properties.initialLimit();
+        this.nextUpdateAt = System.nanoTime() + properties.window().toNanos();
+        this.rttTimer = Timer.builder("persistence.rtt")
+                .description("Round-trip time of persistence calls admitted by the adaptive limiter")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("persistence.rejected")
+                .description("Persistence calls shed by the adaptive limiter")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("persistence.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on in-flight persistence calls")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        Gauge.builder("persistence.in.flight", inFlight, AtomicInteger::get)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Operation<T> operation) throws Throwable {
+        if (!properties.enabled()) {
+            return operation.run();
+        }
+
+        int concurrency = acquire();
+        long start = System.nanoTime();
+        boolean dropped = false;
+        boolean heldByStream = false;
+        try {
+            T result = operation.run();
+            if (result instanceof BaseStream<?, ?> stream) {
+                AtomicBoolean released = new AtomicBoolean();
+                result = (T) stream.onClose(() -> {
+                    if (released.compareAndSet(false, true)) {
+                        inFlight.decrementAndGet();
+                    }
+                });
+                heldByStream = true;
+            }
+            return result;
+        } catch (Throwable ex) {
+            dropped = ex instanceof QueryTimeoutException || ex instanceof DataAccessResourceFailureException;
+            throw ex;
+        } finally {
+            long end = System.nanoTime();
+            long rtt = end - start;
+            if (!heldByStream) {
+                inFlight.decrementAndGet();
+            }
+            rttTimer.record(rtt, TimeUnit.NANOSECONDS);
+            onSample(rtt, concurrency, dropped);
+            if (end - nextUpdateAt >= 0) {
+                tryUpdate(end);
+            }
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private int acquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                throw new OverloadedException("The database is saturated, please retry.", properties.retryAfter());
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return current + 1;
+    }
+
+    void onSample(long rttNanos, int concurrency, boolean dropped) {
+        windowSamples.increment();
+        windowRttSum.add(rttNanos);
+        windowMinRtt.accumulate(Math.max(1, rttNanos));
+        windowMaxConcurrency.accumulate(concurrency);
+        if (dropped) {
+            windowDrops.increment();
+        }
+    }
+
+    private void tryUpdate(long now) {
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (now - nextUpdateAt >= 0) {
+                nextUpdateAt = now + properties.window().toNanos();
+                update();
+            }
+        } finally {
+            updating.set(false);
+        }
+    }
+
+    void update() {
+        long samples = windowSamples.sumThenReset();
+        if (samples == 0) {
+            return;
+        }
+        long rttNanos = Math.max(1, windowRttSum.sumThenReset() / samples);
+        long minRtt = windowMinRtt.getThenReset();
+        long concurrency = windowMaxConcurrency.getThenReset();
+        boolean dropped = windowDrops.sumThenReset() > 0;
+
+        double current = estimatedLimit;
+        boolean appLimited = concurrency * 2 < current;
+        samplesSinceProbe += samples;
+        if (properties.probeInterval() > 0 && samplesSinceProbe >= properties.probeInterval() && appLimited) {
+            rttNoLoad = minRtt;
+            samplesSinceProbe = 0;
+        } else {
+            rttNoLoad = Math.min(rttNoLoad, minRtt);
+        }
+
+        double step = Math.max(1, Math.log10(current));
+        double next;
+        if (dropped) {
+            next = current * properties.backoffRatio();
+        } else if (appLimited) {
+            // Too little traffic to tell whether the limit is too high.
+            return;
+        } else {
+            double queue = Math.ceil(current * (1 - (double) rttNoLoad / rttNanos));
+            if (queue <= ALPHA * step) {
+                next = current + step;
+            } else if (queue >= BETA * step) {
+                next = current - step;
+            } else {
+                return;
+            }
+        }
+
+        estimatedLimit = Math.clamp(next, properties.minLimit(), properties.maxLimit());
+        limit = (int) estimatedLimit;
+    }
+
+    @FunctionalInterface
+    public interface Operation<T> {
+        T run() throws Throwable;
+    }
+}
@@ -0,0 +1,135 @@
+package dev.guilherme.payments_flux.core.admission;
+
+import dev.guilherme.payments_flux.api.exception.TooManyRequestsException;
+import dev.guilherme.payments_flux.core.configuration.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Bulkhead for the money-movement endpoints. A request takes one slot from a
+ * global counter and one from the stripe of every wallet it touches, so a
+ * transfer counts against both the sender and the receiver; all are plain CAS
+ * loops, so admission never blocks. Stripes are taken in index order and a
+ * stripe shared by both wallets is taken once. Requests over either limit fail
+ * fast with a {@link TooManyRequestsException}, which keeps one hot wallet from
+ * holding every request thread and Mongo connection. Wallets sharing a stripe
+ * share its limit, so the stripe count should stay well above the number of
+ * wallets expected to be hot at the same time.
+ */
+@Component
+public class AdmissionControl {
+
+    private final AdmissionProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicIntegerArray stripes;
+    private final int mask;
+    private final Counter globalRejections;
+    private final Counter walletRejections;
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int size = Integer.highestOneBit(Math.max(1, properties.stripes() - 1)) << 1;
+        this.stripes = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+        this.globalRejections = Counter.builder("admission.rejected")
+                .tag("limit", "global")
+                .register(meterRegistry);
+        this.walletRejections = Counter.builder("admission.rejected")
+                .tag("limit", "wallet")
+                .register(meterRegistry);
+        Gauge.builder("admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Money-movement requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    public Permit acquire(String walletId) {
+        return acquire(walletId, walletId);
+    }
+
+    public Permit acquire(String senderId, String receiverId) {
+        if (!properties.enabled()) {
+            return Permit.NONE;
+        }
+        if (!tryIncrement(inFlight, properties.globalLimit())) {
+            globalRejections.increment();
+            throw new TooManyRequestsException("Too many concurrent money movements, please retry.",
+                    properties.retryAfter());
+        }
+        int senderStripe = stripe(senderId);
+        int receiverStripe = stripe(receiverId);
+        int first = Math.min(senderStripe, receiverStripe);
+        int second = Math.max(senderStripe, receiverStripe);
+        if (!tryIncrement(first, properties.perWalletLimit())) {
+            inFlight.decrementAndGet();
+            throw walletRejected(first == senderStripe ? senderId : receiverId);
+        }
+        if (second != first && !tryIncrement(second, properties.perWalletLimit())) {
+            stripes.decrementAndGet(first);
+            inFlight.decrementAndGet();
+            throw walletRejected(second == senderStripe ? senderId : receiverId);
+        }
+        return () -> {
+            if (second != first) {
+                stripes.decrementAndGet(second);
+            }
+            stripes.decrementAndGet(first);
+            inFlight.decrementAndGet();
+        };
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    int inFlight(String walletId) {
+        return stripes.get(stripe(walletId));
+    }
+
+    private TooManyRequestsException walletRejected(String walletId) {
+        walletRejections.increment();
+        return new TooManyRequestsException("Too many concurrent operations on wallet " + walletId + ", please retry.",
+                properties.retryAfter());
+    }
+
+    private int stripe(String walletId) {
+        int h = walletId == null ? 0 : walletId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static boolean tryIncrement(AtomicInteger counter, int limit) {
+        int current;
+        do {
+            current = counter.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean tryIncrement(int stripe, int limit) {
+        int current;
+        do {
+            current = stripes.get(stripe);
+            if (current >= limit) {
+                return false;
+            }
+        } while (!stripes.compareAndSet(stripe, current, current + 1));
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        Permit NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,66 @@
+package dev.guilherme.payments_flux.core.admission;
+
+import dev.guilherme.payments_flux.core.configuration.PersistenceLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.mongodb.repository.Aggregation;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per class of repository operation.
+ * Point reads, writes and scans have RTTs an order of magnitude apart, so a
+ * shared limit and no-load RTT would let a burst of history queries shrink the
+ * limit on balance lookups, or a fast read baseline make every write look
+ * queued.
+ */
+public class PersistenceLimiters {
+
+    public enum OperationClass {
+        /** Lookups of single documents by key. */
+        READ,
+        /** Inserts, updates and deletes. */
+        WRITE,
+        /** Queries returning many documents, streams and aggregations. */
+        SCAN
+    }
+
+    private static final String[] WRITE_PREFIXES = {"save", "insert", "update", "delete", "remove"};
+
+    private final Map<OperationClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(OperationClass.class);
+    private final Map<Method, OperationClass> classes = new ConcurrentHashMap<>();
+
+    public PersistenceLimiters(PersistenceLimitProperties properties, MeterRegistry meterRegistry) {
+        for (OperationClass operation : OperationClass.values()) {
+            limiters.put(operation, new AdaptiveConcurrencyLimiter(
+                    operation.name().toLowerCase(Locale.ROOT), properties, meterRegistry));
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter forMethod(Method method) {
+        return limiters.get(classes.computeIfAbsent(method, PersistenceLimiters::classify));
+    }
+
+    public AdaptiveConcurrencyLimiter get(OperationClass operation) {
+        return limiters.get(operation);
+    }
+
+    static OperationClass classify(Method method) {
+        for (String prefix : WRITE_PREFIXES) {
+            if (method.getName().startsWith(prefix)) {
+                return OperationClass.WRITE;
+            }
+        }
+        Class<?> returnType = method.getReturnType();
+        if (method.isAnnotationPresent(Aggregation.class)
+                || Iterable.class.isAssignableFrom(returnType)
+                || BaseStream.class.isAssignableFrom(returnType)) {
+            return OperationClass.SCAN;
+        }
+        return OperationClass.READ;
+    }
+}
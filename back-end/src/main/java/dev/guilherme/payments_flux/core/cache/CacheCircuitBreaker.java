@@ -0,0 +1,68 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import dev.guilherme.payments_flux.core.configuration.CacheBreakerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two-state breaker shared by every cache backed by Redis. It opens after a run
+ * of consecutive failed or slow calls and stays open until the
+ * {@link ResilientCacheManager} probe closes it; there is no half-open state
+ * on the request path, so no request ever waits on a Redis that is known to be
+ * unhealthy.
+ */
+@Slf4j
+public class CacheCircuitBreaker {
+
+    private final CacheBreakerProperties properties;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean open = new AtomicBoolean();
+    private final Counter opened;
+
+    public CacheCircuitBreaker(CacheBreakerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.opened = Counter.builder("cache.breaker.opened")
+                .description("Times the Redis cache breaker opened")
+                .register(meterRegistry);
+        Gauge.builder("cache.breaker.open", open, state -> state.get() ? 1 : 0)
+                .description("1 while cache calls bypass Redis")
+                .register(meterRegistry);
+    }
+
+    public boolean isOpen() {
+        return open.get();
+    }
+
+    public void onSuccess(long elapsedNanos) {
+        if (elapsedNanos > properties.slowCallThreshold().toNanos()) {
+            onFailure();
+        } else {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= properties.failureThreshold()) {
+            trip();
+        }
+    }
+
+    void trip() {
+        if (open.compareAndSet(false, true)) {
+            opened.increment();
+            log.warn("Redis cache breaker opened; serving from the local fallback cache");
+        }
+    }
+
+    void close() {
+        consecutiveFailures.set(0);
+        if (open.compareAndSet(true, false)) {
+            log.info("Redis cache breaker closed");
+        }
+    }
+}
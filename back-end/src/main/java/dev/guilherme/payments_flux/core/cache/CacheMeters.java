@@ -0,0 +1,29 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hit, miss, put and eviction counters of one cache, under the meter names
+ * Micrometer uses for cache statistics. Registering the same cache twice
+ * returns the same counters, so bulk paths that bypass the {@code Cache}
+ * interface can count into the same series.
+ */
+public record CacheMeters(Counter hits, Counter misses, Counter puts, Counter evictions) {
+
+    public static CacheMeters of(String cacheName, MeterRegistry meterRegistry) {
+        return new CacheMeters(
+                Counter.builder("cache.gets").tag("cache", cacheName).tag("result", "hit")
+                        .description("Cache lookups that found a value")
+                        .register(meterRegistry),
+                Counter.builder("cache.gets").tag("cache", cacheName).tag("result", "miss")
+                        .description("Cache lookups that found nothing")
+                        .register(meterRegistry),
+                Counter.builder("cache.puts").tag("cache", cacheName)
+                        .description("Values written to the cache")
+                        .register(meterRegistry),
+                Counter.builder("cache.evictions").tag("cache", cacheName)
+                        .description("Explicit evictions and clears")
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,114 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded, short-lived in-process cache used while Redis is bypassed. Entries
+ * expire after a fixed TTL; when full, an arbitrary entry is dropped, which is
+ * enough for a fallback that only lives as long as an outage.
+ */
+class LocalFallbackCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final ConcurrentMap<Object, Entry> store = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    LocalFallbackCache(String name, Duration ttl, int maxEntries) {
+        super(false);
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() > 0) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (store.size() >= maxEntries && !store.containsKey(key)) {
+            makeRoom();
+        }
+        store.put(key, new Entry(toStoreValue(value), System.nanoTime() + ttlNanos));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    int size() {
+        return store.size();
+    }
+
+    private void makeRoom() {
+        long now = System.nanoTime();
+        store.values().removeIf(entry -> now - entry.expiresAt() > 0);
+        Iterator<Object> keys = store.keySet().iterator();
+        while (store.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {}
+}
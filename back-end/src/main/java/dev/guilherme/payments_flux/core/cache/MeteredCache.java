@@ -0,0 +1,116 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Counts hits, misses, puts and evictions of the cache it wraps. A lookup with
+ * a value loader is a miss exactly when the loader runs.
+ */
+class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheMeters meters;
+
+    MeteredCache(Cache delegate, CacheMeters meters) {
+        this.delegate = delegate;
+        this.meters = meters;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return counted(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return counted(delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        (loaded[0] ? meters.misses() : meters.hits()).increment();
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> future = delegate.retrieve(key);
+        return future == null ? null : future.thenApply(this::counted);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        return delegate.retrieve(key, () -> {
+            loaded[0] = true;
+            return valueLoader.get();
+        }).whenComplete((value, ex) -> (loaded[0] ? meters.misses() : meters.hits()).increment());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        meters.puts().increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            meters.puts().increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        meters.evictions().increment();
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            meters.evictions().increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        meters.evictions().increment();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        meters.evictions().increment();
+        return invalidated;
+    }
+
+    private <T> T counted(T value) {
+        (value != null ? meters.hits() : meters.misses()).increment();
+        return value;
+    }
+}
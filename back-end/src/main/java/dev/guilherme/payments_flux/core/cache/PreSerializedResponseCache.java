@@ -0,0 +1,115 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import dev.guilherme.payments_flux.core.configuration.ResponseCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Caches the final JSON bytes of a response, so a hit is returned as a
+ * {@code byte[]} body without deserializing the cached value and serializing
+ * it again. Each entry is stored as {@code <etag>\n<body>}, which keeps a hit
+ * to a single cache read and lets conditional requests be answered with 304
+ * without touching the body.
+ */
+@Component
+public class PreSerializedResponseCache {
+
+    private static final byte SEPARATOR = '\n';
+
+    private final ResponseCacheProperties properties;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PreSerializedResponseCache(ResponseCacheProperties properties, CacheManager cacheManager,
+                                      ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("response.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("response.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Whether this request can be answered from pre-serialized JSON: the mode is
+     * on and every media type the client accepts is compatible with JSON.
+     */
+    public boolean handles(ServletWebRequest request) {
+        if (!properties.enabled()) {
+            return false;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        return accepted.stream().allMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    public ResponseEntity<byte[]> respond(String cacheName, Object key, Supplier<?> loader, ServletWebRequest request) {
+        byte[] entry = lookup(cacheName, key, loader);
+        int separator = indexOfSeparator(entry);
+        String etag = new String(entry, 0, separator, StandardCharsets.US_ASCII);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Arrays.copyOfRange(entry, separator + 1, entry.length));
+    }
+
+    private byte[] lookup(String cacheName, Object key, Supplier<?> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Cache.ValueWrapper cached = cache == null ? null : cache.get(key);
+        if (cached != null && cached.get() instanceof byte[] entry) {
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        byte[] entry = encode(objectMapper.writeValueAsBytes(loader.get()));
+        if (cache != null) {
+            cache.put(key, entry);
+        }
+        return entry;
+    }
+
+    static byte[] encode(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        byte[] etag = ("\"" + Long.toHexString(crc.getValue()) + "\"").getBytes(StandardCharsets.US_ASCII);
+
+        byte[] entry = new byte[etag.length + 1 + body.length];
+        System.arraycopy(etag, 0, entry, 0, etag.length);
+        entry[etag.length] = SEPARATOR;
+        System.arraycopy(body, 0, entry, etag.length + 1, body.length);
+        return entry;
+    }
+
+    private static int indexOfSeparator(byte[] entry) {
+        for (int i = 0; i < entry.length; i++) {
+            if (entry[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Corrupt pre-serialized cache entry");
+    }
+}
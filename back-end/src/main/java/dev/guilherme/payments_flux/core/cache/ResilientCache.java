@@ -0,0 +1,203 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Redis-backed cache that falls back to a {@link LocalFallbackCache} when a
+ * Redis call fails or the breaker is open. Evictions always reach the local
+ * cache; the ones Redis could not take are remembered and replayed on
+ * recovery, or on the next probe tick if the breaker never opened, so a
+ * balance changed during the outage is never served stale from Redis
+ * afterwards. A read of a key with a pending eviction evicts it from Redis
+ * first.
+ */
+class ResilientCache implements Cache {
+
+    private final Cache remote;
+    private final LocalFallbackCache local;
+    private final CacheCircuitBreaker breaker;
+    private final int maxPendingEvictions;
+    private final Set<Object> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pendingClear = new AtomicBoolean();
+
+    ResilientCache(Cache remote, LocalFallbackCache local, CacheCircuitBreaker breaker, int maxPendingEvictions) {
+        this.remote = remote;
+        this.local = local;
+        this.breaker = breaker;
+        this.maxPendingEvictions = maxPendingEvictions;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return call(() -> {
+            evictIfPending(key);
+            return remote.get(key);
+        }, () -> local.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return call(() -> {
+            evictIfPending(key);
+            return remote.get(key, type);
+        }, () -> local.get(key, type));
+    }
+
+    /**
+     * Only the lookup and the put go through the breaker: a loader failure is a
+     * database failure, so it propagates as a {@link ValueRetrievalException}
+     * without counting against Redis or running the loader a second time.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        call(() -> {
+            remote.put(key, value);
+            return null;
+        }, () -> {
+            local.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return call(() -> remote.putIfAbsent(key, value), () -> local.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        call(() -> {
+            remote.evict(key);
+            return null;
+        }, () -> {
+            remember(key);
+            return null;
+        });
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        call(() -> {
+            remote.clear();
+            return null;
+        }, () -> {
+            pendingClear.set(true);
+            return null;
+        });
+    }
+
+    /**
+     * Pushes the evictions missed during the outage to Redis. Throws if Redis is
+     * still failing, leaving whatever was not replayed pending.
+     */
+    void replayEvictions() {
+        if (pendingClear.compareAndSet(true, false)) {
+            try {
+                remote.clear();
+            } catch (DataAccessException ex) {
+                pendingClear.set(true);
+                throw ex;
+            }
+        }
+        for (Object key : pendingEvictions) {
+            remote.evict(key);
+            pendingEvictions.remove(key);
+        }
+    }
+
+    /**
+     * Evicts from Redis those of {@code keys} with a pending eviction, for bulk
+     * reads that go to Redis directly. Throws if Redis is still failing.
+     */
+    void evictPending(Collection<?> keys) {
+        if (pendingEvictions.isEmpty()) {
+            return;
+        }
+        for (Object key : keys) {
+            evictIfPending(key);
+        }
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    int pendingEvictions() {
+        return pendingEvictions.size();
+    }
+
+    boolean hasPendingEvictions() {
+        return pendingClear.get() || !pendingEvictions.isEmpty();
+    }
+
+    private void evictIfPending(Object key) {
+        if (!pendingEvictions.isEmpty() && pendingEvictions.remove(key)) {
+            try {
+                remote.evict(key);
+            } catch (DataAccessException ex) {
+                pendingEvictions.add(key);
+                throw ex;
+            }
+        }
+    }
+
+    private void remember(Object key) {
+        if (pendingEvictions.size() >= maxPendingEvictions) {
+            pendingClear.set(true);
+        } else {
+            pendingEvictions.add(key);
+        }
+    }
+
+    private <T> T call(Supplier<T> redisCall, Supplier<T> fallback) {
+        if (breaker.isOpen()) {
+            return fallback.get();
+        }
+        long start = System.nanoTime();
+        try {
+            T result = redisCall.get();
+            breaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (DataAccessException ex) {
+            breaker.onFailure();
+            return fallback.get();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import dev.guilherme.payments_flux.core.configuration.CacheBreakerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps the Redis cache manager so that {@code @Cacheable} and friends keep
+ * working, from a local in-process cache, while Redis is down or slow. While
+ * the breaker is open, a background probe pings Redis; once a ping is both
+ * successful and fast, the evictions missed during the outage are replayed,
+ * the breaker closes and the local caches are dropped. While the breaker is
+ * closed, the same tick replays evictions that failed without tripping it.
+ * Caches are handed out with hit, miss, put and eviction counters.
+ */
+@Slf4j
+public class ResilientCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheCircuitBreaker breaker;
+    private final CacheBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, ResilientCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache> metered = new ConcurrentHashMap<>();
+
+    public ResilientCacheManager(CacheManager remote, RedisConnectionFactory connectionFactory,
+                                 CacheCircuitBreaker breaker, CacheBreakerProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.connectionFactory = connectionFactory;
+        this.breaker = breaker;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return metered.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = remote.getCache(cacheName);
+            if (redisCache == null) {
+                return null;
+            }
+            LocalFallbackCache local = new LocalFallbackCache(cacheName, properties.localTtl(), properties.localMaxEntries());
+            ResilientCache cache = new ResilientCache(redisCache, local, breaker, properties.maxPendingEvictions());
+            caches.put(cacheName, cache);
+            return new MeteredCache(cache, CacheMeters.of(cacheName, meterRegistry));
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    public CacheCircuitBreaker breaker() {
+        return breaker;
+    }
+
+    /**
+     * Settles the pending evictions among {@code keys} of the named cache, so a
+     * bulk read that goes to Redis directly cannot see an entry the single-key
+     * path would have evicted first. Throws if Redis is still failing.
+     */
+    public void evictPending(String name, Collection<?> keys) {
+        ResilientCache cache = caches.get(name);
+        if (cache != null) {
+            cache.evictPending(keys);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payments-flux.cache-breaker.probe-interval:1s}")
+    public void probe() {
+        if (!breaker.isOpen()) {
+            replayPendingEvictions();
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            long start = System.nanoTime();
+            connection.ping();
+            if (System.nanoTime() - start > properties.slowCallThreshold().toNanos()) {
+                log.debug("Redis answered the probe, but slower than {}", properties.slowCallThreshold());
+                return;
+            }
+            caches.values().forEach(ResilientCache::replayEvictions);
+        } catch (DataAccessException ex) {
+            log.debug("Redis is still unavailable: {}", ex.getMessage());
+            return;
+        }
+
+        breaker.close();
+        caches.values().forEach(ResilientCache::clearLocal);
+        try {
+            // Evictions recorded between the replay and the close would otherwise be lost.
+            caches.values().forEach(ResilientCache::replayEvictions);
+        } catch (DataAccessException ex) {
+            breaker.trip();
+        }
+    }
+
+    private void replayPendingEvictions() {
+        for (ResilientCache cache : caches.values()) {
+            if (!cache.hasPendingEvictions()) {
+                continue;
+            }
+            try {
+                cache.replayEvictions();
+            } catch (DataAccessException ex) {
+                breaker.onFailure();
+                log.debug("Could not replay pending evictions of {}: {}", cache.getName(), ex.getMessage());
+                return;
+            }
+        }
+    }
+}
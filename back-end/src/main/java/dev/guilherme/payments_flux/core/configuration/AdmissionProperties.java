@@ -0,0 +1,21 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param globalLimit    money-movement requests in flight across all wallets
+ * @param perWalletLimit requests in flight per wallet stripe
+ * @param stripes        number of wallet stripes, rounded up to a power of two
+ * @param retryAfter     value of the Retry-After header on rejected requests
+ */
+@ConfigurationProperties("payments-flux.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("256") int globalLimit,
+        @DefaultValue("4") int perWalletLimit,
+        @DefaultValue("4096") int stripes,
+        @DefaultValue("1s") Duration retryAfter
+) {}
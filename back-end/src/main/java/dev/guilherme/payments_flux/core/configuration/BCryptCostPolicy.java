@@ -0,0 +1,64 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt cost. The configured cost is used as is; calibration only
+ * runs when it is 0, which is meant for sizing new hardware once: it slows the
+ * boot and lets nodes on different hosts disagree, so its result is logged for
+ * operators to pin. Each cost step doubles the work, so the policy measures one
+ * hash at the minimum cost and climbs while the projected time stays within the
+ * target. Stored hashes carry their own cost, so changing it never breaks
+ * verification of existing passwords.
+ */
+@Slf4j
+final class BCryptCostPolicy {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptCostPolicy() {
+    }
+
+    static int resolve(PasswordHashProperties properties) {
+        if (properties.cost() > 0) {
+            return properties.cost();
+        }
+        int cost = calibrate(properties.targetHashTime(), properties.minCost(), properties.maxCost(),
+                BCryptCostPolicy::measure);
+        log.warn("Calibrated BCrypt cost {} for a {} ms target; pin it with payments-flux.password-hash.cost={} "
+                + "so startup skips calibration and every node hashes at the same cost",
+                cost, properties.targetHashTime().toMillis(), cost);
+        return cost;
+    }
+
+    static int calibrate(Duration target, int minCost, int maxCost, IntToLongFunction nanosAtCost) {
+        long projected = nanosAtCost.applyAsLong(minCost);
+        int cost = minCost;
+        while (cost < maxCost && projected * 2 <= target.toNanos()) {
+            projected *= 2;
+            cost++;
+        }
+        return cost;
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        String sample = UUID.randomUUID().toString();
+        encoder.encode(sample);
+
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long begin = System.nanoTime();
+            encoder.encode(sample);
+            nanos[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(nanos);
+        return nanos[SAMPLES / 2];
+    }
+}
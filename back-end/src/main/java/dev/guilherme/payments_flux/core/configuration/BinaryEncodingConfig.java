@@ -0,0 +1,23 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.api.codec.DtoCodecs;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Lets high-volume clients exchange {@code application/cbor} instead of JSON
+ * through regular content negotiation: a request with that Content-Type is
+ * decoded as CBOR, and an Accept header asking for it gets a CBOR response.
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter() {
+        return new JacksonCborHttpMessageConverter(CBORMapper.builder()
+                .addModule(DtoCodecs.module())
+                .build());
+    }
+}
@@ -0,0 +1,26 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param failureThreshold    consecutive failed or slow Redis calls that open the breaker
+ * @param slowCallThreshold   a Redis call slower than this counts as a failure
+ * @param probeInterval       delay between background pings while the breaker is open
+ * @param localTtl            lifetime of entries in the in-process fallback cache
+ * @param localMaxEntries     entries kept per cache by the in-process fallback
+ * @param maxPendingEvictions evictions remembered per cache while Redis is unreachable; past
+ *                            this, the whole cache is cleared on recovery instead
+ */
+@ConfigurationProperties("payments-flux.cache-breaker")
+public record CacheBreakerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("100ms") Duration slowCallThreshold,
+        @DefaultValue("1s") Duration probeInterval,
+        @DefaultValue("30s") Duration localTtl,
+        @DefaultValue("10000") int localMaxEntries,
+        @DefaultValue("10000") int maxPendingEvictions
+) {}
@@ -0,0 +1,27 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxAttempts    attempts per request, the first one included
+ * @param initialBackoff upper bound of the first jittered backoff
+ * @param maxBackoff     cap on the upper bound of any jittered backoff, however many attempts came before
+ * @param multiplier     factor the backoff bound grows by after each attempt
+ * @param deadline       total time a request may spend retrying; a retry whose backoff would
+ *                       cross it is not attempted
+ * @param topK           hottest wallets reported by the conflicts endpoint
+ * @param decayInterval  period after which conflict counts are halved
+ */
+@ConfigurationProperties("payments-flux.conflict-retry")
+public record ConflictRetryProperties(
+        @DefaultValue("4") int maxAttempts,
+        @DefaultValue("10ms") Duration initialBackoff,
+        @DefaultValue("200ms") Duration maxBackoff,
+        @DefaultValue("2.0") double multiplier,
+        @DefaultValue("1s") Duration deadline,
+        @DefaultValue("20") int topK,
+        @DefaultValue("1m") Duration decayInterval
+) {}
@@ -0,0 +1,58 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties({PasswordHashProperties.class, AdmissionProperties.class, WalletEventsProperties.class})
+public class ExecutorConfig {
+
+    public static final String PASSWORD_HASH_EXECUTOR = "passwordHashExecutor";
+    public static final String WALLET_EVENTS_EXECUTOR = "walletEventsExecutor";
+    public static final String MONGO_EXPLAIN_EXECUTOR = "mongoExplainExecutor";
+
+    /**
+     * BCrypt is pure CPU work, so hashing runs on a fixed set of platform threads
+     * that is smaller than the core count, behind a bounded queue. A full queue
+     * rejects instead of running on the caller, which would put the hash back on
+     * a request thread; admission and shedding live in {@code PasswordHasher}.
+     */
+    @Bean(name = PASSWORD_HASH_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashExecutor(PasswordHashProperties properties) {
+        int threads = properties.effectiveThreads();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                Thread.ofPlatform().name("password-hash-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Writes to Server-Sent Events streams block on slow sockets, so each drain
+     * runs on its own virtual thread. Idle streams hold no thread at all; only
+     * streams with frames waiting to be written do, and only while writing.
+     */
+    @Bean(name = WALLET_EVENTS_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService walletEventsExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("wallet-events-", 0).factory());
+    }
+
+    /**
+     * Slow commands are explained one at a time, so diagnostics never compete
+     * with requests for more than one pooled connection. A burst of slow
+     * commands past the queue is dropped rather than explained late.
+     */
+    @Bean(name = MONGO_EXPLAIN_EXECUTOR, destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor mongoExplainExecutor(SlowCommandProperties properties) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.explainQueue()),
+                Thread.ofPlatform().name("mongo-explain-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
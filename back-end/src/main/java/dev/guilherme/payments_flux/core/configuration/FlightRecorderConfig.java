@@ -0,0 +1,28 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.core.jfr.WalletOperationInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Custom Flight Recorder events for the operations that move money. The
+ * events are always wired in but stay disabled until a recording enables
+ * them, either {@code payments-flux.flight-recorder.enabled} or an external
+ * {@code -XX:StartFlightRecording}.
+ */
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @Order(ServiceLayer.FLIGHT_RECORDER_ORDER)
+    static Advisor walletOperationEventAdvisor() {
+        return ServiceLayer.advisor(WalletOperationInterceptor.forServices(), ServiceLayer.FLIGHT_RECORDER_ORDER);
+    }
+}
@@ -0,0 +1,17 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled  whether the wallet operation events are recorded and streamed into a
+ *                 per-phase latency breakdown; external recordings can still enable them
+ * @param interval period of the logged breakdown
+ */
+@ConfigurationProperties("payments-flux.flight-recorder")
+public record FlightRecorderProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10s") Duration interval
+) {}
@@ -0,0 +1,57 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.core.metrics.MongoCommandMetrics;
+import dev.guilherme.payments_flux.core.metrics.ServiceMetricsInterceptor;
+import io.lettuce.core.metrics.MicrometerCommandLatencyRecorder;
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.data.redis.autoconfigure.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Latency metrics for the service layer, Mongo commands and Redis commands,
+ * all with percentile histograms for the Prometheus endpoint. Cache and
+ * conflict counters are registered where those are implemented.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times the service layer as its outermost advice, so cache hits and
+     * transaction commits are part of the measured time. The registry is
+     * resolved on the first call, as advisors are created before it.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @Order(ServiceLayer.METRICS_ORDER)
+    static Advisor serviceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        SingletonSupplier<ServiceMetricsInterceptor> interceptor =
+                SingletonSupplier.of(() -> new ServiceMetricsInterceptor(meterRegistry.getObject()));
+        return ServiceLayer.advisor((MethodInterceptor) invocation -> interceptor.obtain().invoke(invocation),
+                ServiceLayer.METRICS_ORDER);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetrics(MeterRegistry meterRegistry) {
+        return settings -> settings.addCommandListener(new MongoCommandMetrics(meterRegistry));
+    }
+
+    /**
+     * Lettuce times each command from dispatch to completion; the histogram is
+     * off by default there.
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer redisCommandMetrics(MeterRegistry meterRegistry) {
+        return resources -> resources.commandLatencyRecorder(new MicrometerCommandLatencyRecorder(meterRegistry,
+                MicrometerOptions.builder().histogram(true).build()));
+    }
+}
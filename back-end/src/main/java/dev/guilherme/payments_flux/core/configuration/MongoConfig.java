@@ -1,15 +1,29 @@
 package dev.guilherme.payments_flux.core.configuration;
 
+import dev.guilherme.payments_flux.core.metrics.SlowCommandRecorder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.MongoTransactionManager;
 
 @Configuration
+@EnableConfigurationProperties({TransferStorageProperties.class, SlowCommandProperties.class})
 public class MongoConfig {
 
     @Bean
     MongoTransactionManager transactionManager(MongoDatabaseFactory dbFactory) {
         return new MongoTransactionManager(dbFactory);
     }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer slowCommandRecorder(SlowCommandProperties properties,
+                                                             SlowCommandRecorder recorder) {
+        return settings -> {
+            if (properties.enabled()) {
+                settings.addCommandListener(recorder);
+            }
+        };
+    }
 }
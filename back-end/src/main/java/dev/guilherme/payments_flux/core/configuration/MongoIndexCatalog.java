@@ -0,0 +1,96 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single source of truth for every index the application relies on.
+ * Indexes are created at startup, before the web server accepts traffic;
+ * creating an index that already exists with the same spec is a no-op.
+ * When the time-series mode is on, the transfers collection is created
+ * first, since creating an index would implicitly create a regular one.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class MongoIndexCatalog implements SmartInitializingSingleton {
+
+    public static final String TRANSFER_SENDER_CREATED_AT = "transfers_senderId_createdAt";
+    public static final String TRANSFER_RECEIVER_CREATED_AT = "transfers_receiverId_createdAt";
+    public static final String TRANSFER_CREATED_AT = "transfers_createdAt_type_amount";
+    public static final String WALLET_CPF_CNPJ = "cpfCnpj";
+    public static final String WALLET_EMAIL = "email";
+
+    private final MongoTemplate mongoTemplate;
+    private final TransferStorageProperties storageProperties;
+
+    public static Map<Class<?>, List<Index>> definitions() {
+        return Map.of(
+                Transfer.class, List.of(
+                        new Index()
+                                .on("senderId", Sort.Direction.ASC)
+                                .on("createdAt", Sort.Direction.DESC)
+                                .named(TRANSFER_SENDER_CREATED_AT),
+                        new Index()
+                                .on("receiverId", Sort.Direction.ASC)
+                                .on("createdAt", Sort.Direction.DESC)
+                                .named(TRANSFER_RECEIVER_CREATED_AT),
+                        // Serves createdAt sorting and covers the financial summary $match/$group.
+                        new Index()
+                                .on("createdAt", Sort.Direction.ASC)
+                                .on("type", Sort.Direction.ASC)
+                                .on("amount", Sort.Direction.ASC)
+                                .named(TRANSFER_CREATED_AT)),
+                Wallet.class, List.of(
+                        new Index().on("cpfCnpj", Sort.Direction.ASC).unique().named(WALLET_CPF_CNPJ),
+                        new Index().on("email", Sort.Direction.ASC).unique().named(WALLET_EMAIL)));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureCollections();
+        ensureIndexes();
+    }
+
+    public void ensureCollections() {
+        TransferStorageProperties.TimeSeries timeSeries = storageProperties.timeSeries();
+        if (!timeSeries.enabled()) {
+            return;
+        }
+
+        String collection = mongoTemplate.getCollectionName(Transfer.class);
+        Document existing = mongoTemplate.getDb().listCollections()
+                .filter(new Document("name", collection))
+                .first();
+
+        if (existing == null) {
+            mongoTemplate.createCollection(Transfer.class, CollectionOptions.empty()
+                    .timeSeries(CollectionOptions.TimeSeriesOptions.timeSeries("createdAt")
+                            .metaField("senderId")
+                            .granularity(timeSeries.granularity())));
+            log.info("Created time-series collection {}", collection);
+        } else if (!"timeseries".equals(existing.getString("type"))) {
+            log.warn("Collection {} already exists as a regular collection; time-series mode needs it migrated first",
+                    collection);
+        }
+    }
+
+    public void ensureIndexes() {
+        definitions().forEach((entity, indexes) -> indexes.forEach(index -> {
+            String name = mongoTemplate.indexOps(entity).createIndex(index);
+            log.debug("Index {} ensured on {}", name, mongoTemplate.getCollectionName(entity));
+        }));
+    }
+}
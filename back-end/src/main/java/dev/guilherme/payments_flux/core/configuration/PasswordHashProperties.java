@@ -0,0 +1,39 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param threads        hashing threads; 0 means half the cores, so hashing never owns the whole CPU
+ * @param queueCapacity  tasks the executor can hold before rejecting outright
+ * @param shedQueueDepth queue depth at which interactive requests are shed with 503
+ * @param bulkInFlight   hashes a bulk import may have queued or running at once
+ * @param timeout        longest an interactive request waits for its hash
+ * @param retryAfter     value of the Retry-After header on shed requests
+ * @param cost           BCrypt cost every node hashes with; 0 calibrates it at startup against
+ *                       {@code targetHashTime}, which is meant for a one-off run on new hardware
+ *                       whose logged result is then pinned here
+ * @param targetHashTime hash time the calibration aims for
+ * @param minCost        lowest cost the calibration may pick
+ * @param maxCost        highest cost the calibration may pick
+ */
+@ConfigurationProperties("payments-flux.password-hash")
+public record PasswordHashProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("256") int queueCapacity,
+        @DefaultValue("64") int shedQueueDepth,
+        @DefaultValue("32") int bulkInFlight,
+        @DefaultValue("2s") Duration timeout,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("10") int cost,
+        @DefaultValue("100ms") Duration targetHashTime,
+        @DefaultValue("10") int minCost,
+        @DefaultValue("14") int maxCost
+) {
+
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.core.admission.PersistenceLimiters;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Puts the {@link PersistenceLimiters} in front of the repositories the wallet
+ * and transfer services call, so every persistence call on those paths is
+ * admitted, timed and shed in one place by the limiter of its operation class.
+ */
+@Configuration
+@EnableConfigurationProperties(PersistenceLimitProperties.class)
+public class PersistenceLimitConfig {
+
+    private static final List<Class<?>> LIMITED_REPOSITORIES = List.of(WalletRepository.class, TransferRepository.class);
+
+    @Bean
+    public PersistenceLimiters persistenceLimiters(PersistenceLimitProperties properties, MeterRegistry meterRegistry) {
+        return new PersistenceLimiters(properties, meterRegistry);
+    }
+
+    @Bean
+    static BeanPostProcessor persistenceLimiterPostProcessor(ObjectProvider<PersistenceLimiters> limiters) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                for (Class<?> repository : LIMITED_REPOSITORIES) {
+                    if (repository.isInstance(bean)) {
+                        ProxyFactory proxyFactory = new ProxyFactory();
+                        proxyFactory.setTarget(bean);
+                        proxyFactory.addInterface(repository);
+                        proxyFactory.addAdvice((MethodInterceptor) invocation ->
+                                limiters.getObject().forMethod(invocation.getMethod()).execute(invocation::proceed));
+                        return proxyFactory.getProxy(repository.getClassLoader());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param initialLimit  in-flight persistence calls allowed before any RTT is measured
+ * @param backoffRatio  multiplier applied to the limit when a call times out or loses its connection
+ * @param probeInterval samples after which the no-load RTT is re-measured at the next lightly
+ *                      loaded window, so a baseline from an idle period does not pin the limit
+ *                      down forever
+ * @param retryAfter    value of the Retry-After header on shed requests
+ * @param window        how often the sampled RTTs are folded into each limit
+ */
+@ConfigurationProperties("payments-flux.persistence-limit")
+public record PersistenceLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("256") int maxLimit,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("1000") int probeInterval,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("100ms") Duration window
+) {}
@@ -2,14 +2,23 @@ package dev.guilherme.payments_flux.core.configuration;
 
 import dev.guilherme.payments_flux.api.dto.TransferDTO;
 import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.core.cache.CacheCircuitBreaker;
+import dev.guilherme.payments_flux.core.cache.MeteredCacheManager;
+import dev.guilherme.payments_flux.core.cache.ResilientCacheManager;
+import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -19,20 +28,38 @@ import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties({CacheBreakerProperties.class, ResponseCacheProperties.class})
 public class RedisConfig {
 
+    public static final Duration BALANCE_TTL = Duration.ofMinutes(10);
+
+    public static JacksonJsonRedisSerializer<WalletDTO.Response> walletSerializer() {
+        return new JacksonJsonRedisSerializer<>(WalletDTO.Response.class);
+    }
+
+    public static JacksonJsonRedisSerializer<TransferDTO.Response> transferSerializer() {
+        return new JacksonJsonRedisSerializer<>(TransferDTO.Response.class);
+    }
+
+    public static JacksonJsonRedisSerializer<BigDecimal> balanceSerializer() {
+        return new JacksonJsonRedisSerializer<>(BigDecimal.class);
+    }
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheBreakerProperties breakerProperties,
+                                     ResponseCacheProperties responseCacheProperties,
+                                     MeterRegistry meterRegistry) {
 
-        JacksonJsonRedisSerializer<WalletDTO.Response> walletSerializer = new JacksonJsonRedisSerializer<>(WalletDTO.Response.class);
-        JacksonJsonRedisSerializer<TransferDTO.Response> transferSerializer = new JacksonJsonRedisSerializer<>(TransferDTO.Response.class);
-        JacksonJsonRedisSerializer<BigDecimal> balanceSerializer = new JacksonJsonRedisSerializer<>(BigDecimal.class);
+        JacksonJsonRedisSerializer<WalletDTO.Response> walletSerializer = walletSerializer();
+        JacksonJsonRedisSerializer<TransferDTO.Response> transferSerializer = transferSerializer();
+        JacksonJsonRedisSerializer<BigDecimal> balanceSerializer = balanceSerializer();
 
         Map<String, RedisCacheConfiguration> cacheConfig = new HashMap<>();
 
         cacheConfig.put("balance-cache",
                 RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(BALANCE_TTL)
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(balanceSerializer)));
@@ -44,10 +71,37 @@ public class RedisConfig {
                         .serializeValuesWith(RedisSerializationContext.SerializationPair
                                 .fromSerializer(transferSerializer)));
 
-        return RedisCacheManager
+        cacheConfig.put(CacheNames.TRANSFER_RESPONSE,
+                RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(responseCacheProperties.ttl())
+                        .disableCachingNullValues()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.byteArray()));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager
                 .builder(connectionFactory)
                 .withInitialCacheConfigurations(cacheConfig)
                 .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig())
                 .build();
+
+        // Not a bean of its own once wrapped, so the container will not initialize it.
+        redisCacheManager.afterPropertiesSet();
+        if (!breakerProperties.enabled()) {
+            return new MeteredCacheManager(redisCacheManager, meterRegistry);
+        }
+        return new ResilientCacheManager(redisCacheManager, connectionFactory,
+                new CacheCircuitBreaker(breakerProperties, meterRegistry), breakerProperties, meterRegistry);
+    }
+
+    /**
+     * Reads and writes balance-cache entries in bulk, with the same key and
+     * value encoding as the cache manager so both see each other's entries.
+     */
+    @Bean
+    public RedisTemplate<String, BigDecimal> balanceRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, BigDecimal> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(StringRedisSerializer.UTF_8);
+        template.setValueSerializer(balanceSerializer());
+        return template;
     }
 }
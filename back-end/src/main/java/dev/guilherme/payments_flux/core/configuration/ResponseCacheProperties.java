@@ -0,0 +1,16 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled serve cached transfers as pre-serialized JSON bytes with an ETag
+ * @param ttl     lifetime of a cached response in Redis
+ */
+@ConfigurationProperties("payments-flux.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration ttl
+) {}
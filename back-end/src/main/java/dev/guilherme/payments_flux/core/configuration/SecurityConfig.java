@@ -12,8 +12,8 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashProperties passwordHashProperties) {
+        return new BCryptPasswordEncoder(BCryptCostPolicy.resolve(passwordHashProperties));
     }
 
     @Bean
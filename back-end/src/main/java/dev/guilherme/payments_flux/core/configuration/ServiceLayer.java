@@ -0,0 +1,46 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.domain.service.transfer.TransferService;
+import dev.guilherme.payments_flux.domain.service.wallet.WalletImportService;
+import dev.guilherme.payments_flux.domain.service.wallet.WalletService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * The service layer the observability advice applies to, and the order of
+ * that advice. All of it runs outside the transaction and cache advice, which
+ * keep the lowest precedence, so commits and cache hits are part of what is
+ * measured: the timer is outermost, then the span, then the flight recorder
+ * event.
+ * <p>
+ * Advisor beans must be declared with the infrastructure role, which is what
+ * the auto-proxy creator registered by {@code @EnableTransactionManagement}
+ * and {@code @EnableCaching} considers.
+ */
+final class ServiceLayer {
+
+    static final int METRICS_ORDER = Ordered.HIGHEST_PRECEDENCE;
+    static final int TRACING_ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+    static final int FLIGHT_RECORDER_ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+    private static final List<Class<?>> SERVICES =
+            List.of(WalletService.class, TransferService.class, WalletImportService.class);
+
+    static final Pointcut POINTCUT = new ComposablePointcut(
+            type -> SERVICES.stream().anyMatch(service -> service.isAssignableFrom(type)));
+
+    private ServiceLayer() {
+    }
+
+    static Advisor advisor(MethodInterceptor interceptor, int order) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(POINTCUT, interceptor);
+        advisor.setOrder(order);
+        return advisor;
+    }
+}
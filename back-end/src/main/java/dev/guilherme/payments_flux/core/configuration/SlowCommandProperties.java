@@ -0,0 +1,28 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param threshold     a Mongo command slower than this is recorded
+ * @param thresholds    per-command overrides of {@code threshold}, keyed by command name
+ * @param capacity      slowest commands kept, by elapsed time
+ * @param explain       whether slow reads and writes are explained in the background
+ * @param verbosity     explain verbosity; {@code queryPlanner} does not run the command again
+ * @param captureWindow how long a command shape stays armed for capture after a slow run
+ * @param explainQueue  explains waiting for the background thread before new ones are dropped
+ */
+@ConfigurationProperties("payments-flux.slow-commands")
+public record SlowCommandProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100ms") Duration threshold,
+        @DefaultValue Map<String, Duration> thresholds,
+        @DefaultValue("128") int capacity,
+        @DefaultValue("true") boolean explain,
+        @DefaultValue("queryPlanner") String verbosity,
+        @DefaultValue("1m") Duration captureWindow,
+        @DefaultValue("16") int explainQueue
+) {}
@@ -0,0 +1,79 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.core.tracing.JsonLinesSpanExporter;
+import dev.guilherme.payments_flux.core.tracing.MongoCommandTracing;
+import dev.guilherme.payments_flux.core.tracing.ServiceTracingInterceptor;
+import dev.guilherme.payments_flux.core.tracing.TailSamplingSpanExporter;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.data.redis.autoconfigure.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.function.SingletonSupplier;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Optional;
+
+/**
+ * Spans for service calls, Mongo commands and Redis commands, under the HTTP
+ * server spans Spring MVC already opens. Every trace is recorded and the
+ * {@link TailSamplingSpanExporter} picks the ones worth exporting, to a local
+ * file or to an OTLP endpoint such as the Jaeger container in the compose file.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+@ConditionalOnProperty(prefix = "payments-flux.tracing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter tailSamplingSpanExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        SpanExporter exporter = switch (properties.exporter()) {
+            case FILE -> new JsonLinesSpanExporter(properties.file(), properties.fileMaxSize().toBytes(),
+                    properties.fileMaxHistory(), objectMapper);
+            case OTLP -> OtlpHttpSpanExporter.builder().setEndpoint(properties.otlpEndpoint()).build();
+        };
+        return new TailSamplingSpanExporter(exporter, properties);
+    }
+
+    /**
+     * Opens a span per service call, inside the timer. Without a tracer the
+     * call passes straight through.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @Order(ServiceLayer.TRACING_ORDER)
+    static Advisor serviceTracingAdvisor(ObjectProvider<Tracer> tracer) {
+        SingletonSupplier<Optional<ServiceTracingInterceptor>> interceptor = SingletonSupplier.of(
+                () -> Optional.ofNullable(tracer.getIfAvailable()).map(ServiceTracingInterceptor::new));
+        return ServiceLayer.advisor((MethodInterceptor) invocation -> {
+            Optional<ServiceTracingInterceptor> available = interceptor.obtain();
+            return available.isPresent() ? available.get().invoke(invocation) : invocation.proceed();
+        }, ServiceLayer.TRACING_ORDER);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandTracing(ObjectProvider<Tracer> tracer) {
+        return settings -> tracer.ifAvailable(available -> settings.addCommandListener(new MongoCommandTracing(available)));
+    }
+
+    /**
+     * Lettuce opens its own observation per command, parented to the current
+     * one; command arguments are left out of the span tags.
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer redisCommandTracing(ObservationRegistry observationRegistry) {
+        return resources -> resources.tracing(new MicrometerTracing(observationRegistry, "payments-flux-redis"));
+    }
+}
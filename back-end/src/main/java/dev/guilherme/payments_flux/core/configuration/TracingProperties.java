@@ -0,0 +1,41 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled          whether service, Mongo and Redis spans are created and exported
+ * @param exporter         where kept traces go: a local JSON-lines file or an OTLP/HTTP endpoint
+ * @param file             JSON-lines file written by the {@code file} exporter, meant for development;
+ *                         production uses {@code otlp}
+ * @param fileMaxSize      size past which the file is rotated to {@code <file>.1}
+ * @param fileMaxHistory   rotated files kept next to the current one
+ * @param otlpEndpoint     traces endpoint of a local collector or Jaeger for the {@code otlp} exporter
+ * @param latencyThreshold traces whose root span takes at least this long are always kept
+ * @param sampleRatio      fraction of the remaining, fast and successful, traces that is kept
+ * @param maxPendingTraces traces buffered while waiting for their root span; new traces past
+ *                         this are dropped
+ * @param traceTimeout     how long spans wait for their root span before the trace is dropped
+ */
+@ConfigurationProperties("payments-flux.tracing")
+public record TracingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("file") Exporter exporter,
+        @DefaultValue("data/traces/spans.jsonl") Path file,
+        @DefaultValue("64MB") DataSize fileMaxSize,
+        @DefaultValue("3") int fileMaxHistory,
+        @DefaultValue("http://localhost:4318/v1/traces") String otlpEndpoint,
+        @DefaultValue("500ms") Duration latencyThreshold,
+        @DefaultValue("0.05") double sampleRatio,
+        @DefaultValue("10000") int maxPendingTraces,
+        @DefaultValue("30s") Duration traceTimeout
+) {
+
+    public enum Exporter {
+        FILE, OTLP
+    }
+}
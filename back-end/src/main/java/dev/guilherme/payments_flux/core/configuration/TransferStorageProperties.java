@@ -0,0 +1,33 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("payments-flux.transfers")
+public record TransferStorageProperties(
+        @DefaultValue TimeSeries timeSeries,
+        @DefaultValue Archive archive
+) {
+
+    /**
+     * @param relayInterval period of the sweep that moves transfers left in the outbox by a
+     *                      failed post-commit insert into the time-series collection
+     */
+    public record TimeSeries(
+            boolean enabled,
+            @DefaultValue("seconds") Granularity granularity,
+            @DefaultValue("5s") Duration relayInterval
+    ) {}
+
+    public record Archive(
+            boolean enabled,
+            @DefaultValue("data/transfer-archive") Path directory,
+            @DefaultValue("90d") Duration retention,
+            @DefaultValue("PT1H") Duration interval,
+            @DefaultValue("512") int blockSize
+    ) {}
+}
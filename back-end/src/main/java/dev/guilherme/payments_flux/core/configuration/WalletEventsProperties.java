@@ -0,0 +1,26 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param heartbeat        interval of the comment frame that keeps idle streams open through proxies
+ * @param timeout          lifetime of a stream before the client is asked to reconnect
+ * @param reconnect        reconnection delay sent to clients in the {@code retry:} field
+ * @param replaySize       recent events kept per watched wallet for {@code Last-Event-ID} resumption
+ * @param retention        how long a wallet keeps its replay buffer after its last subscriber leaves
+ * @param maxSubscribers   open streams per instance
+ * @param subscriberBuffer frames queued for a single slow client before its stream is closed
+ */
+@ConfigurationProperties("payments-flux.wallet-events")
+public record WalletEventsProperties(
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("3s") Duration reconnect,
+        @DefaultValue("64") int replaySize,
+        @DefaultValue("5m") Duration retention,
+        @DefaultValue("10000") int maxSubscribers,
+        @DefaultValue("256") int subscriberBuffer
+) {}
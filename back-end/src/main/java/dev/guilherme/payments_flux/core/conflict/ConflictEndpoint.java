@@ -0,0 +1,19 @@
+package dev.guilherme.payments_flux.core.conflict;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "walletconflicts")
+@AllArgsConstructor
+public class ConflictEndpoint {
+
+    private final ConflictTracker conflictTracker;
+
+    @ReadOperation
+    public ConflictTracker.Report conflicts() {
+        return conflictTracker.report();
+    }
+}
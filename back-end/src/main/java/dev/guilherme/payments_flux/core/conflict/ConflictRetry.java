@@ -0,0 +1,87 @@
+package dev.guilherme.payments_flux.core.conflict;
+
+import com.mongodb.MongoException;
+import dev.guilherme.payments_flux.api.exception.WalletConflictException;
+import dev.guilherme.payments_flux.core.configuration.ConflictRetryProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a money movement that lost an optimistic-lock race, with full-jitter
+ * exponential backoff and a per-request deadline, so the client only sees a
+ * 409 once the server has given up. Besides version mismatches, write conflicts
+ * raised by Mongo inside a transaction count as conflicts. The action must be a
+ * whole transactional service call: each attempt re-reads the wallets it changes.
+ */
+@Component
+@AllArgsConstructor
+@EnableConfigurationProperties(ConflictRetryProperties.class)
+public class ConflictRetry {
+
+    private static final int WRITE_CONFLICT = 112;
+
+    private final ConflictRetryProperties properties;
+    private final ConflictTracker conflictTracker;
+
+    public <T> T execute(Supplier<T> action, String... walletIds) {
+        long deadline = System.nanoTime() + properties.deadline().toNanos();
+        long backoff = properties.initialBackoff().toNanos();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException ex) {
+                if (!isConflict(ex)) {
+                    throw ex;
+                }
+                record(ex, walletIds);
+
+                long delay = ThreadLocalRandom.current().nextLong(backoff + 1);
+                if (attempt >= properties.maxAttempts() || System.nanoTime() + delay >= deadline) {
+                    conflictTracker.recordExhausted();
+                    throw ex;
+                }
+                conflictTracker.recordRetry();
+                pause(delay, ex);
+                backoff = Math.min(properties.maxBackoff().toNanos(), (long) (backoff * properties.multiplier()));
+            }
+        }
+    }
+
+    static boolean isConflict(RuntimeException ex) {
+        if (ex instanceof ConcurrencyFailureException) {
+            return true;
+        }
+        return ex instanceof DataAccessException
+                && NestedExceptionUtils.getMostSpecificCause(ex) instanceof MongoException mongo
+                && (mongo.getCode() == WRITE_CONFLICT
+                || mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL));
+    }
+
+    private void record(RuntimeException ex, String... walletIds) {
+        if (ex instanceof WalletConflictException conflict) {
+            conflictTracker.recordConflict(conflict.getWalletId());
+            return;
+        }
+        for (String walletId : walletIds) {
+            conflictTracker.recordConflict(walletId);
+        }
+    }
+
+    private static void pause(long nanos, RuntimeException cause) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
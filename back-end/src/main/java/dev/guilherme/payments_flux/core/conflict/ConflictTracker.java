@@ -0,0 +1,127 @@
+package dev.guilherme.payments_flux.core.conflict;
+
+import dev.guilherme.payments_flux.core.configuration.ConflictRetryProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate top-K of wallets by optimistic-lock conflicts. Counts live in a
+ * count-min sketch over an {@link AtomicLongArray}, so recording is a handful
+ * of atomic increments with no lock; a small candidate map keeps the wallets
+ * whose estimate beat the current minimum. Counts are halved every decay
+ * interval, so the ranking reflects recent conflict rates rather than all-time
+ * totals.
+ */
+@Component
+public class ConflictTracker {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 4096;
+
+    private final AtomicLongArray sketch = new AtomicLongArray(DEPTH * WIDTH);
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final int capacity;
+
+    public ConflictTracker(ConflictRetryProperties properties, MeterRegistry meterRegistry) {
+        this.capacity = properties.topK();
+        register(meterRegistry, "conflict", conflicts, "Optimistic-lock conflicts on wallet writes");
+        register(meterRegistry, "retry", retries, "Writes retried after a conflict");
+        register(meterRegistry, "exhausted", exhausted, "Writes that ran out of conflict retries");
+    }
+
+    private static void register(MeterRegistry meterRegistry, String outcome, LongAdder count, String description) {
+        FunctionCounter.builder("wallet.conflicts", count, LongAdder::sum)
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    public void recordConflict(String walletId) {
+        conflicts.increment();
+        if (walletId == null) {
+            return;
+        }
+
+        long estimate = Long.MAX_VALUE;
+        int h1 = spread(walletId.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9);
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, sketch.incrementAndGet(index(row, h1, h2)));
+        }
+
+        if (candidates.containsKey(walletId) || candidates.size() < capacity) {
+            candidates.put(walletId, estimate);
+            return;
+        }
+        Map.Entry<String, Long> coldest = candidates.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .orElse(null);
+        if (coldest != null && estimate > coldest.getValue() && candidates.remove(coldest.getKey(), coldest.getValue())) {
+            candidates.put(walletId, estimate);
+        }
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordExhausted() {
+        exhausted.increment();
+    }
+
+    public Report report() {
+        List<WalletConflicts> hottest = candidates.keySet().stream()
+                .map(walletId -> new WalletConflicts(walletId, estimate(walletId)))
+                .filter(wallet -> wallet.conflicts() > 0)
+                .sorted(Comparator.comparingLong(WalletConflicts::conflicts).reversed())
+                .limit(capacity)
+                .toList();
+        return new Report(conflicts.sum(), retries.sum(), exhausted.sum(), hottest);
+    }
+
+    @Scheduled(fixedRateString = "${payments-flux.conflict-retry.decay-interval:1m}")
+    public void decay() {
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.getAndUpdate(i, count -> count >> 1);
+        }
+        candidates.replaceAll((walletId, count) -> estimate(walletId));
+        candidates.values().removeIf(count -> count == 0);
+    }
+
+    long estimate(String walletId) {
+        long estimate = Long.MAX_VALUE;
+        int h1 = spread(walletId.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9);
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, sketch.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    private static int index(int row, int h1, int h2) {
+        return row * WIDTH + ((h1 + row * h2) & (WIDTH - 1));
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    public record WalletConflicts(String walletId, long conflicts) {}
+
+    public record Report(long conflicts, long retries, long exhausted, List<WalletConflicts> hottestWallets) {}
+}
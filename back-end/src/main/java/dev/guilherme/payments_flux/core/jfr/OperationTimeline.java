@@ -0,0 +1,76 @@
+package dev.guilherme.payments_flux.core.jfr;
+
+import java.util.Locale;
+
+/**
+ * Splits a wallet operation into consecutive {@link WalletPhaseEvent}s: each
+ * call to {@link #phase} ends the running phase and begins the next one, and
+ * {@link #close} ends the last. When no recording has the phase event enabled,
+ * {@link #start} hands out a shared no-op timeline, so a disabled timeline
+ * costs one {@code isEnabled} check per operation and nothing per phase.
+ */
+public final class OperationTimeline implements AutoCloseable {
+
+    private static final OperationTimeline DISABLED = new OperationTimeline(null, null, null);
+
+    private final Operation operation;
+    private final String walletId;
+    private final String counterpartId;
+    private WalletPhaseEvent current;
+    private Phase currentPhase;
+
+    private OperationTimeline(Operation operation, String walletId, String counterpartId) {
+        this.operation = operation;
+        this.walletId = walletId;
+        this.counterpartId = counterpartId;
+    }
+
+    public static OperationTimeline start(Operation operation, String walletId, String counterpartId) {
+        if (!new WalletPhaseEvent().isEnabled()) {
+            return DISABLED;
+        }
+        return new OperationTimeline(operation, walletId, counterpartId);
+    }
+
+    public void phase(Phase phase) {
+        if (this == DISABLED) {
+            return;
+        }
+        close();
+        current = new WalletPhaseEvent();
+        currentPhase = phase;
+        current.begin();
+    }
+
+    @Override
+    public void close() {
+        if (current == null) {
+            return;
+        }
+        current.end();
+        if (current.shouldCommit()) {
+            current.operation = operation.label();
+            current.phase = currentPhase.label();
+            current.walletId = walletId;
+            current.counterpartId = counterpartId;
+            current.commit();
+        }
+        current = null;
+    }
+
+    public enum Operation {
+        TRANSFER, DEPOSIT, WITHDRAW;
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum Phase {
+        LOOKUP, VALIDATE, DEBIT, CREDIT, INSERT, SAVE;
+
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
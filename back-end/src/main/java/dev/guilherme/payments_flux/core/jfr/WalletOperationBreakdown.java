@@ -0,0 +1,139 @@
+package dev.guilherme.payments_flux.core.jfr;
+
+import dev.guilherme.payments_flux.core.configuration.FlightRecorderProperties;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streams the wallet operation events and logs, every interval, the latency of
+ * each operation and of each of its phases. The remainder line is the mean
+ * time not covered by any phase: mostly the transaction commit, the cache
+ * eviction and the proxies. Starting the stream enables the events, which are
+ * off by default.
+ * <p>
+ * Every callback runs on the stream thread, so the samples need no locking.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "payments-flux.flight-recorder", name = "enabled", havingValue = "true")
+public class WalletOperationBreakdown implements SmartLifecycle {
+
+    private static final String TOTAL = "total";
+
+    private final long interval;
+    private final Map<String, Map<String, Samples>> samples = new LinkedHashMap<>();
+    private long lastReport;
+    private RecordingStream stream;
+
+    public WalletOperationBreakdown(FlightRecorderProperties properties) {
+        this.interval = properties.interval().toNanos();
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(WalletOperationEvent.NAME);
+        stream.enable(WalletPhaseEvent.NAME);
+        stream.onEvent(WalletOperationEvent.NAME, event -> record(event, TOTAL));
+        stream.onEvent(WalletPhaseEvent.NAME, event -> record(event, event.getString("phase")));
+        stream.onFlush(this::reportIfDue);
+        lastReport = System.nanoTime();
+        stream.startAsync();
+        log.info("Reporting wallet operation phases every {} ms", interval / 1_000_000);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void record(RecordedEvent event, String phase) {
+        samples.computeIfAbsent(event.getString("operation"), operation -> {
+                    Map<String, Samples> phases = new LinkedHashMap<>();
+                    phases.put(TOTAL, new Samples());
+                    return phases;
+                })
+                .computeIfAbsent(phase, ignored -> new Samples())
+                .add(event.getDuration().toNanos());
+    }
+
+    private void reportIfDue() {
+        long now = System.nanoTime();
+        if (now - lastReport < interval || samples.isEmpty()) {
+            return;
+        }
+        lastReport = now;
+
+        StringBuilder report = new StringBuilder(String.format("Wallet operation phases (ms)%n%-10s %-10s %8s %9s %9s %9s %9s",
+                "operation", "phase", "count", "mean", "p50", "p99", "max"));
+        samples.forEach((operation, phases) -> {
+            Samples total = phases.get(TOTAL);
+            double covered = 0;
+            for (Map.Entry<String, Samples> phase : phases.entrySet()) {
+                Samples values = phase.getValue();
+                if (values.size == 0) {
+                    continue;
+                }
+                values.sort();
+                report.append(String.format("%n%-10s %-10s %8d %9.3f %9.3f %9.3f %9.3f", operation, phase.getKey(),
+                        values.size, values.mean(), values.percentile(0.50), values.percentile(0.99), values.max()));
+                if (!TOTAL.equals(phase.getKey())) {
+                    covered += values.sum / 1_000_000.0;
+                }
+            }
+            if (total.size > 0) {
+                report.append(String.format("%n%-10s %-10s %8s %9.3f", operation, "remainder", "",
+                        Math.max(0, total.mean() - covered / total.size)));
+            }
+        });
+        log.info(report.toString());
+        samples.clear();
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[64];
+        private int size;
+        private long sum;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            sum += nanos;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        double mean() {
+            return sum / 1_000_000.0 / size;
+        }
+
+        double percentile(double percentile) {
+            return values[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)] / 1_000_000.0;
+        }
+
+        double max() {
+            return values[size - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.guilherme.payments_flux.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A transfer, deposit or withdrawal as seen from outside the service proxy, so
+ * its duration includes the transaction commit and the cache eviction that
+ * the {@link WalletPhaseEvent phases} inside the method cannot see.
+ */
+@Name(WalletOperationEvent.NAME)
+@Label("Wallet Operation")
+@Category({"Payments Flux", "Wallets"})
+@Description("A transfer, deposit or withdrawal, including the transaction commit and the cache eviction")
+@Enabled(false)
+@StackTrace(false)
+public class WalletOperationEvent extends Event {
+
+    public static final String NAME = "payments_flux.WalletOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Wallet")
+    String walletId;
+
+    @Label("Counterpart Wallet")
+    @Description("Receiver of a transfer")
+    String counterpartId;
+
+    @Label("Outcome")
+    @Description("success, the business rule that rejected the operation, or the exception class name")
+    String outcome;
+}
@@ -0,0 +1,81 @@
+package dev.guilherme.payments_flux.core.jfr;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.core.metrics.ServiceMetricsInterceptor;
+import dev.guilherme.payments_flux.domain.service.transfer.TransferService;
+import dev.guilherme.payments_flux.domain.service.wallet.WalletService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Emits a {@link WalletOperationEvent} around the service methods that move
+ * money. It sits outside the transaction and cache advice, so the event covers
+ * the commit and the eviction; other methods pass straight through.
+ */
+public class WalletOperationInterceptor implements MethodInterceptor {
+
+    private final Map<Class<?>, Map<String, OperationTimeline.Operation>> operations;
+
+    private WalletOperationInterceptor(Map<Class<?>, Map<String, OperationTimeline.Operation>> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Transfers on {@link TransferService}, deposits and withdrawals on
+     * {@link WalletService}.
+     */
+    public static WalletOperationInterceptor forServices() {
+        return new WalletOperationInterceptor(Map.of(
+                TransferService.class, Map.of("create", OperationTimeline.Operation.TRANSFER),
+                WalletService.class, Map.of(
+                        "deposit", OperationTimeline.Operation.DEPOSIT,
+                        "withdraw", OperationTimeline.Operation.WITHDRAW)));
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        OperationTimeline.Operation operation = operation(invocation.getMethod());
+        if (operation == null) {
+            return invocation.proceed();
+        }
+        WalletOperationEvent event = new WalletOperationEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+
+        event.begin();
+        String outcome = "success";
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            outcome = ServiceMetricsInterceptor.outcome(ex);
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation.label();
+                event.outcome = outcome;
+                Object target = invocation.getArguments()[0];
+                if (target instanceof TransferDTO.CreateRequest request) {
+                    event.walletId = request.senderId();
+                    event.counterpartId = request.receiverId();
+                } else if (target instanceof String walletId) {
+                    event.walletId = walletId;
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private OperationTimeline.Operation operation(Method method) {
+        for (Map.Entry<Class<?>, Map<String, OperationTimeline.Operation>> service : operations.entrySet()) {
+            if (service.getKey().isAssignableFrom(method.getDeclaringClass())) {
+                return service.getValue().get(method.getName());
+            }
+        }
+        return null;
+    }
+}
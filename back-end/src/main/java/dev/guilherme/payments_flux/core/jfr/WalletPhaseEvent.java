@@ -0,0 +1,36 @@
+package dev.guilherme.payments_flux.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a {@link WalletOperationEvent wallet operation}: a wallet
+ * lookup, the balance check, a balance write or the transfer insert.
+ */
+@Name(WalletPhaseEvent.NAME)
+@Label("Wallet Operation Phase")
+@Category({"Payments Flux", "Wallets"})
+@Description("A lookup, balance check or write inside a transfer, deposit or withdrawal")
+@Enabled(false)
+@StackTrace(false)
+public class WalletPhaseEvent extends Event {
+
+    public static final String NAME = "payments_flux.WalletPhase";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Wallet")
+    String walletId;
+
+    @Label("Counterpart Wallet")
+    String counterpartId;
+}
@@ -0,0 +1,50 @@
+package dev.guilherme.payments_flux.core.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the driver-measured latency of every Mongo command into
+ * {@code mongo.commands}, tagged with the command name and status. The driver
+ * already times each command, so nothing is kept between the started and the
+ * finished events, and timers are cached per command name.
+ */
+public class MongoCommandMetrics implements CommandListener {
+
+    public static final String METRIC = "mongo.commands";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> succeeded = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> failed = new ConcurrentHashMap<>();
+
+    public MongoCommandMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        succeeded.computeIfAbsent(event.getCommandName(), command -> timer(command, "success"))
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        failed.computeIfAbsent(event.getCommandName(), command -> timer(command, "failed"))
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String command, String status) {
+        return Timer.builder(METRIC)
+                .tag("command", command)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package dev.guilherme.payments_flux.core.metrics;
+
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times service method calls into {@code service.calls}, tagged with the
+ * class, the method and the outcome: {@code success}, the reason of a
+ * {@link BusinessException}, or the exception class name. Timers are resolved
+ * once per method and outcome, so a call costs two clock reads, a map lookup
+ * and a histogram update, not a meter registry lookup.
+ */
+public class ServiceMetricsInterceptor implements MethodInterceptor {
+
+    public static final String METRIC = "service.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(invocation.getMethod(), MethodTimers::new);
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            methodTimers.failure(outcome(ex)).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    public static String outcome(Throwable ex) {
+        return ex instanceof BusinessException business ? business.getReason() : ex.getClass().getSimpleName();
+    }
+
+    private final class MethodTimers {
+
+        private final Method method;
+        private final Timer success;
+        private final ConcurrentMap<String, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(Method method) {
+            this.method = method;
+            this.success = timer("success");
+        }
+
+        Timer failure(String outcome) {
+            return failures.computeIfAbsent(outcome, this::timer);
+        }
+
+        private Timer timer(String outcome) {
+            return Timer.builder(METRIC)
+                    .tag("class", method.getDeclaringClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
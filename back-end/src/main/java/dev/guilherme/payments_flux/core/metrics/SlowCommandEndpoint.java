@@ -0,0 +1,19 @@
+package dev.guilherme.payments_flux.core.metrics;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "slowcommands")
+@AllArgsConstructor
+public class SlowCommandEndpoint {
+
+    private final SlowCommandRecorder slowCommandRecorder;
+
+    @ReadOperation
+    public SlowCommandRecorder.Report slowCommands() {
+        return slowCommandRecorder.report();
+    }
+}
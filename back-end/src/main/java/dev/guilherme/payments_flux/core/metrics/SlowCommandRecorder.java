@@ -0,0 +1,469 @@
+package dev.guilherme.payments_flux.core.metrics;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import dev.guilherme.payments_flux.core.configuration.ExecutorConfig;
+import dev.guilherme.payments_flux.core.configuration.SlowCommandProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the slowest Mongo commands above the configured threshold, by shape,
+ * and explains them in the background.
+ * <p>
+ * The command document is only valid during the started event, so each
+ * command's shape is taken there: the collection and the filter with every
+ * value replaced with {@code ?} and {@code $in} lists collapsed, which is a
+ * walk of the filter alone. A fast command costs that and a threshold
+ * comparison. A slow one is recorded with its shape; the full command is
+ * never copied up front. Instead, a slow run arms its shape, the next run of
+ * the same shape is captured, and a captured run that turns out slow is
+ * explained. The plan is then attached to every kept command of that shape,
+ * and later slow runs of it reuse the plan instead of being explained again.
+ * Only one run per armed shape is captured at a time, and a shape is disarmed
+ * after the capture window. Explains use {@code queryPlanner} verbosity by
+ * default, which plans the command without running it again.
+ * <p>
+ * Shapes carry no values, so filters and replacement documents do not leak
+ * wallet data.
+ */
+@Slf4j
+@Component
+public class SlowCommandRecorder implements CommandListener {
+
+    private static final Set<String> EXPLAINABLE =
+            Set.of("find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+    private static final Set<String> SESSION_FIELDS = Set.of("$db", "lsid", "txnNumber", "autocommit",
+            "startTransaction", "$clusterTime", "$readPreference", "readConcern", "writeConcern",
+            "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final BsonString VALUE = new BsonString("?");
+    private static final int MAX_ARRAY_ELEMENTS = 8;
+    private static final int MAX_SHAPE_LENGTH = 4096;
+
+    private final long threshold;
+    private final Map<String, Long> thresholds = new HashMap<>();
+    private final boolean explain;
+    private final String verbosity;
+    private final long captureWindow;
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final Executor explainExecutor;
+
+    private final Slowest slowest;
+    private final ConcurrentMap<Integer, Started> started = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Shape, Long> armed = new ConcurrentHashMap<>();
+    private final LongAdder slowCommands = new LongAdder();
+    private final LongAdder explained = new LongAdder();
+    private final LongAdder explainsDropped = new LongAdder();
+
+    public SlowCommandRecorder(SlowCommandProperties properties,
+                               ObjectProvider<MongoClient> mongoClient,
+                               @Qualifier(ExecutorConfig.MONGO_EXPLAIN_EXECUTOR) Executor explainExecutor) {
+        this.threshold = properties.threshold().toNanos();
+        properties.thresholds().forEach((command, value) -> thresholds.put(command, value.toNanos()));
+        this.explain = properties.explain();
+        this.verbosity = properties.verbosity();
+        this.captureWindow = properties.captureWindow().toNanos();
+        this.mongoClient = mongoClient;
+        this.explainExecutor = explainExecutor;
+        this.slowest = new Slowest(properties.capacity());
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String command = event.getCommandName();
+        if ("explain".equals(command)) {
+            return;
+        }
+        BsonDocument document = event.getCommand();
+        Shape shape = new Shape(event.getDatabaseName(), command, collection(document),
+                EXPLAINABLE.contains(command) ? filterShape(command, document) : null);
+
+        Captured capture = null;
+        if (!armed.isEmpty()) {
+            Long deadline = armed.get(shape);
+            if (deadline != null && armed.remove(shape, deadline) && System.nanoTime() - deadline <= 0) {
+                capture = new Captured(document.clone(), deadline);
+            }
+        }
+        started.put(event.getRequestId(), new Started(shape, capture));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        finish(event.getCommandName(), event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        finish(event.getCommandName(), event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), "failed");
+    }
+
+    private void finish(String command, int requestId, long elapsed, String status) {
+        Started start = started.remove(requestId);
+        if (start == null) {
+            return;
+        }
+        Shape shape = start.shape();
+        Captured capture = start.capture();
+        Long override = thresholds.isEmpty() ? null : thresholds.get(command);
+        if (elapsed < (override == null ? threshold : override)) {
+            if (capture != null) {
+                armed.putIfAbsent(shape, capture.deadline());
+            }
+            return;
+        }
+
+        slowCommands.increment();
+        SlowCommand slow = new SlowCommand(Instant.now(), shape.database(), command, shape.collection(),
+                elapsed / 1_000_000.0, status,
+                capture == null ? shape.toJson() : shape(capture.command()), null);
+        if (slowest.offer(shape, slow)) {
+            return;
+        }
+
+        if (capture != null) {
+            explain(shape, capture);
+        } else if (explain && EXPLAINABLE.contains(command)) {
+            armed.putIfAbsent(shape, System.nanoTime() + captureWindow);
+        }
+    }
+
+    private void explain(Shape shape, Captured capture) {
+        try {
+            explainExecutor.execute(() -> {
+                Plan plan;
+                try {
+                    BsonDocument explain = new BsonDocument("explain", withoutSessionFields(capture.command()))
+                            .append("verbosity", new BsonString(verbosity));
+                    plan = Plan.of(mongoClient.getObject().getDatabase(shape.database())
+                            .runCommand(explain, BsonDocument.class));
+                    explained.increment();
+                } catch (RuntimeException ex) {
+                    log.debug("Could not explain a slow {} command: {}", shape.command(), ex.getMessage());
+                    plan = Plan.failed(ex.getMessage());
+                }
+                slowest.attach(shape, plan);
+            });
+        } catch (RejectedExecutionException ex) {
+            explainsDropped.increment();
+        }
+    }
+
+    public Report report() {
+        return new Report(slowCommands.sum(), explained.sum(), explainsDropped.sum(), slowest.sorted());
+    }
+
+    private static String collection(BsonDocument command) {
+        BsonValue target = command.get(command.getFirstKey());
+        return target != null && target.isString() ? target.asString().getValue() : null;
+    }
+
+    /**
+     * The part of the command that decides its plan: the filter of a find,
+     * count, distinct or findAndModify, the first statement's filter of an
+     * update or delete, or the stages of an aggregate.
+     */
+    private static BsonValue filterShape(String command, BsonDocument document) {
+        BsonValue filter = switch (command) {
+            case "find" -> document.get("filter");
+            case "count", "distinct", "findAndModify" -> document.get("query");
+            case "update" -> firstStatementFilter(document.get("updates"));
+            case "delete" -> firstStatementFilter(document.get("deletes"));
+            case "aggregate" -> document.get("pipeline");
+            default -> null;
+        };
+        if (filter == null) {
+            return null;
+        }
+        if (filter.isArray()) {
+            BsonArray stages = new BsonArray();
+            for (BsonValue stage : filter.asArray()) {
+                if (stages.size() == MAX_ARRAY_ELEMENTS) {
+                    break;
+                }
+                stages.add(normalize(stage));
+            }
+            return stages;
+        }
+        return normalize(filter);
+    }
+
+    private static BsonValue firstStatementFilter(BsonValue statements) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get("q") : null;
+    }
+
+    /**
+     * Replaces every value with {@code ?} and keeps one element of each array,
+     * so an {@code $in} of any length has the same shape.
+     */
+    private static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> shape.append(key, normalize(nested)));
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            if (!value.asArray().isEmpty()) {
+                shape.add(normalize(value.asArray().get(0)));
+            }
+            return shape;
+        }
+        return VALUE;
+    }
+
+    private static BsonDocument withoutSessionFields(BsonDocument command) {
+        BsonDocument copy = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!SESSION_FIELDS.contains(key)) {
+                copy.append(key, value);
+            }
+        });
+        return copy;
+    }
+
+    private static String shape(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        String target = command.getFirstKey();
+        command.forEach((key, value) -> {
+            if (key.equals(target)) {
+                shape.append(key, value);
+            } else if (!SESSION_FIELDS.contains(key)) {
+                shape.append(key, shapeOf(value));
+            }
+        });
+        String json = shape.toJson();
+        return json.length() > MAX_SHAPE_LENGTH ? json.substring(0, MAX_SHAPE_LENGTH) + "..." : json;
+    }
+
+    private static BsonValue shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> shape.append(key, shapeOf(nested)));
+            return shape;
+        }
+        if (value.isArray()) {
+            BsonArray shape = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                if (shape.size() == MAX_ARRAY_ELEMENTS) {
+                    break;
+                }
+                shape.add(shapeOf(element));
+            }
+            return shape;
+        }
+        return VALUE;
+    }
+
+    /**
+     * What a command is recorded, armed and explained by. Values are already
+     * replaced, so it is safe to keep after the started event.
+     */
+    private record Shape(String database, String command, String collection, BsonValue filter) {
+
+        String toJson() {
+            BsonDocument shape = new BsonDocument(command, collection == null ? VALUE : new BsonString(collection));
+            if (filter != null) {
+                shape.append("filter", filter);
+            }
+            String json = shape.toJson();
+            return json.length() > MAX_SHAPE_LENGTH ? json.substring(0, MAX_SHAPE_LENGTH) + "..." : json;
+        }
+    }
+
+    private record Started(Shape shape, Captured capture) {}
+
+    private record Captured(BsonDocument command, long deadline) {}
+
+    /**
+     * The slowest commands seen, at most {@code capacity} of them, in a heap
+     * with the fastest kept command on top. Only slow commands reach it, so a
+     * lock is cheap enough.
+     */
+    private static final class Slowest {
+
+        private final int capacity;
+        private final PriorityQueue<Kept> heap = new PriorityQueue<>(Comparator.comparingDouble(Kept::elapsedMillis));
+
+        private Slowest(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Keeps the command if it is among the slowest, with the plan already
+         * known for its shape, if any.
+         *
+         * @return whether a plan was known, in which case it need not be explained again
+         */
+        synchronized boolean offer(Shape shape, SlowCommand slow) {
+            Plan plan = null;
+            for (Kept kept : heap) {
+                if (kept.shape.equals(shape) && kept.command.plan() != null) {
+                    plan = kept.command.plan();
+                    break;
+                }
+            }
+            Kept entry = new Kept(shape, plan == null ? slow : slow.withPlan(plan));
+            if (heap.size() < capacity) {
+                heap.add(entry);
+            } else if (heap.peek().elapsedMillis() < slow.elapsedMillis()) {
+                heap.poll();
+                heap.add(entry);
+            }
+            return plan != null;
+        }
+
+        synchronized void attach(Shape shape, Plan plan) {
+            for (Kept kept : heap) {
+                if (kept.shape.equals(shape) && kept.command.plan() == null) {
+                    kept.command = kept.command.withPlan(plan);
+                }
+            }
+        }
+
+        synchronized List<SlowCommand> sorted() {
+            List<SlowCommand> sorted = new ArrayList<>(heap.size());
+            for (Kept kept : heap) {
+                sorted.add(kept.command);
+            }
+            sorted.sort(Comparator.comparingDouble(SlowCommand::elapsedMillis).reversed());
+            return sorted;
+        }
+
+        private static final class Kept {
+
+            private final Shape shape;
+            private SlowCommand command;
+
+            private Kept(Shape shape, SlowCommand command) {
+                this.shape = shape;
+                this.command = command;
+            }
+
+            double elapsedMillis() {
+                return command.elapsedMillis();
+            }
+        }
+    }
+
+    /**
+     * @param elapsedMillis driver-measured round trip, including time queued on the connection
+     * @param shape         the command with every value replaced once a run of it was captured, until
+     *                      then its collection and filter shape
+     * @param plan          the winning plan, or {@code null} until the background explain completes
+     */
+    public record SlowCommand(Instant at, String database, String command, String collection,
+                              double elapsedMillis, String status, String shape, Plan plan) {
+
+        SlowCommand withPlan(Plan plan) {
+            return new SlowCommand(at, database, command, collection, elapsedMillis, status, shape, plan);
+        }
+    }
+
+    /**
+     * @param summary        winning plan stages from the root down, e.g. {@code FETCH > IXSCAN(transfers_senderId_createdAt)}
+     * @param indexes        indexes the winning plan reads
+     * @param collectionScan whether any stage scans the whole collection
+     * @param error          why the command could not be explained, if it could not
+     */
+    public record Plan(String summary, List<String> indexes, boolean collectionScan, String error) {
+
+        static Plan of(BsonDocument explain) {
+            BsonDocument winningPlan = find(explain, "winningPlan");
+            if (winningPlan == null) {
+                return failed("no winning plan in the explain output");
+            }
+            // Plans run by the slot-based engine nest the classic stage tree.
+            if (winningPlan.isDocument("queryPlan")) {
+                winningPlan = winningPlan.getDocument("queryPlan");
+            }
+            List<String> indexes = new ArrayList<>();
+            boolean[] collectionScan = new boolean[1];
+            String summary = summarize(winningPlan, indexes, collectionScan);
+            return new Plan(summary, List.copyOf(indexes), collectionScan[0], null);
+        }
+
+        static Plan failed(String error) {
+            return new Plan(null, List.of(), false, error);
+        }
+
+        private static String summarize(BsonDocument stage, List<String> indexes, boolean[] collectionScan) {
+            String name = stage.getString("stage", VALUE).getValue();
+            StringBuilder summary = new StringBuilder(name);
+            if (stage.isString("indexName")) {
+                String index = stage.getString("indexName").getValue();
+                indexes.add(index);
+                summary.append('(').append(index).append(')');
+            }
+            if ("COLLSCAN".equals(name)) {
+                collectionScan[0] = true;
+            }
+
+            if (stage.isDocument("inputStage")) {
+                summary.append(" > ").append(summarize(stage.getDocument("inputStage"), indexes, collectionScan));
+            } else if (stage.isArray("inputStages")) {
+                List<String> children = new ArrayList<>();
+                for (BsonValue child : stage.getArray("inputStages")) {
+                    if (child.isDocument()) {
+                        children.add(summarize(child.asDocument(), indexes, collectionScan));
+                    }
+                }
+                summary.append(" > ").append(children);
+            }
+            return summary.toString();
+        }
+
+        private static BsonDocument find(BsonValue value, String key) {
+            if (value.isDocument()) {
+                BsonDocument document = value.asDocument();
+                if (document.isDocument(key)) {
+                    return document.getDocument(key);
+                }
+                for (BsonValue nested : document.values()) {
+                    BsonDocument found = find(nested, key);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            } else if (value.isArray()) {
+                for (BsonValue element : value.asArray()) {
+                    BsonDocument found = find(element, key);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    public record Report(long slowCommands, long explained, long explainsDropped, List<SlowCommand> slowest) {}
+}
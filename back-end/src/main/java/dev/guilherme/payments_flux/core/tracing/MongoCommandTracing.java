@@ -0,0 +1,71 @@
+package dev.guilherme.payments_flux.core.tracing;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.bson.BsonValue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Opens a client span per Mongo command, named after the command and its
+ * collection. The sync driver runs the started event on the calling thread,
+ * so the current span is the right parent; commands issued outside a trace,
+ * such as index creation at startup, are not traced at all.
+ */
+public class MongoCommandTracing implements CommandListener {
+
+    private final Tracer tracer;
+    private final ConcurrentMap<Integer, Span> spans = new ConcurrentHashMap<>();
+
+    public MongoCommandTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        Span parent = tracer.currentSpan();
+        if (parent == null) {
+            return;
+        }
+        String command = event.getCommandName();
+        BsonValue target = event.getCommand().get(command);
+        String collection = target != null && target.isString() ? target.asString().getValue() : null;
+        ServerAddress server = event.getConnectionDescription().getServerAddress();
+
+        Span span = tracer.nextSpan(parent)
+                .name(collection == null ? command : command + " " + collection)
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName("mongodb")
+                .remoteIpAndPort(server.getHost(), server.getPort())
+                .tag("db.system", "mongodb")
+                .tag("db.name", event.getDatabaseName())
+                .tag("db.operation", command);
+        if (collection != null) {
+            span.tag("db.mongodb.collection", collection);
+        }
+        spans.put(event.getRequestId(), span.start());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Span span = spans.isEmpty() ? null : spans.remove(event.getRequestId());
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Span span = spans.isEmpty() ? null : spans.remove(event.getRequestId());
+        if (span != null) {
+            span.error(event.getThrowable());
+            span.end();
+        }
+    }
+}
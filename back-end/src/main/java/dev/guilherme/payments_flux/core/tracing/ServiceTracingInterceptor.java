@@ -0,0 +1,48 @@
+package dev.guilherme.payments_flux.core.tracing;
+
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.core.metrics.ServiceMetricsInterceptor;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Opens a span named {@code Service.method} around each service call and
+ * makes it current, so the Mongo and Redis spans of the call nest under it. A
+ * business rejection is tagged with its reason but is not an error: the tail
+ * sampler keeps every failed trace, and rejected transfers are routine.
+ */
+public class ServiceTracingInterceptor implements MethodInterceptor {
+
+    private final Tracer tracer;
+    private final ConcurrentMap<Method, String> names = new ConcurrentHashMap<>();
+
+    public ServiceTracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String name = names.computeIfAbsent(invocation.getMethod(),
+                method -> method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        Span span = tracer.nextSpan().name(name).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            Object result = invocation.proceed();
+            span.tag("outcome", "success");
+            return result;
+        } catch (Throwable ex) {
+            span.tag("outcome", ServiceMetricsInterceptor.outcome(ex));
+            if (!(ex instanceof BusinessException)) {
+                span.error(ex);
+            }
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+}
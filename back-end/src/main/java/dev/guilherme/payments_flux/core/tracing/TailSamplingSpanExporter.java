@@ -0,0 +1,145 @@
+package dev.guilherme.payments_flux.core.tracing;
+
+import dev.guilherme.payments_flux.core.configuration.TracingProperties;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which traces to keep once they are complete, rather than when they
+ * start. Spans are held per trace until the local root span ends; the trace is
+ * then kept if the root took at least the latency threshold, if any span
+ * failed, or if its trace id falls in the sampled ratio. Everything else is
+ * dropped without being exported.
+ * <p>
+ * Head sampling has to record every trace for this to see the slow ones, so
+ * the cost of a dropped trace is its spans, not their export. Children end
+ * before their synchronous parent, so they are already buffered when the root
+ * arrives; spans whose root never arrives are dropped after the trace timeout.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+    private final long latencyThreshold;
+    private final long ratioBound;
+    private final int maxPendingTraces;
+    private final long traceTimeout;
+
+    private final ConcurrentMap<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+    private final LongAdder kept = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TailSamplingSpanExporter(SpanExporter delegate, TracingProperties properties) {
+        this.delegate = delegate;
+        this.latencyThreshold = properties.latencyThreshold().toNanos();
+        this.ratioBound = (long) (Math.clamp(properties.sampleRatio(), 0.0, 1.0) * Long.MAX_VALUE);
+        this.maxPendingTraces = properties.maxPendingTraces();
+        this.traceTimeout = properties.traceTimeout().toNanos();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> export = new ArrayList<>();
+        for (SpanData span : spans) {
+            if (isLocalRoot(span)) {
+                PendingTrace trace = pending.remove(span.getTraceId());
+                List<SpanData> traceSpans = new ArrayList<>();
+                if (trace != null) {
+                    synchronized (trace) {
+                        traceSpans.addAll(trace.spans());
+                    }
+                }
+                traceSpans.add(span);
+                if (keep(span, traceSpans)) {
+                    kept.increment();
+                    export.addAll(traceSpans);
+                } else {
+                    dropped.increment();
+                }
+            } else {
+                buffer(span);
+            }
+        }
+        sweep();
+        return export.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(export);
+    }
+
+    public long kept() {
+        return kept.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private void buffer(SpanData span) {
+        PendingTrace trace = pending.get(span.getTraceId());
+        if (trace == null) {
+            if (pending.size() >= maxPendingTraces) {
+                dropped.increment();
+                return;
+            }
+            trace = pending.computeIfAbsent(span.getTraceId(), traceId -> new PendingTrace(new ArrayList<>(), System.nanoTime()));
+        }
+        synchronized (trace) {
+            trace.spans().add(span);
+        }
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        long sweepAt = nextSweep.get();
+        if (now - sweepAt < 0 || !nextSweep.compareAndSet(sweepAt, now + traceTimeout)) {
+            return;
+        }
+        pending.values().removeIf(trace -> {
+            boolean expired = now - trace.firstSeen() > traceTimeout;
+            if (expired) {
+                dropped.increment();
+            }
+            return expired;
+        });
+    }
+
+    private boolean keep(SpanData root, List<SpanData> spans) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= latencyThreshold) {
+            return true;
+        }
+        for (SpanData span : spans) {
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+                return true;
+            }
+        }
+        // The low half of the trace id is random, so the same trace is kept or dropped everywhere.
+        return (Long.parseUnsignedLong(root.getTraceId().substring(16), 16) >>> 1) < ratioBound;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.clear();
+        return delegate.shutdown();
+    }
+
+    private record PendingTrace(List<SpanData> spans, long firstSeen) {}
+}
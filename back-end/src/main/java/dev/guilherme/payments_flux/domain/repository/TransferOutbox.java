@@ -0,0 +1,84 @@
+package dev.guilherme.payments_flux.domain.repository;
+
+import dev.guilherme.payments_flux.core.configuration.TransferStorageProperties;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Durable hand-off between the wallet transaction and the time-series
+ * transfers collection, which MongoDB does not let transactions write to.
+ * The transfer is staged in a regular collection inside the transaction, so
+ * it commits or rolls back with the balances, and is moved to the time-series
+ * collection right after commit. A move that fails is retried by the relay
+ * until it succeeds.
+ * <p>
+ * Time-series collections do not enforce a unique {@code _id}, so a move
+ * first checks, by sender and time, whether an earlier attempt already
+ * inserted the transfer before its outbox row could be removed.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class TransferOutbox {
+
+    public static final String COLLECTION = "transfer_outbox";
+
+    private static final int RELAY_BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final TransferStorageProperties storageProperties;
+
+    void stage(Transfer transfer) {
+        mongoTemplate.insert(transfer, COLLECTION);
+    }
+
+    void publishAfterCommit(Transfer transfer) {
+        try {
+            publish(transfer);
+        } catch (RuntimeException ex) {
+            log.warn("Transfer {} committed but is still in the outbox, the relay will retry: {}",
+                    transfer.getId(), ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payments-flux.transfers.time-series.relay-interval:5s}")
+    public void relay() {
+        if (!storageProperties.timeSeries().enabled()) {
+            return;
+        }
+        // Rows younger than one interval are most likely still being published after commit.
+        LocalDateTime cutoff = LocalDateTime.now().minus(storageProperties.timeSeries().relayInterval());
+        List<Transfer> pending = mongoTemplate.find(
+                Query.query(Criteria.where("createdAt").lt(cutoff)).limit(RELAY_BATCH), Transfer.class, COLLECTION);
+        for (Transfer transfer : pending) {
+            try {
+                publish(transfer);
+            } catch (RuntimeException ex) {
+                log.warn("Could not relay transfer {} from the outbox: {}", transfer.getId(), ex.getMessage());
+                return;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Relayed {} transfers from the outbox", pending.size());
+        }
+    }
+
+    private void publish(Transfer transfer) {
+        boolean recorded = mongoTemplate.exists(Query.query(Criteria.where("senderId").is(transfer.getSenderId())
+                .and("createdAt").is(transfer.getCreatedAt())
+                .and("_id").is(transfer.getId())), Transfer.class);
+        if (!recorded) {
+            mongoTemplate.insert(transfer);
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(transfer.getId())), COLLECTION);
+    }
+}
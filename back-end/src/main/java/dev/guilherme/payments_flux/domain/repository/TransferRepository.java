@@ -8,10 +8,13 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransferRepository extends MongoRepository<Transfer, String> {
+public interface TransferRepository extends MongoRepository<Transfer, String>, TransferWriteRepository {
 
     @Query(value = "{ 'senderId' : ?0 }")
     List<Transfer> findTransferBySenderId(String id);
@@ -19,6 +22,14 @@ public interface TransferRepository extends MongoRepository<Transfer, String> {
     @Query(value = "{ 'receiverId' : ?0 }")
     List<Transfer> findTransferByReceiverId(String id);
 
+    Optional<Transfer> findFirstByCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime cutoff);
+
+    @Query(value = "{ 'createdAt' : { $gte: ?0, $lt: ?1 } }", sort = "{ 'createdAt' : 1 }")
+    Stream<Transfer> streamByCreatedAtRange(LocalDateTime from, LocalDateTime to);
+
+    @Query(value = "{ 'createdAt' : { $gte: ?0, $lt: ?1 } }", delete = true)
+    long deleteByCreatedAtRange(LocalDateTime from, LocalDateTime to);
+
     @Aggregation(pipeline = { """
             { $match: {
                 createdAt: { $gte: ?0, $lte: ?1 },
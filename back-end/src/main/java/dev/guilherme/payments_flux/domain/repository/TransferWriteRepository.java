@@ -0,0 +1,12 @@
+package dev.guilherme.payments_flux.domain.repository;
+
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+
+import java.util.List;
+
+public interface TransferWriteRepository {
+
+    <S extends Transfer> S save(S transfer);
+
+    <S extends Transfer> List<S> saveAll(Iterable<S> transfers);
+}
@@ -0,0 +1,70 @@
+package dev.guilherme.payments_flux.domain.repository;
+
+import dev.guilherme.payments_flux.core.configuration.TransferStorageProperties;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MongoDB rejects writes to time-series collections inside a transaction, so in
+ * that mode a transfer saved in a transaction is staged in the
+ * {@link TransferOutbox} as part of it, and moved to the time-series
+ * collection once the wallet updates have committed. {@code saveAll} takes the
+ * same path for every transfer.
+ */
+@AllArgsConstructor
+public class TransferWriteRepositoryImpl implements TransferWriteRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final TransferStorageProperties storageProperties;
+    private final TransferOutbox transferOutbox;
+
+    @Override
+    public <S extends Transfer> S save(S transfer) {
+        if (!storageProperties.timeSeries().enabled()) {
+            return transfer.getId() == null ? mongoTemplate.insert(transfer) : mongoTemplate.save(transfer);
+        }
+
+        if (transfer.getId() == null) {
+            transfer.setId(new ObjectId().toHexString());
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return mongoTemplate.insert(transfer);
+        }
+
+        transferOutbox.stage(transfer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                transferOutbox.publishAfterCommit(transfer);
+            }
+        });
+        return transfer;
+    }
+
+    @Override
+    public <S extends Transfer> List<S> saveAll(Iterable<S> transfers) {
+        List<S> saved = new ArrayList<>();
+        if (!storageProperties.timeSeries().enabled()) {
+            List<S> inserts = new ArrayList<>();
+            for (S transfer : transfers) {
+                if (transfer.getId() == null) {
+                    inserts.add(transfer);
+                } else {
+                    saved.add(mongoTemplate.save(transfer));
+                }
+            }
+            saved.addAll(mongoTemplate.insertAll(inserts));
+            return saved;
+        }
+        transfers.forEach(transfer -> saved.add(save(transfer)));
+        return saved;
+    }
+}
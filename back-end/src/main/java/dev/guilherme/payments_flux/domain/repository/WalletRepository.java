@@ -2,10 +2,16 @@ package dev.guilherme.payments_flux.domain.repository;
 
 import dev.guilherme.payments_flux.domain.entity.Wallet;
 import dev.guilherme.payments_flux.domain.projections.WalletBalanceProjection;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceVersionProjection;
+import dev.guilherme.payments_flux.domain.projections.WalletIdBalanceProjection;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +19,17 @@ public interface WalletRepository extends MongoRepository<Wallet, String> {
 
     @Query(value = "{ '_id' : ?0 }", fields = "{ 'balance' : 1, '_id' : 0 }")
     Optional<WalletBalanceProjection> findBalanceById(String id);
+
+    @Query(value = "{ '_id' : { $in : ?0 } }", fields = "{ 'balance' : 1 }")
+    List<WalletIdBalanceProjection> findBalanceByIdIn(Collection<String> ids);
+
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'balance' : 1, 'version' : 1 }")
+    Optional<WalletBalanceVersionProjection> findBalanceVersionById(String id);
+
+    @Query(value = "{ '_id' : { $in : ?0 } }", fields = "{ 'balance' : 1, 'version' : 1 }")
+    List<WalletBalanceVersionProjection> findBalanceVersionByIdIn(Collection<String> ids);
+
+    @Query("{ '_id' : ?0, 'version' : ?1 }")
+    @Update("{ '$set' : { 'balance' : ?2 }, '$inc' : { 'version' : 1 } }")
+    long updateBalance(String id, long version, BigDecimal balance);
 }
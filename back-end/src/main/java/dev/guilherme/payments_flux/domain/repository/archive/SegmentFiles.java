@@ -0,0 +1,259 @@
+package dev.guilherme.payments_flux.domain.repository.archive;
+
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Segment layout: {@code <yyyy>/<MM>/<day>.<millis>.seg} holds independently
+ * GZIP-compressed blocks of transfers; the matching {@code .idx} file holds the
+ * sparse {@link SegmentIndex}. The index is written last, so a segment without
+ * one is an interrupted write and is ignored. Version 1 indexes carry no
+ * segment-level time range or wallet filter; they are derived on load from the
+ * day and the block filters.
+ */
+final class SegmentFiles {
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x54524653;
+    private static final int VERSION = 2;
+
+    private SegmentFiles() {
+    }
+
+    static Optional<SegmentIndex> write(Path directory, LocalDate day, Iterator<Transfer> transfers, int blockSize)
+            throws IOException {
+        Path partition = directory
+                .resolve(String.format("%04d", day.getYear()))
+                .resolve(String.format("%02d", day.getMonthValue()));
+        Files.createDirectories(partition);
+
+        String name = day + "." + System.currentTimeMillis();
+        Path segment = partition.resolve(name + SEGMENT_SUFFIX);
+        Path segmentTmp = partition.resolve(name + SEGMENT_SUFFIX + ".tmp");
+
+        List<SegmentIndex.Block> blocks = new ArrayList<>();
+        Set<String> wallets = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        try (FileChannel channel = FileChannel.open(segmentTmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            BlockBuffer buffer = new BlockBuffer(blockSize);
+            while (transfers.hasNext()) {
+                Transfer transfer = transfers.next();
+                buffer.add(transfer);
+                wallets.add(transfer.getSenderId());
+                wallets.add(transfer.getReceiverId());
+                from = (from == null || transfer.getCreatedAt().isBefore(from)) ? transfer.getCreatedAt() : from;
+                to = (to == null || transfer.getCreatedAt().isAfter(to)) ? transfer.getCreatedAt() : to;
+                if (buffer.records == blockSize) {
+                    blocks.add(buffer.flush(channel));
+                }
+            }
+            if (buffer.records > 0) {
+                blocks.add(buffer.flush(channel));
+            }
+            channel.force(true);
+        }
+
+        if (blocks.isEmpty()) {
+            Files.delete(segmentTmp);
+            return Optional.empty();
+        }
+
+        Files.move(segmentTmp, segment, StandardCopyOption.ATOMIC_MOVE);
+        WalletBloomFilter segmentWallets = new WalletBloomFilter(wallets.size());
+        wallets.forEach(segmentWallets::add);
+        SegmentIndex index = new SegmentIndex(day, segment, from, to, segmentWallets.words(), List.copyOf(blocks));
+        writeIndex(partition.resolve(name + INDEX_SUFFIX), index);
+        return Optional.of(index);
+    }
+
+    static SegmentIndex readIndex(Path indexFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Unsupported segment index " + indexFile);
+            }
+            LocalDate day = LocalDate.parse(in.readUTF());
+            LocalDateTime from = day.atStartOfDay();
+            LocalDateTime to = day.plusDays(1).atStartOfDay();
+            long[] wallets = null;
+            if (version == VERSION) {
+                from = readDateTime(in);
+                to = readDateTime(in);
+                wallets = readWords(in);
+            }
+            int count = in.readInt();
+            List<SegmentIndex.Block> blocks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long offset = in.readLong();
+                int length = in.readInt();
+                int records = in.readInt();
+                String minId = in.readUTF();
+                String maxId = in.readUTF();
+                blocks.add(new SegmentIndex.Block(offset, length, records, minId, maxId, readWords(in)));
+            }
+            if (wallets == null) {
+                wallets = union(blocks);
+            }
+            String file = indexFile.getFileName().toString();
+            Path segment = indexFile.resolveSibling(
+                    file.substring(0, file.length() - INDEX_SUFFIX.length()) + SEGMENT_SUFFIX);
+            return new SegmentIndex(day, segment, from, to, wallets, List.copyOf(blocks));
+        }
+    }
+
+    static List<Transfer> readBlock(Path segment, SegmentIndex.Block block) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(block.length());
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            while (compressed.hasRemaining()) {
+                if (channel.read(compressed, block.offset() + compressed.position()) < 0) {
+                    throw new EOFException("Truncated block in " + segment);
+                }
+            }
+        }
+
+        List<Transfer> transfers = new ArrayList<>(block.records());
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(
+                new ByteArrayInputStream(compressed.array())))) {
+            for (int i = 0; i < block.records(); i++) {
+                transfers.add(new Transfer(
+                        in.readUTF(),
+                        in.readUTF(),
+                        in.readUTF(),
+                        new BigDecimal(in.readUTF()),
+                        LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)));
+            }
+        }
+        return transfers;
+    }
+
+    private static void writeIndex(Path indexFile, SegmentIndex index) throws IOException {
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(index.day().toString());
+            writeDateTime(out, index.from());
+            writeDateTime(out, index.to());
+            writeWords(out, index.wallets());
+            out.writeInt(index.blocks().size());
+            for (SegmentIndex.Block block : index.blocks()) {
+                out.writeLong(block.offset());
+                out.writeInt(block.length());
+                out.writeInt(block.records());
+                out.writeUTF(block.minId());
+                out.writeUTF(block.maxId());
+                writeWords(out, block.wallets());
+            }
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(tmp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long[] union(List<SegmentIndex.Block> blocks) {
+        long[] words = new long[blocks.getFirst().wallets().length];
+        for (SegmentIndex.Block block : blocks) {
+            for (int w = 0; w < words.length; w++) {
+                words[w] |= block.wallets()[w];
+            }
+        }
+        return words;
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static long[] readWords(DataInputStream in) throws IOException {
+        long[] words = new long[in.readInt()];
+        for (int w = 0; w < words.length; w++) {
+            words[w] = in.readLong();
+        }
+        return words;
+    }
+
+    private static void writeWords(DataOutputStream out, long[] words) throws IOException {
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    private static final class BlockBuffer {
+
+        private final int blockSize;
+        private final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(raw);
+        private WalletBloomFilter wallets;
+        private String minId;
+        private String maxId;
+        private int records;
+
+        private BlockBuffer(int blockSize) {
+            this.blockSize = blockSize;
+            this.wallets = new WalletBloomFilter(blockSize * 2);
+        }
+
+        private void add(Transfer transfer) throws IOException {
+            String id = transfer.getId();
+            out.writeUTF(id);
+            out.writeUTF(transfer.getSenderId());
+            out.writeUTF(transfer.getReceiverId());
+            out.writeUTF(transfer.getAmount().toPlainString());
+            out.writeLong(transfer.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(transfer.getCreatedAt().getNano());
+
+            wallets.add(transfer.getSenderId());
+            wallets.add(transfer.getReceiverId());
+            minId = (minId == null || id.compareTo(minId) < 0) ? id : minId;
+            maxId = (maxId == null || id.compareTo(maxId) > 0) ? id : maxId;
+            records++;
+        }
+
+        private SegmentIndex.Block flush(FileChannel channel) throws IOException {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 3);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                raw.writeTo(gzip);
+            }
+
+            long offset = channel.position();
+            ByteBuffer bytes = ByteBuffer.wrap(compressed.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+
+            SegmentIndex.Block block = new SegmentIndex.Block(
+                    offset, compressed.size(), records, minId, maxId, wallets.words());
+
+            raw.reset();
+            wallets = new WalletBloomFilter(blockSize * 2);
+            minId = null;
+            maxId = null;
+            records = 0;
+            return block;
+        }
+    }
+}
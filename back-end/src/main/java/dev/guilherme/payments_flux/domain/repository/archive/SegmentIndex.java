@@ -0,0 +1,52 @@
+package dev.guilherme.payments_flux.domain.repository.archive;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sparse index of one archived segment: the time range and a Bloom filter of
+ * the wallets of the whole segment, so lookups can skip it without touching
+ * its blocks, and one entry per compressed block holding the block's id range
+ * and a Bloom filter of the wallets it touches.
+ */
+public record SegmentIndex(
+        LocalDate day,
+        Path segment,
+        LocalDateTime from,
+        LocalDateTime to,
+        long[] wallets,
+        List<Block> blocks
+) {
+
+    public record Block(
+            long offset,
+            int length,
+            int records,
+            String minId,
+            String maxId,
+            long[] wallets
+    ) {
+
+        boolean mayContainId(String id) {
+            return minId.compareTo(id) <= 0 && maxId.compareTo(id) >= 0;
+        }
+
+        boolean mayContainWallet(String walletId) {
+            return new WalletBloomFilter(wallets).mightContain(walletId);
+        }
+    }
+
+    public int records() {
+        return blocks.stream().mapToInt(Block::records).sum();
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return !from.isAfter(end) && !to.isBefore(start);
+    }
+
+    boolean mayContainWallet(String walletId) {
+        return new WalletBloomFilter(wallets).mightContain(walletId);
+    }
+}
@@ -0,0 +1,141 @@
+package dev.guilherme.payments_flux.domain.repository.archive;
+
+import dev.guilherme.payments_flux.core.configuration.TransferStorageProperties;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier for transfers past the hot retention window. Segment indexes are
+ * loaded once and kept in memory. A lookup first skips the segments whose time
+ * range or wallet filter rules them out, then decompresses only the blocks of
+ * the remaining segments whose sparse index entry may hold the id or wallet.
+ */
+@Slf4j
+@Component
+public class TransferArchive {
+
+    private static final Duration ID_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final TransferStorageProperties.Archive properties;
+    private final ConcurrentSkipListMap<Path, SegmentIndex> segments = new ConcurrentSkipListMap<>();
+
+    public TransferArchive(TransferStorageProperties storageProperties) {
+        this.properties = storageProperties.archive();
+        if (properties.enabled()) {
+            load();
+        }
+    }
+
+    public Optional<Transfer> findById(String id) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+
+        for (SegmentIndex segment : candidatesFor(id)) {
+            for (SegmentIndex.Block block : segment.blocks()) {
+                if (!block.mayContainId(id)) {
+                    continue;
+                }
+                Optional<Transfer> match = read(segment, block).stream()
+                        .filter(transfer -> transfer.getId().equals(id))
+                        .findFirst();
+                if (match.isPresent()) {
+                    return match;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<Transfer> findBySender(String walletId) {
+        return findByWallet(walletId, transfer -> walletId.equals(transfer.getSenderId()));
+    }
+
+    public List<Transfer> findByReceiver(String walletId) {
+        return findByWallet(walletId, transfer -> walletId.equals(transfer.getReceiverId()));
+    }
+
+    public Optional<SegmentIndex> append(LocalDate day, Iterator<Transfer> transfers) throws IOException {
+        Optional<SegmentIndex> written = SegmentFiles.write(properties.directory(), day, transfers, properties.blockSize());
+        written.ifPresent(index -> segments.put(index.segment(), index));
+        return written;
+    }
+
+    private List<Transfer> findByWallet(String walletId, Predicate<Transfer> filter) {
+        if (!properties.enabled()) {
+            return List.of();
+        }
+
+        List<Transfer> transfers = new ArrayList<>();
+        for (SegmentIndex segment : segments.values()) {
+            if (!segment.mayContainWallet(walletId)) {
+                continue;
+            }
+            for (SegmentIndex.Block block : segment.blocks()) {
+                if (block.mayContainWallet(walletId)) {
+                    read(segment, block).stream().filter(filter).forEach(transfers::add);
+                }
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * ObjectIds carry their creation second, which is within a few moments of
+     * the transfer's {@code createdAt}, so only segments whose time range covers
+     * it are searched; other ids scan every segment.
+     */
+    private Collection<SegmentIndex> candidatesFor(String id) {
+        if (!ObjectId.isValid(id)) {
+            return segments.values();
+        }
+        LocalDateTime created = LocalDateTime.ofInstant(new ObjectId(id).getDate().toInstant(), ZoneId.systemDefault());
+        return segments.values().stream()
+                .filter(segment -> segment.overlaps(created.minus(ID_CLOCK_SKEW), created.plus(ID_CLOCK_SKEW)))
+                .toList();
+    }
+
+    private List<Transfer> read(SegmentIndex segment, SegmentIndex.Block block) {
+        try {
+            return SegmentFiles.readBlock(segment.segment(), block);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read archived block from " + segment.segment(), ex);
+        }
+    }
+
+    private void load() {
+        Path directory = properties.directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(SegmentFiles.INDEX_SUFFIX))
+                    .forEach(file -> {
+                        try {
+                            SegmentIndex index = SegmentFiles.readIndex(file);
+                            segments.put(index.segment(), index);
+                        } catch (IOException ex) {
+                            log.warn("Skipping unreadable segment index {}", file, ex);
+                        }
+                    });
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not load transfer archive from " + directory, ex);
+        }
+        log.info("Loaded {} archived transfer segments from {}", segments.size(), directory);
+    }
+}
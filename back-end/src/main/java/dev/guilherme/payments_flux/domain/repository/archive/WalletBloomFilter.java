@@ -0,0 +1,61 @@
+package dev.guilherme.payments_flux.domain.repository.archive;
+
+/**
+ * Fixed-size Bloom filter over the wallet ids of one segment block, sized for
+ * roughly 1% false positives at the configured block size.
+ */
+final class WalletBloomFilter {
+
+    private static final int HASHES = 7;
+
+    private final long[] words;
+
+    WalletBloomFilter(int expectedEntries) {
+        this(new long[Math.max(1, (expectedEntries * 10 + 63) / 64)]);
+    }
+
+    WalletBloomFilter(long[] words) {
+        this.words = words;
+    }
+
+    long[] words() {
+        return words;
+    }
+
+    void add(String walletId) {
+        long hash = hash(walletId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bits = words.length * 64L;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(String walletId) {
+        long hash = hash(walletId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bits = words.length * 64L;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
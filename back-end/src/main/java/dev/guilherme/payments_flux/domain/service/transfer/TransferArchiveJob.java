@@ -0,0 +1,69 @@
+package dev.guilherme.payments_flux.domain.service.transfer;
+
+import dev.guilherme.payments_flux.core.configuration.TransferStorageProperties;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import dev.guilherme.payments_flux.domain.repository.archive.SegmentIndex;
+import dev.guilherme.payments_flux.domain.repository.archive.TransferArchive;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Moves whole days older than the retention window from MongoDB into the
+ * {@link TransferArchive}, oldest day first. A day is deleted from MongoDB only
+ * after its segment is durable; a crash in between leaves the day in both
+ * tiers, and readers de-duplicate by id.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "payments-flux.transfers.archive", name = "enabled", havingValue = "true")
+public class TransferArchiveJob {
+
+    private final TransferRepository transferRepository;
+    private final TransferArchive transferArchive;
+    private final TransferStorageProperties storageProperties;
+
+    @Scheduled(fixedDelayString = "${payments-flux.transfers.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDate.now()
+                .minusDays(storageProperties.archive().retention().toDays())
+                .atStartOfDay();
+
+        Optional<Transfer> oldest;
+        while ((oldest = transferRepository.findFirstByCreatedAtBeforeOrderByCreatedAtAsc(cutoff)).isPresent()) {
+            if (archiveDay(oldest.get().getCreatedAt().toLocalDate()) == 0) {
+                break;
+            }
+        }
+    }
+
+    private long archiveDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+
+        Optional<SegmentIndex> segment;
+        try (Stream<Transfer> transfers = transferRepository.streamByCreatedAtRange(from, to)) {
+            segment = transferArchive.append(day, transfers.iterator());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not archive transfers of " + day, ex);
+        }
+
+        long archived = segment.map(SegmentIndex::records).orElse(0);
+        long deleted = transferRepository.deleteByCreatedAtRange(from, to);
+        if (deleted != archived) {
+            log.warn("Archived {} transfers of {} but deleted {} from MongoDB", archived, day, deleted);
+        }
+        log.info("Archived {} transfers of {}", archived, day);
+        return deleted;
+    }
+}
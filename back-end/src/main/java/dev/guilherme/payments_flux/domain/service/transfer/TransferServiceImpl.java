@@ -3,24 +3,35 @@ package dev.guilherme.payments_flux.domain.service.transfer;
 import dev.guilherme.payments_flux.api.dto.TransferDTO;
 import dev.guilherme.payments_flux.api.exception.BusinessException;
 import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
+import dev.guilherme.payments_flux.api.exception.WalletConflictException;
 import dev.guilherme.payments_flux.api.mapper.TransferMapper;
 import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import dev.guilherme.payments_flux.core.jfr.OperationTimeline;
 import dev.guilherme.payments_flux.domain.entity.Transfer;
-import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceVersionProjection;
 import dev.guilherme.payments_flux.domain.repository.TransferRepository;
 import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import dev.guilherme.payments_flux.domain.repository.archive.TransferArchive;
+import dev.guilherme.payments_flux.domain.service.wallet.BalanceChangedEvent;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
@@ -29,34 +40,67 @@ public class  TransferServiceImpl implements TransferService {
     private final TransferRepository transferRepository;
     private final WalletRepository walletRepository;
     private final TransferMapper transferMapper;
+    private final TransferArchive transferArchive;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @CachePut(value = CacheNames.TRANSFER, key = "#result.id()")
-    @CacheEvict(value = CacheNames.BALANCE, key = "#transferDTO.senderId() + ',' + #transferDTO.receiverId()")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.BALANCE, key = "#transferDTO.senderId()"),
+            @CacheEvict(value = CacheNames.BALANCE, key = "#transferDTO.receiverId()")
+    })
     @Transactional
     public TransferDTO.Response create(TransferDTO.CreateRequest transferDTO) {
-        Wallet receiver = walletRepository.findById(transferDTO.receiverId()).orElseThrow(
-                () -> new ResourceNotFoundException("Wallet receiver with id %d not found.", transferDTO.receiverId()));
-        Wallet sender = walletRepository.findById(transferDTO.senderId()).orElseThrow(
-                () -> new ResourceNotFoundException("Wallet sender with id %d not found.", transferDTO.senderId()));
+        WalletBalanceVersionProjection sender;
+        WalletBalanceVersionProjection receiver;
+        BigDecimal senderBalance;
+        BigDecimal receiverBalance;
+        Transfer newTransfer;
 
-        if (sender.getId().equals(receiver.getId())) {
-            throw new BusinessException("The transferency is not be finished.");
-        }
+        try (OperationTimeline timeline = OperationTimeline.start(
+                OperationTimeline.Operation.TRANSFER, transferDTO.senderId(), transferDTO.receiverId())) {
+            timeline.phase(OperationTimeline.Phase.LOOKUP);
+            Map<String, WalletBalanceVersionProjection> wallets = walletRepository
+                    .findBalanceVersionByIdIn(List.of(transferDTO.senderId(), transferDTO.receiverId()))
+                    .stream()
+                    .collect(Collectors.toMap(WalletBalanceVersionProjection::id, Function.identity()));
+
+            timeline.phase(OperationTimeline.Phase.VALIDATE);
+            receiver = Optional.ofNullable(wallets.get(transferDTO.receiverId())).orElseThrow(
+                    () -> new ResourceNotFoundException("Wallet receiver with id %d not found.", transferDTO.receiverId()));
+            sender = Optional.ofNullable(wallets.get(transferDTO.senderId())).orElseThrow(
+                    () -> new ResourceNotFoundException("Wallet sender with id %d not found.", transferDTO.senderId()));
+
+            if (sender.id().equals(receiver.id())) {
+                throw BusinessException.SAME_WALLET;
+            }
 
-        if (sender.getBalance().compareTo(transferDTO.amount()) >= 0) {
-            sender.setBalance(sender.getBalance().subtract(transferDTO.amount()));
-            receiver.setBalance(receiver.getBalance().add(transferDTO.amount()));
-            walletRepository.saveAll(List.of(sender, receiver));
-        } else {
-            throw new BusinessException("Insufficient balance for transfer.");
+            if (sender.balance().compareTo(transferDTO.amount()) < 0) {
+                throw BusinessException.INSUFFICIENT_BALANCE;
+            }
+            senderBalance = sender.balance().subtract(transferDTO.amount());
+            receiverBalance = receiver.balance().add(transferDTO.amount());
+
+            timeline.phase(OperationTimeline.Phase.DEBIT);
+            updateBalance(sender, senderBalance);
+            timeline.phase(OperationTimeline.Phase.CREDIT);
+            updateBalance(receiver, receiverBalance);
+
+            timeline.phase(OperationTimeline.Phase.INSERT);
+            newTransfer = transferMapper.toEntity(transferDTO);
+            newTransfer.setSenderId(sender.id());
+            newTransfer.setReceiverId(receiver.id());
+            newTransfer.setCreatedAt(LocalDateTime.now());
+            transferRepository.save(newTransfer);
         }
 
-        Transfer newTransfer = transferMapper.toEntity(transferDTO);
-        newTransfer.setSenderId(sender.getId());
-        newTransfer.setReceiverId(receiver.getId());
-        newTransfer.setCreatedAt(LocalDateTime.now());
-        transferRepository.save(newTransfer);
+        // Delivered after commit, so a rolled-back transfer never reaches a stream.
+        eventPublisher.publishEvent(new BalanceChangedEvent(
+                sender.id(), senderBalance, sender.version() + 1, BalanceChangedEvent.Cause.TRANSFER_OUT,
+                newTransfer.getId()));
+        eventPublisher.publishEvent(new BalanceChangedEvent(
+                receiver.id(), receiverBalance, receiver.version() + 1, BalanceChangedEvent.Cause.TRANSFER_IN,
+                newTransfer.getId()));
 
         return transferMapper.toResponse(newTransfer);
     }
@@ -65,6 +109,7 @@ public class  TransferServiceImpl implements TransferService {
     @Cacheable(value = CacheNames.TRANSFER, key = "#id")
     public TransferDTO.Response findById(String id) {
         Transfer transfer = transferRepository.findById(id)
+            .or(() -> transferArchive.findById(id))
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found", id));
         return transferMapper.toResponse(transfer);
     }
@@ -77,14 +122,16 @@ public class  TransferServiceImpl implements TransferService {
     @Override
     @Cacheable(value = CacheNames.TRANSFER, key = "'sender:' + #id")
     public List<TransferDTO.Response> findBySender(String id) {
-        List<Transfer> transferBySenderId = transferRepository.findTransferBySenderId(id);
+        List<Transfer> transferBySenderId = withArchived(
+                transferRepository.findTransferBySenderId(id), transferArchive.findBySender(id));
         return transferBySenderId.stream().map(transferMapper::toResponse).toList();
     }
 
     @Override
     @Cacheable(value = CacheNames.TRANSFER, key = "'receiver:' + #id")
     public List<TransferDTO.Response> findByReceiver(String id) {
-        List<Transfer> transferByReceiverId = transferRepository.findTransferByReceiverId(id);
+        List<Transfer> transferByReceiverId = withArchived(
+                transferRepository.findTransferByReceiverId(id), transferArchive.findByReceiver(id));
         return transferByReceiverId.stream().map(transferMapper::toResponse).toList();
     }
 
@@ -92,4 +139,20 @@ public class  TransferServiceImpl implements TransferService {
     public List<TransferDTO.FinancialSummary> getFinancialSummary(TransferDTO.FinancialSummaryRequest request) {
         return transferRepository.getFinancialSummary(request.startDate(), request.endDate());
     }
+
+    private void updateBalance(WalletBalanceVersionProjection wallet, BigDecimal balance) {
+        if (walletRepository.updateBalance(wallet.id(), wallet.version(), balance) != 1) {
+            throw new WalletConflictException(wallet.id());
+        }
+    }
+
+    private List<Transfer> withArchived(List<Transfer> hot, List<Transfer> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<String, Transfer> byId = new LinkedHashMap<>();
+        hot.forEach(transfer -> byId.put(transfer.getId(), transfer));
+        archived.forEach(transfer -> byId.putIfAbsent(transfer.getId(), transfer));
+        return List.copyOf(byId.values());
+    }
 }
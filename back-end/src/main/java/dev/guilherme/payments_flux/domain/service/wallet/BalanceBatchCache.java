@@ -0,0 +1,133 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.core.cache.CacheMeters;
+import dev.guilherme.payments_flux.core.cache.ResilientCacheManager;
+import dev.guilherme.payments_flux.core.configuration.RedisConfig;
+import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk access to the {@code balance-cache} entries that {@code @Cacheable}
+ * reads one at a time: a single MGET for lookups and a single pipeline for
+ * back-fills. It follows the same rules as the single-key path: while Redis is
+ * bypassed, lookups and back-fills go to the local fallback cache, and keys
+ * with a pending eviction are evicted from Redis before the MGET. Hits and
+ * misses count into the same cache statistics.
+ */
+@Component
+public class BalanceBatchCache {
+
+    private final RedisTemplate<String, BigDecimal> balanceRedisTemplate;
+    private final CacheManager cacheManager;
+    private final ResilientCacheManager resilient;
+    private final CacheMeters meters;
+    private final String prefix = CacheKeyPrefix.simple().compute(CacheNames.BALANCE);
+
+    public BalanceBatchCache(@Qualifier("balanceRedisTemplate") RedisTemplate<String, BigDecimal> balanceRedisTemplate,
+                             CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.balanceRedisTemplate = balanceRedisTemplate;
+        this.cacheManager = cacheManager;
+        this.resilient = cacheManager instanceof ResilientCacheManager manager ? manager : null;
+        this.meters = CacheMeters.of(CacheNames.BALANCE, meterRegistry);
+    }
+
+    public Map<String, BigDecimal> getAll(List<String> ids) {
+        Map<String, BigDecimal> hits = new HashMap<>();
+        if (ids.isEmpty()) {
+            return hits;
+        }
+        if (bypassed()) {
+            Cache fallback = cacheManager.getCache(CacheNames.BALANCE);
+            for (String id : ids) {
+                BigDecimal balance = fallback.get(id, BigDecimal.class);
+                if (balance != null) {
+                    hits.put(id, balance);
+                }
+            }
+            return hits;
+        }
+
+        List<String> keys = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            keys.add(prefix + id);
+        }
+        long start = System.nanoTime();
+        try {
+            if (resilient != null) {
+                resilient.evictPending(CacheNames.BALANCE, ids);
+            }
+            List<BigDecimal> values = balanceRedisTemplate.opsForValue().multiGet(keys);
+            succeeded(start);
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    hits.put(ids.get(i), values.get(i));
+                }
+            }
+        } catch (DataAccessException ex) {
+            failed();
+        }
+        meters.hits().increment(hits.size());
+        meters.misses().increment(ids.size() - hits.size());
+        return hits;
+    }
+
+    public void putAll(Map<String, BigDecimal> balances) {
+        if (balances.isEmpty()) {
+            return;
+        }
+        if (bypassed()) {
+            Cache fallback = cacheManager.getCache(CacheNames.BALANCE);
+            balances.forEach(fallback::put);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            balanceRedisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, BigDecimal> redis = (RedisOperations<String, BigDecimal>) operations;
+                    balances.forEach((id, balance) ->
+                            redis.opsForValue().set(prefix + id, balance, RedisConfig.BALANCE_TTL));
+                    return null;
+                }
+            });
+            succeeded(start);
+            meters.puts().increment(balances.size());
+        } catch (DataAccessException ex) {
+            failed();
+        }
+    }
+
+    private boolean bypassed() {
+        return resilient != null && resilient.breaker().isOpen();
+    }
+
+    private void succeeded(long start) {
+        if (resilient != null) {
+            resilient.breaker().onSuccess(System.nanoTime() - start);
+        }
+    }
+
+    private void failed() {
+        if (resilient != null) {
+            resilient.breaker().onFailure();
+        }
+    }
+}
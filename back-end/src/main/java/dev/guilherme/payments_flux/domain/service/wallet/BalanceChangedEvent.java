@@ -0,0 +1,27 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import java.math.BigDecimal;
+
+/**
+ * A wallet balance after a write. Events carry the absolute balance rather
+ * than a delta, so a client that misses some of them still converges on the
+ * right value with the next one it receives.
+ *
+ * @param version    the wallet {@code @Version} the balance was written with,
+ *                   which orders events that reach a stream out of commit order
+ * @param transferId the transfer that moved the money, for the transfer causes
+ */
+public record BalanceChangedEvent(String walletId, BigDecimal balance, long version, Cause cause, String transferId) {
+
+    public enum Cause {
+        SNAPSHOT,
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER_IN,
+        TRANSFER_OUT
+    }
+
+    public static BalanceChangedEvent of(String walletId, BigDecimal balance, long version, Cause cause) {
+        return new BalanceChangedEvent(walletId, balance, version, cause, null);
+    }
+}
@@ -0,0 +1,311 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.exception.OverloadedException;
+import dev.guilherme.payments_flux.core.configuration.ExecutorConfig;
+import dev.guilherme.payments_flux.core.configuration.WalletEventsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fans balance changes out to Server-Sent Events streams, one channel per
+ * watched wallet. Each event is serialized once into a frame shared by every
+ * subscriber; a subscriber queues frames and drains them on a virtual thread
+ * only while it has something to write, so thousands of idle streams cost a
+ * queue each and no thread. A client that falls too far behind is closed and
+ * resumes with {@code Last-Event-ID}.
+ * <p>
+ * Event ids are instance-wide and seeded from the clock, so they keep growing
+ * across restarts. A channel keeps its last events for a while after its last
+ * subscriber leaves, which is what a reconnect replays from; anything older,
+ * or an id this instance never issued, gets a fresh snapshot instead. Streams
+ * are per instance: writes are only seen by subscribers of the instance that
+ * served them.
+ * <p>
+ * After-commit listeners of concurrent writes can run out of commit order, so
+ * a channel drops any event at or below the wallet version it last sent, and a
+ * new subscriber skips events its snapshot already covers.
+ */
+@Slf4j
+@Component
+public class BalanceEventHub {
+
+    static final String EVENT_NAME = "balance";
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event()
+            .comment("heartbeat")
+            .build();
+
+    private final WalletEventsProperties properties;
+    private final Executor executor;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1_000);
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Counter dropped;
+
+    public BalanceEventHub(WalletEventsProperties properties,
+                           @Qualifier(ExecutorConfig.WALLET_EVENTS_EXECUTOR) Executor executor,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("wallet.events.dropped").register(meterRegistry);
+        Gauge.builder("wallet.events.subscribers", openStreams, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("wallet.events.channels", channels, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the wallet. With a {@code lastEventId} this instance
+     * can still replay from, the stream starts with the missed events; otherwise
+     * it starts with the snapshot, which must be read from the store rather
+     * than a cache so its version can be trusted.
+     */
+    public SseEmitter subscribe(String walletId, Long lastEventId, Supplier<BalanceChangedEvent> snapshot) {
+        if (openStreams.incrementAndGet() > properties.maxSubscribers()) {
+            openStreams.decrementAndGet();
+            throw new OverloadedException("Too many open event streams, please retry.", properties.reconnect());
+        }
+
+        try {
+            Channel channel = channels.computeIfAbsent(walletId, id -> new Channel(sequence.get()));
+            long mark = sequence.get();
+            BalanceChangedEvent current = channel.canReplayFrom(lastEventId, mark) ? null : snapshot.get();
+            Set<ResponseBodyEmitter.DataWithMediaType> snapshotFrame = current != null ? frame(mark, current) : null;
+
+            SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+            Subscriber subscriber = new Subscriber(walletId, emitter, current != null ? current.version() : -1);
+            emitter.onCompletion(subscriber::detach);
+            emitter.onTimeout(subscriber::detach);
+            emitter.onError(error -> subscriber.detach());
+
+            channels.compute(walletId, (id, existing) -> {
+                Channel target = existing != null ? existing : channel;
+                target.attach(subscriber, snapshotFrame, snapshotFrame != null ? mark : lastEventId);
+                return target;
+            });
+            return emitter;
+        } catch (RuntimeException ex) {
+            openStreams.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        channels.computeIfPresent(event.walletId(), (id, channel) -> {
+            channel.publish(sequence.incrementAndGet(), event);
+            return channel;
+        });
+    }
+
+    /**
+     * Sends a comment frame to every stream, which keeps idle connections open
+     * through proxies and surfaces dead clients, and drops the replay buffers of
+     * wallets nobody has watched for longer than the retention.
+     */
+    @Scheduled(fixedDelayString = "${payments-flux.wallet-events.heartbeat:15s}")
+    public void heartbeat() {
+        long cutoff = System.nanoTime() - properties.retention().toNanos();
+        for (String walletId : channels.keySet()) {
+            channels.computeIfPresent(walletId, (id, channel) -> {
+                if (channel.idleSince(cutoff)) {
+                    return null;
+                }
+                channel.heartbeat();
+                return channel;
+            });
+        }
+    }
+
+    public int subscriberCount() {
+        return openStreams.get();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(long id, BalanceChangedEvent event) {
+        return SseEmitter.event()
+                .id(Long.toString(id))
+                .name(EVENT_NAME)
+                .reconnectTime(properties.reconnect().toMillis())
+                .data(objectMapper.writeValueAsString(event))
+                .build();
+    }
+
+    private record Entry(long id, Set<ResponseBodyEmitter.DataWithMediaType> frame, long version) {}
+
+    /**
+     * Subscribers and replay buffer of one wallet. Every method runs inside a
+     * {@code channels} compute for the wallet, so publishing, attaching and
+     * removal are serialized per wallet and a new subscriber never sees an
+     * event both replayed and live.
+     */
+    private final class Channel {
+
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private final ArrayDeque<Entry> history = new ArrayDeque<>();
+        private long floor;
+        private long version = -1;
+        private long lastActive = System.nanoTime();
+
+        private Channel(long floor) {
+            this.floor = floor;
+        }
+
+        boolean canReplayFrom(Long lastEventId, long current) {
+            return lastEventId != null && lastEventId >= floor && lastEventId <= current;
+        }
+
+        void attach(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> snapshot, long after) {
+            if (snapshot != null) {
+                subscriber.offer(snapshot);
+            }
+            for (Entry entry : history) {
+                if (entry.id() > after && entry.version() > subscriber.snapshotVersion) {
+                    subscriber.offer(entry.frame());
+                }
+            }
+            subscribers.add(subscriber);
+            lastActive = System.nanoTime();
+        }
+
+        void detach(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            lastActive = System.nanoTime();
+        }
+
+        void publish(long id, BalanceChangedEvent event) {
+            if (event.version() <= version) {
+                log.debug("Dropping a stale balance event of wallet {}: version {} after {}",
+                        event.walletId(), event.version(), version);
+                return;
+            }
+            version = event.version();
+            Entry entry = new Entry(id, frame(id, event), event.version());
+            history.addLast(entry);
+            if (history.size() > properties.replaySize()) {
+                floor = history.removeFirst().id();
+            }
+            for (Subscriber subscriber : List.copyOf(subscribers)) {
+                if (entry.version() > subscriber.snapshotVersion) {
+                    subscriber.offer(entry.frame());
+                }
+            }
+        }
+
+        void heartbeat() {
+            for (Subscriber subscriber : List.copyOf(subscribers)) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+
+        boolean idleSince(long cutoff) {
+            return subscribers.isEmpty() && lastActive - cutoff < 0;
+        }
+    }
+
+    /**
+     * One open stream. Frames are queued by the channel and written by a single
+     * drain task at a time, which keeps them in order without holding a lock
+     * across a socket write.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final String walletId;
+        private final SseEmitter emitter;
+        private final long snapshotVersion;
+        private final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(String walletId, SseEmitter emitter, long snapshotVersion) {
+            this.walletId = walletId;
+            this.emitter = emitter;
+            this.snapshotVersion = snapshotVersion;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (pending.incrementAndGet() > properties.subscriberBuffer()) {
+                dropped.increment();
+                log.debug("Closing the event stream of wallet {}: the client is {} frames behind",
+                        walletId, properties.subscriberBuffer());
+                close();
+                return;
+            }
+            queue.offer(frame);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while ((frame = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    if (closed.get()) {
+                        continue;
+                    }
+                    try {
+                        emitter.send(frame);
+                    } catch (IOException | IllegalStateException ex) {
+                        detach();
+                    }
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * Ends a stream that fell behind. It is called from inside a channel
+         * compute, so leaving the channel is handed off to the executor.
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+                executor.execute(this::release);
+            }
+        }
+
+        void detach() {
+            if (closed.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            openStreams.decrementAndGet();
+            channels.computeIfPresent(walletId, (id, channel) -> {
+                channel.detach(this);
+                return channel;
+            });
+        }
+    }
+}
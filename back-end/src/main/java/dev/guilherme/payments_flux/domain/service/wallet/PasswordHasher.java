@@ -0,0 +1,133 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.exception.OverloadedException;
+import dev.guilherme.payments_flux.api.exception.ServiceException;
+import dev.guilherme.payments_flux.core.configuration.ExecutorConfig;
+import dev.guilherme.payments_flux.core.configuration.PasswordHashProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs every password hash on the dedicated hashing pool. Interactive callers
+ * are shed with an {@link OverloadedException} before anything is submitted
+ * once the queue is deeper than the configured limit, or once the work ahead of
+ * them, at the measured hash time, would not finish within the timeout. A
+ * running BCrypt hash cannot be interrupted, so shedding up front is what keeps
+ * an onboarding spike from burning CPU on hashes nobody waits for. Bulk callers
+ * wait for a slot instead of being shed.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final PasswordHashProperties properties;
+    private final Semaphore bulkPermits;
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+    private final Counter shedCounter;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier(ExecutorConfig.PASSWORD_HASH_EXECUTOR) ThreadPoolExecutor executor,
+                          PasswordHashProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.properties = properties;
+        this.bulkPermits = new Semaphore(properties.bulkInFlight());
+        this.hashTimer = Timer.builder("wallet.password.hash")
+                .description("Time spent computing a password hash")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("wallet.password.hash.queue.wait")
+                .description("Time a password hash waited for a hashing thread")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.shedCounter = Counter.builder("wallet.password.hash.shed")
+                .description("Password hashes rejected because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("wallet.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    public String hash(CharSequence rawPassword) {
+        if (executor.getQueue().size() >= properties.shedQueueDepth() || !finishesInTime()) {
+            throw shed();
+        }
+
+        Future<String> future;
+        try {
+            long enqueuedAt = System.nanoTime();
+            future = executor.submit(() -> encode(rawPassword, enqueuedAt));
+        } catch (RejectedExecutionException ex) {
+            throw shed();
+        }
+
+        try {
+            return future.get(properties.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            dropIfQueued(future);
+            throw shed();
+        } catch (InterruptedException ex) {
+            dropIfQueued(future);
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while hashing the password", ex);
+        } catch (ExecutionException ex) {
+            throw new ServiceException("Could not hash the password", ex.getCause());
+        }
+    }
+
+    public CompletableFuture<String> hashAsync(CharSequence rawPassword) {
+        bulkPermits.acquireUninterruptibly();
+        try {
+            long enqueuedAt = System.nanoTime();
+            return CompletableFuture.supplyAsync(() -> encode(rawPassword, enqueuedAt), executor)
+                    .whenComplete((hash, ex) -> bulkPermits.release());
+        } catch (RejectedExecutionException ex) {
+            bulkPermits.release();
+            throw shed();
+        }
+    }
+
+    private boolean finishesInTime() {
+        double hashNanos = hashTimer.mean(TimeUnit.NANOSECONDS);
+        int ahead = executor.getQueue().size() + executor.getActiveCount() + 1;
+        double expectedNanos = Math.ceil((double) ahead / executor.getMaximumPoolSize()) * hashNanos;
+        return expectedNanos <= properties.timeout().toNanos();
+    }
+
+    /**
+     * Cancelling only stops a hash that has not started; one already running
+     * completes on its thread regardless, so it is not interrupted.
+     */
+    private void dropIfQueued(Future<String> future) {
+        if (future.cancel(false)) {
+            executor.purge();
+        }
+    }
+
+    private String encode(CharSequence rawPassword, long enqueuedAt) {
+        queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        return hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private OverloadedException shed() {
+        shedCounter.increment();
+        return new OverloadedException("Wallet creation is temporarily overloaded, please retry.", properties.retryAfter());
+    }
+}
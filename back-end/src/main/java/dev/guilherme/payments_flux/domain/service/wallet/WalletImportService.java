@@ -0,0 +1,10 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+
+import java.io.InputStream;
+
+public interface WalletImportService {
+
+    WalletDTO.ImportResult importWallets(InputStream input, WalletDTO.ImportFormat format);
+}
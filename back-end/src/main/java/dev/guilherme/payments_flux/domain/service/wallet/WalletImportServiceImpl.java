@@ -0,0 +1,150 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import com.mongodb.bulk.BulkWriteError;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.api.exception.ServiceException;
+import dev.guilherme.payments_flux.api.mapper.WalletMapper;
+import dev.guilherme.payments_flux.core.validator.CpfCnpj;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class WalletImportServiceImpl implements WalletImportService {
+
+    static final int CHUNK_SIZE = 1_000;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final Validator validator;
+    private final PasswordHasher passwordHasher;
+    private final WalletMapper walletMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public WalletDTO.ImportResult importWallets(InputStream input, WalletDTO.ImportFormat format) {
+        List<WalletDTO.ImportError> errors = new ArrayList<>();
+        long processed = 0;
+        long imported = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             ExecutorService validation = Executors.newVirtualThreadPerTaskExecutor()) {
+            WalletRowReader rows = new WalletRowReader(reader, format, objectMapper);
+            List<WalletRowReader.Row> chunk;
+            while (!(chunk = rows.next(CHUNK_SIZE)).isEmpty()) {
+                processed += chunk.size();
+                imported += importChunk(chunk, validation, errors);
+            }
+        } catch (IOException ex) {
+            throw new ServiceException("Could not read the wallet import stream", ex);
+        }
+
+        errors.sort(Comparator.comparingLong(WalletDTO.ImportError::line));
+        return new WalletDTO.ImportResult(processed, imported, errors);
+    }
+
+    private long importChunk(List<WalletRowReader.Row> chunk, ExecutorService validation,
+                             List<WalletDTO.ImportError> errors) {
+        // Rows with a bad CPF/CNPJ are rejected in one batch pass, without a validation task;
+        // validate() then leaves out the DocumentCheck group so the check does not run twice.
+        BitSet invalidDocuments = CpfCnpj.findInvalid(chunk.stream()
+                .map(row -> row.request() == null ? null : row.request().cpfCnpj())
+                .toList());
+        List<CompletableFuture<WalletRowReader.Row>> validated = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            WalletRowReader.Row row = chunk.get(i);
+            validated.add(invalidDocuments.get(i) && row.error() == null
+                    ? CompletableFuture.completedFuture(row.withError("cpfCnpj: " + CpfCnpj.INVALID_MESSAGE))
+                    : CompletableFuture.supplyAsync(() -> validate(row), validation));
+        }
+
+        List<WalletRowReader.Row> valid = new ArrayList<>();
+        for (CompletableFuture<WalletRowReader.Row> future : validated) {
+            WalletRowReader.Row row = future.join();
+            if (row.error() != null) {
+                errors.add(new WalletDTO.ImportError(row.line(), row.error()));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return 0;
+        }
+
+        List<Wallet> wallets = valid.stream()
+                .map(row -> passwordHasher.hashAsync(row.request().password())
+                        .thenApply(hash -> toWallet(row.request(), hash)))
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Wallet.class)
+                    .insert(wallets)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                errors.add(new WalletDTO.ImportError(valid.get(error.getIndex()).line(), describe(error)));
+            }
+            return ex.getResult().getInsertedCount();
+        }
+    }
+
+    private WalletRowReader.Row validate(WalletRowReader.Row row) {
+        if (row.error() != null) {
+            return row;
+        }
+        var violations = validator.validate(row.request());
+        if (violations.isEmpty()) {
+            return row;
+        }
+        String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return row.withError(message);
+    }
+
+    private Wallet toWallet(WalletDTO.CreateRequest request, String passwordHash) {
+        Wallet wallet = walletMapper.toEntity(request);
+        wallet.setPassword(passwordHash);
+        wallet.setBalance(BigDecimal.ZERO);
+        return wallet;
+    }
+
+    private static String describe(BulkWriteError error) {
+        if (error.getCode() != DUPLICATE_KEY) {
+            return error.getMessage();
+        }
+        if (error.getMessage().contains("cpfCnpj")) {
+            return "cpfCnpj: already registered";
+        }
+        if (error.getMessage().contains("email")) {
+            return "email: already registered";
+        }
+        return "Wallet already registered";
+    }
+}
@@ -0,0 +1,127 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.api.exception.ValidationException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads wallet rows lazily, one chunk at a time. CSV input needs a header with
+ * {@code fullName,cpfCnpj,email,password}; NDJSON input holds one
+ * {@link WalletDTO.CreateRequest} object per line. Malformed rows are returned
+ * with an error instead of aborting the import.
+ */
+class WalletRowReader {
+
+    private static final List<String> COLUMNS = List.of("fullName", "cpfCnpj", "email", "password");
+
+    record Row(long line, WalletDTO.CreateRequest request, String error) {
+
+        Row withError(String message) {
+            return new Row(line, request, message);
+        }
+    }
+
+    private final BufferedReader reader;
+    private final WalletDTO.ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> header;
+    private long line;
+
+    WalletRowReader(BufferedReader reader, WalletDTO.ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    List<Row> next(int size) throws IOException {
+        List<Row> rows = new ArrayList<>(size);
+        String text;
+        while (rows.size() < size && (text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            if (format == WalletDTO.ImportFormat.CSV && header == null) {
+                header = parseHeader(text);
+                continue;
+            }
+            rows.add(format == WalletDTO.ImportFormat.CSV ? fromCsv(text) : fromJson(text));
+        }
+        return rows;
+    }
+
+    private Row fromJson(String text) {
+        try {
+            return new Row(line, objectMapper.readValue(text, WalletDTO.CreateRequest.class), null);
+        } catch (JacksonException ex) {
+            return new Row(line, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private Row fromCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields == null || fields.size() != header.size()) {
+            return new Row(line, null, "Expected " + header.size() + " columns");
+        }
+        return new Row(line, new WalletDTO.CreateRequest(
+                fields.get(header.get("fullName")),
+                fields.get(header.get("cpfCnpj")),
+                fields.get(header.get("email")),
+                fields.get(header.get("password"))), null);
+    }
+
+    private Map<String, Integer> parseHeader(String text) {
+        List<String> names = splitCsv(text);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; names != null && i < names.size(); i++) {
+            positions.put(names.get(i).strip(), i);
+        }
+        if (!positions.keySet().containsAll(COLUMNS)) {
+            throw new ValidationException("CSV header must contain " + String.join(",", COLUMNS));
+        }
+        return positions;
+    }
+
+    /**
+     * RFC 4180 field splitting for a single physical line; returns {@code null}
+     * when a quoted field is not closed.
+     */
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -3,7 +3,9 @@ package dev.guilherme.payments_flux.domain.service.wallet;
 import dev.guilherme.payments_flux.api.dto.WalletDTO;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface WalletService {
 
@@ -15,6 +17,10 @@ public interface WalletService {
 
     BigDecimal getBalance(String id);
 
+    BalanceChangedEvent balanceSnapshot(String id);
+
+    Map<String, BigDecimal> getBalances(Collection<String> ids);
+
     WalletDTO.Response update(String id, WalletDTO.UpdateRequest walletDTO);
     
     void delete(String id);
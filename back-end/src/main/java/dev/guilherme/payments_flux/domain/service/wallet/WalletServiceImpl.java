@@ -5,31 +5,40 @@ import dev.guilherme.payments_flux.api.exception.BusinessException;
 import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
 import dev.guilherme.payments_flux.api.mapper.WalletMapper;
 import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import dev.guilherme.payments_flux.core.jfr.OperationTimeline;
 import dev.guilherme.payments_flux.domain.entity.Wallet;
 import dev.guilherme.payments_flux.domain.projections.WalletBalanceProjection;
+import dev.guilherme.payments_flux.domain.projections.WalletIdBalanceProjection;
 import dev.guilherme.payments_flux.domain.repository.WalletRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @AllArgsConstructor
 public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final WalletMapper walletMapper;
+    private final BalanceBatchCache balanceBatchCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
     public WalletDTO.Response create(WalletDTO.CreateRequest walletDTO) {
         Wallet newWallet = walletMapper.toEntity(walletDTO);
-        newWallet.setPassword(passwordEncoder.encode(walletDTO.password()));
+        newWallet.setPassword(passwordHasher.hash(walletDTO.password()));
         newWallet.setBalance(BigDecimal.ZERO);
 
         Wallet savedWallet = walletRepository.save(newWallet);
@@ -56,6 +65,51 @@ public class WalletServiceImpl implements WalletService {
                 .orElseThrow(() -> new ResourceNotFoundException("Wallet not found", id));
     }
 
+    /**
+     * Reads the balance and version straight from the store, bypassing the
+     * balance cache, so an event stream starts from a version it can order
+     * later events against.
+     */
+    @Override
+    public BalanceChangedEvent balanceSnapshot(String id) {
+        return walletRepository.findBalanceVersionById(id)
+                .map(wallet -> BalanceChangedEvent.of(
+                        id, wallet.balance(), wallet.version(), BalanceChangedEvent.Cause.SNAPSHOT))
+                .orElseThrow(() -> new ResourceNotFoundException("Wallet not found", id));
+    }
+
+    /**
+     * Resolves cached balances with one MGET, loads every miss with a single
+     * {@code $in} projection and back-fills the cache in one pipeline. Unknown
+     * ids are left out of the result, which keeps the request order.
+     */
+    @Override
+    public Map<String, BigDecimal> getBalances(Collection<String> ids) {
+        List<String> requested = List.copyOf(new LinkedHashSet<>(ids));
+        Map<String, BigDecimal> found = new HashMap<>(balanceBatchCache.getAll(requested));
+
+        List<String> misses = requested.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            Map<String, BigDecimal> loaded = new HashMap<>();
+            for (WalletIdBalanceProjection wallet : walletRepository.findBalanceByIdIn(misses)) {
+                if (wallet.balance() != null) {
+                    loaded.put(wallet.id(), wallet.balance());
+                }
+            }
+            balanceBatchCache.putAll(loaded);
+            found.putAll(loaded);
+        }
+
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        for (String id : requested) {
+            BigDecimal balance = found.get(id);
+            if (balance != null) {
+                balances.put(id, balance);
+            }
+        }
+        return balances;
+    }
+
     @Override
     public WalletDTO.Response update(String id, WalletDTO.UpdateRequest walletDTO) {
         Wallet wallet = walletRepository.findById(id)
@@ -79,11 +133,19 @@ public class WalletServiceImpl implements WalletService {
     @Override
     @CacheEvict(value = CacheNames.BALANCE, key = "#id")
     public WalletDTO.Response deposit(String id, WalletDTO.MoneyRequest depositDTO) {
-        Wallet wallet = walletRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Wallet not found", id));
-
-        wallet.setBalance(wallet.getBalance().add(depositDTO.amount()));
-        walletRepository.save(wallet);
+        Wallet wallet;
+        Wallet saved;
+        try (OperationTimeline timeline = OperationTimeline.start(OperationTimeline.Operation.DEPOSIT, id, null)) {
+            timeline.phase(OperationTimeline.Phase.LOOKUP);
+            wallet = walletRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Wallet not found", id));
+
+            timeline.phase(OperationTimeline.Phase.SAVE);
+            wallet.setBalance(wallet.getBalance().add(depositDTO.amount()));
+            saved = walletRepository.save(wallet);
+        }
+        eventPublisher.publishEvent(BalanceChangedEvent.of(
+                id, wallet.getBalance(), saved.getVersion(), BalanceChangedEvent.Cause.DEPOSIT));
 
         return walletMapper.toResponse(wallet);
     }
@@ -91,15 +153,25 @@ public class WalletServiceImpl implements WalletService {
     @Override
     @CacheEvict(value = CacheNames.BALANCE, key = "#id")
     public WalletDTO.Response withdraw(String id, WalletDTO.MoneyRequest withdrawDTO) {
-        Wallet wallet = walletRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Wallet not found", id));
-
-        if (wallet.getBalance().compareTo(withdrawDTO.amount()) >= 0) {
-            wallet.setBalance(wallet.getBalance().subtract(withdrawDTO.amount()));
-        } else {
-            throw new BusinessException("Insufficient balance for transfer.");
+        Wallet wallet;
+        Wallet saved;
+        try (OperationTimeline timeline = OperationTimeline.start(OperationTimeline.Operation.WITHDRAW, id, null)) {
+            timeline.phase(OperationTimeline.Phase.LOOKUP);
+            wallet = walletRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Wallet not found", id));
+
+            timeline.phase(OperationTimeline.Phase.VALIDATE);
+            if (wallet.getBalance().compareTo(withdrawDTO.amount()) >= 0) {
+                wallet.setBalance(wallet.getBalance().subtract(withdrawDTO.amount()));
+            } else {
+                throw BusinessException.INSUFFICIENT_BALANCE;
+            }
+
+            timeline.phase(OperationTimeline.Phase.SAVE);
+            saved = walletRepository.save(wallet);
         }
-        walletRepository.save(wallet);
+        eventPublisher.publishEvent(BalanceChangedEvent.of(
+                id, wallet.getBalance(), saved.getVersion(), BalanceChangedEvent.Cause.WITHDRAW));
 
         return walletMapper.toResponse(wallet);
     }
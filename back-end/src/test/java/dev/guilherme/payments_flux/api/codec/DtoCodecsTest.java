@@ -0,0 +1,55 @@
+package dev.guilherme.payments_flux.api.codec;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.exc.InvalidFormatException;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DtoCodecsTest {
+
+    private final CBORMapper tuned = CBORMapper.builder().addModule(DtoCodecs.module()).build();
+    private final CBORMapper generic = CBORMapper.builder().build();
+
+    @Test
+    @DisplayName("Should decode requests written by a generic CBOR client")
+    void shouldDecodeGenericRequests() {
+        TransferDTO.CreateRequest request = new TransferDTO.CreateRequest("sender", "receiver", new BigDecimal("12.34"));
+
+        assertEquals(request, tuned.readValue(generic.writeValueAsBytes(request), TransferDTO.CreateRequest.class));
+        assertEquals(new WalletDTO.MoneyRequest(new BigDecimal("5.00")), tuned.readValue(
+                generic.writeValueAsBytes(Map.of("amount", "5.00", "ignored", Map.of("x", 1))),
+                WalletDTO.MoneyRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an amount sent as text that is not a number")
+    void shouldRejectMalformedTextAmount() {
+        byte[] request = generic.writeValueAsBytes(Map.of("senderId", "sender", "receiverId", "receiver", "amount", "12,3x"));
+
+        InvalidFormatException ex = assertThrows(InvalidFormatException.class,
+                () -> tuned.readValue(request, TransferDTO.CreateRequest.class));
+        assertEquals("12,3x", ex.getValue());
+        assertThrows(InvalidFormatException.class, () -> tuned.readValue(
+                generic.writeValueAsBytes(Map.of("amount", "ten")), WalletDTO.MoneyRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should encode responses a generic CBOR client can read back")
+    void shouldEncodeReadableResponses() {
+        TransferDTO.Response response = new TransferDTO.Response(
+                "id", "sender", "receiver", new BigDecimal("99.90"), LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+
+        assertEquals(response, generic.readValue(tuned.writeValueAsBytes(response), TransferDTO.Response.class));
+
+        WalletDTO.Response wallet = new WalletDTO.Response("id", "Name", "16244749006", "a@b.com", null);
+        assertEquals(wallet, generic.readValue(tuned.writeValueAsBytes(wallet), WalletDTO.Response.class));
+    }
+}
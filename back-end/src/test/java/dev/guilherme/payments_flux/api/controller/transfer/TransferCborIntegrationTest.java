@@ -0,0 +1,108 @@
+package dev.guilherme.payments_flux.api.controller.transfer;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TransferCborIntegrationTest extends BaseIntegrationTest {
+
+    private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    private Wallet sender;
+    private Wallet receiver;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        transferRepository.deleteAll();
+        sender = walletRepository.save(new Wallet(null, "Sender User", "16244749006", "sender@email.com",
+                "password123", new BigDecimal("1000.00"), 0L));
+        receiver = walletRepository.save(new Wallet(null, "Receiver User", "53359657039", "receiver@email.com",
+                "password123", new BigDecimal("500.00"), 0L));
+    }
+
+    @Test
+    @DisplayName("Should accept a CBOR transfer and answer in CBOR")
+    void shouldCreateTransferWithCbor() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(
+                new TransferDTO.CreateRequest(sender.getId(), receiver.getId(), new BigDecimal("200.50")));
+
+        byte[] body = mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = cborMapper.readTree(body);
+        assertEquals(sender.getId(), response.get("senderId").asString());
+        assertEquals(new BigDecimal("200.50"), response.get("amount").decimalValue());
+        assertEquals(new BigDecimal("799.50"), walletRepository.findById(sender.getId()).orElseThrow().getBalance());
+        assertEquals(1, transferRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should answer 400 to a CBOR amount that is not a number")
+    void shouldRejectMalformedCborAmount() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(
+                Map.of("senderId", sender.getId(), "receiverId", receiver.getId(), "amount", "12,3x"));
+
+        mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(request))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, transferRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should validate CBOR bodies like JSON ones")
+    void shouldValidateCborBodies() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(
+                new TransferDTO.CreateRequest(sender.getId(), receiver.getId(), new BigDecimal("-1")));
+
+        mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(request))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, transferRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should accept a CBOR deposit and answer in CBOR")
+    void shouldDepositWithCbor() throws Exception {
+        byte[] body = mockMvc.perform(post("/v1/api/wallet/deposit/{id}", receiver.getId())
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new WalletDTO.MoneyRequest(new BigDecimal("25.00")))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(new BigDecimal("525.00"), cborMapper.readTree(body).get("balance").decimalValue());
+    }
+}
@@ -82,10 +82,10 @@ class TransferConcurrencyIT extends BaseIntegrationTest {
         List<Integer> results = List.of(status1, status2);
 
         assertThat(results)
-                .as("Deveria haver uma transferência com sucesso e uma falha por concorrência.")
+                .as("Deveria haver uma transferência com sucesso e, após o retry, uma recusada por saldo insuficiente.")
                 .containsExactlyInAnyOrder(
                         HttpStatus.CREATED.value(),
-                        HttpStatus.CONFLICT.value()
+                        HttpStatus.BAD_REQUEST.value()
                 );
     }
 }
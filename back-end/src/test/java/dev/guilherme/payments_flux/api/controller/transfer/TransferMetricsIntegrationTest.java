@@ -0,0 +1,70 @@
+package dev.guilherme.payments_flux.api.controller.transfer;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TransferMetricsIntegrationTest extends BaseIntegrationTest {
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    private Wallet sender;
+    private Wallet receiver;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        sender = walletRepository.save(new Wallet(null, "Sender User", "16244749006", "sender@email.com",
+                "password123", new BigDecimal("100.00"), 0L));
+        receiver = walletRepository.save(new Wallet(null, "Receiver User", "53359657039", "receiver@email.com",
+                "password123", new BigDecimal("50.00"), 0L));
+    }
+
+    @Test
+    @DisplayName("Should expose service timers, rejection outcomes, Mongo and cache metrics for Prometheus")
+    void shouldExposeMetricsForPrometheus() throws Exception {
+        transfer(new BigDecimal("10.00"));
+        transfer(new BigDecimal("1000.00"));
+        mockMvc.perform(get("/v1/api/wallet/balance/{id}", receiver.getId()))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("service_calls_seconds_bucket{"));
+        assertTrue(scrape.matches("(?s).*service_calls_seconds_count\\{[^}]*method=\"create\",outcome=\"success\"}.*"));
+        assertTrue(scrape.matches("(?s).*service_calls_seconds_count\\{[^}]*method=\"create\",outcome=\"insufficient_balance\"}.*"));
+        assertTrue(scrape.matches("(?s).*mongo_commands_seconds_count\\{[^}]*command=\"update\".*"));
+        assertTrue(scrape.matches("(?s).*cache_gets_total\\{[^}]*cache=\"balance-cache\".*"));
+        assertTrue(scrape.contains("wallet_conflicts_total{"));
+    }
+
+    private void transfer(BigDecimal amount) throws Exception {
+        mockMvc.perform(post("/v1/api/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new TransferDTO.CreateRequest(sender.getId(), receiver.getId(), amount))));
+    }
+}
@@ -0,0 +1,82 @@
+package dev.guilherme.payments_flux.api.controller.transfer;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "payments-flux.response-cache.enabled=true")
+class TransferResponseCacheIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Transfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        transferRepository.deleteAll();
+        transfer = transferRepository.save(new Transfer(null, "sender-id", "receiver-id",
+                new BigDecimal("42.10"), LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should serve the cached JSON bytes with an ETag and honour If-None-Match")
+    void shouldServePreSerializedBytesWithEtag() throws Exception {
+        String etag = mockMvc.perform(get("/v1/api/transfer/{id}", transfer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.id").value(transfer.getId()))
+                .andExpect(jsonPath("$.amount").value(42.10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        double hitsBefore = meterRegistry.get("response.cache").tag("result", "hit").counter().count();
+
+        mockMvc.perform(get("/v1/api/transfer/{id}", transfer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.senderId").value("sender-id"));
+
+        mockMvc.perform(get("/v1/api/transfer/{id}", transfer.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        assertEquals(hitsBefore + 2, meterRegistry.get("response.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fall back to regular serialization when the client asks for CBOR")
+    void shouldNegotiateWhenClientAsksForCbor() throws Exception {
+        mockMvc.perform(get("/v1/api/transfer/{id}", transfer.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown transfers")
+    void shouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/v1/api/transfer/{id}", "000000000000000000000000"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,177 @@
+package dev.guilherme.payments_flux.api.controller.transfer;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.core.configuration.MongoIndexCatalog;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.TransferOutbox;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = "payments-flux.transfers.time-series.enabled=true")
+class TransferTimeSeriesIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexCatalog mongoIndexCatalog;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferOutbox transferOutbox;
+
+    private Wallet sender;
+    private Wallet receiver;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        mongoTemplate.dropCollection(Transfer.class);
+        mongoTemplate.dropCollection(TransferOutbox.COLLECTION);
+        mongoIndexCatalog.afterSingletonsInstantiated();
+
+        sender = new Wallet();
+        sender.setFullName("Sender User");
+        sender.setCpfCnpj("16244749006");
+        sender.setEmail("sender@email.com");
+        sender.setPassword("password123");
+        sender.setBalance(BigDecimal.valueOf(1000.00));
+        sender = walletRepository.save(sender);
+
+        receiver = new Wallet();
+        receiver.setFullName("Receiver User");
+        receiver.setCpfCnpj("53359657039");
+        receiver.setEmail("receiver@email.com");
+        receiver.setPassword("password123");
+        receiver.setBalance(BigDecimal.valueOf(500.00));
+        receiver = walletRepository.save(receiver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(Transfer.class);
+        mongoIndexCatalog.ensureIndexes();
+    }
+
+    @Test
+    @DisplayName("Should store transfers in a time-series collection")
+    void shouldStoreTransfersInTimeSeriesCollection() {
+        Document collection = mongoTemplate.getDb().listCollections()
+                .filter(new Document("name", "transfers"))
+                .first();
+
+        assertEquals("timeseries", collection.getString("type"));
+    }
+
+    @Test
+    @DisplayName("Should create transfer and serve history queries from the time-series collection")
+    void shouldCreateTransferAndServeHistoryQueries() throws Exception {
+        TransferDTO.CreateRequest request = new TransferDTO.CreateRequest(
+                sender.getId(),
+                receiver.getId(),
+                BigDecimal.valueOf(200.00)
+        );
+
+        String body = mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn().getResponse().getContentAsString();
+        String transferId = objectMapper.readTree(body).get("id").asText();
+
+        assertEquals(1, transferRepository.count());
+        assertEquals(0, mongoTemplate.getCollection(TransferOutbox.COLLECTION).countDocuments());
+        assertEquals(BigDecimal.valueOf(800.00), walletRepository.findById(sender.getId()).orElseThrow().getBalance());
+
+        mockMvc.perform(get("/v1/api/transfer/sender/{id}", sender.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(transferId));
+
+        mockMvc.perform(get("/v1/api/transfer/receiver/{id}", receiver.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].receiverId").value(receiver.getId()));
+
+        TransferDTO.FinancialSummaryRequest summary = new TransferDTO.FinancialSummaryRequest(
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+
+        mockMvc.perform(post("/v1/api/transfer/summary")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(summary)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @DisplayName("Should not record the transfer when the wallet update is rejected")
+    void shouldNotRecordTransferWhenRejected() throws Exception {
+        TransferDTO.CreateRequest request = new TransferDTO.CreateRequest(
+                sender.getId(),
+                receiver.getId(),
+                BigDecimal.valueOf(2000.00)
+        );
+
+        mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, transferRepository.count());
+        assertEquals(0, mongoTemplate.getCollection(TransferOutbox.COLLECTION).countDocuments());
+    }
+
+    @Test
+    @DisplayName("Should relay transfers left in the outbox exactly once")
+    void shouldRelayTransfersLeftInOutbox() {
+        Transfer transfer = new Transfer(null, sender.getId(), receiver.getId(),
+                BigDecimal.valueOf(50.00), LocalDateTime.now().minusMinutes(1));
+        transferRepository.save(transfer);
+        mongoTemplate.insert(transfer, TransferOutbox.COLLECTION);
+
+        transferOutbox.relay();
+        transferOutbox.relay();
+
+        assertEquals(1, transferRepository.count());
+        assertEquals(0, mongoTemplate.getCollection(TransferOutbox.COLLECTION).countDocuments());
+    }
+
+    @Test
+    @DisplayName("Should store every transfer passed to saveAll")
+    void shouldStoreEveryTransferPassedToSaveAll() {
+        List<Transfer> transfers = List.of(
+                new Transfer(null, sender.getId(), receiver.getId(), BigDecimal.ONE, LocalDateTime.now()),
+                new Transfer(null, receiver.getId(), sender.getId(), BigDecimal.TWO, LocalDateTime.now()));
+
+        transferRepository.saveAll(transfers);
+
+        assertEquals(2, transferRepository.count());
+    }
+}
@@ -0,0 +1,65 @@
+package dev.guilherme.payments_flux.api.controller.wallet;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = {
+        "payments-flux.admission.per-wallet-limit=0",
+        "payments-flux.admission.retry-after=2s"
+})
+class WalletAdmissionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        wallet = walletRepository.save(new Wallet(null, "Hot Wallet", "16244749006", "hot@email.com",
+                "password123", new BigDecimal("100.00"), 0L));
+    }
+
+    @Test
+    @DisplayName("Should reject withdrawals over the wallet limit with 429 and Retry-After")
+    void shouldRejectWithdrawOverLimit() throws Exception {
+        mockMvc.perform(post("/v1/api/wallet/withdraw/{id}", wallet.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.MoneyRequest(BigDecimal.TEN))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(
+                walletRepository.findById(wallet.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Should reject transfers over the sender limit with 429")
+    void shouldRejectTransferOverLimit() throws Exception {
+        TransferDTO.CreateRequest request = new TransferDTO.CreateRequest(
+                wallet.getId(), "000000000000000000000000", BigDecimal.TEN);
+
+        mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+}
@@ -0,0 +1,109 @@
+package dev.guilherme.payments_flux.api.controller.wallet;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.MediaType;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class WalletBalancesIntegrationTest extends BaseIntegrationTest {
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private RedisTemplate<String, BigDecimal> balanceRedisTemplate;
+
+    private Wallet first;
+    private Wallet second;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        balanceRedisTemplate.delete(balanceRedisTemplate.keys("balance-cache::*"));
+        first = walletRepository.save(new Wallet(null, "First Wallet", "16244749006", "first@email.com",
+                "password123", new BigDecimal("100.00"), 0L));
+        second = walletRepository.save(new Wallet(null, "Second Wallet", "53359657039", "second@email.com",
+                "password123", new BigDecimal("250.00"), 0L));
+    }
+
+    @Test
+    @DisplayName("Should return balances for known wallets and back-fill the balance cache")
+    void shouldReturnBalancesAndBackFillCache() throws Exception {
+        mockMvc.perform(get("/v1/api/wallet/balance/{id}", first.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/v1/api/wallet/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.BalancesRequest(
+                                List.of(first.getId(), second.getId(), "000000000000000000000000")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$['" + first.getId() + "']").value(100.00))
+                .andExpect(jsonPath("$['" + second.getId() + "']").value(250.00));
+
+        assertEquals(0, new BigDecimal("250.00").compareTo(
+                balanceRedisTemplate.opsForValue().get("balance-cache::" + second.getId())));
+        assertTrue(balanceRedisTemplate.getExpire("balance-cache::" + second.getId()) > 0);
+    }
+
+    @Test
+    @DisplayName("Should serve fresh balances for both wallets after a transfer")
+    void shouldEvictBothBalancesAfterTransfer() throws Exception {
+        String balancesRequest = objectMapper.writeValueAsString(
+                new WalletDTO.BalancesRequest(List.of(first.getId(), second.getId())));
+
+        mockMvc.perform(post("/v1/api/wallet/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(balancesRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + first.getId() + "']").value(100.00))
+                .andExpect(jsonPath("$['" + second.getId() + "']").value(250.00));
+
+        mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferDTO.CreateRequest(
+                                first.getId(), second.getId(), new BigDecimal("40.00")))))
+                .andExpect(status().isCreated());
+
+        assertNull(balanceRedisTemplate.opsForValue().get("balance-cache::" + first.getId()));
+        assertNull(balanceRedisTemplate.opsForValue().get("balance-cache::" + second.getId()));
+
+        mockMvc.perform(post("/v1/api/wallet/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(balancesRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + first.getId() + "']").value(60.00))
+                .andExpect(jsonPath("$['" + second.getId() + "']").value(290.00));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty id list")
+    void shouldRejectEmptyIdList() throws Exception {
+        mockMvc.perform(post("/v1/api/wallet/balances")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.BalancesRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,93 @@
+package dev.guilherme.payments_flux.api.controller.wallet;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.core.cache.ResilientCacheManager;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@TestPropertySource(properties = {
+        "payments-flux.cache-breaker.failure-threshold=2",
+        "payments-flux.cache-breaker.slow-call-threshold=150ms",
+        "payments-flux.cache-breaker.probe-interval=1h"
+})
+class WalletCacheDegradedModeIntegrationTest extends BaseIntegrationTest {
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private ResilientCacheManager cacheManager;
+
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        wallet = walletRepository.save(new Wallet(null, "Cached Wallet", "16244749006", "cached@email.com",
+                "password123", new BigDecimal("100.00"), 0L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redis.getDockerClient().inspectContainerCmd(redis.getContainerId()).exec().getState().getPaused()) {
+            redis.getDockerClient().unpauseContainerCmd(redis.getContainerId()).exec();
+        }
+        cacheManager.probe();
+    }
+
+    @Test
+    @DisplayName("Should keep serving balances from the local cache while Redis hangs and recover afterwards")
+    void shouldServeBalancesWhileRedisHangs() throws Exception {
+        expectBalance(100.00);
+
+        redis.getDockerClient().pauseContainerCmd(redis.getContainerId()).exec();
+
+        mockMvc.perform(post("/v1/api/wallet/deposit/{id}", wallet.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.MoneyRequest(new BigDecimal("50.00")))))
+                .andExpect(status().isOk());
+        expectBalance(150.00);
+        assertTrue(cacheManager.breaker().isOpen());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            expectBalance(150.00);
+        }
+        assertTrue(System.nanoTime() - start < 2_000_000_000L,
+                "Reads must not wait on the Redis timeout once the breaker is open");
+
+        redis.getDockerClient().unpauseContainerCmd(redis.getContainerId()).exec();
+        cacheManager.probe();
+
+        assertFalse(cacheManager.breaker().isOpen());
+        expectBalance(150.00);
+    }
+
+    private void expectBalance(double balance) throws Exception {
+        mockMvc.perform(get("/v1/api/wallet/balance/{id}", wallet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(balance));
+    }
+}
@@ -0,0 +1,167 @@
+package dev.guilherme.payments_flux.api.controller.wallet;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.dto.WalletDTO;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import dev.guilherme.payments_flux.domain.service.wallet.BalanceChangedEvent;
+import dev.guilherme.payments_flux.domain.service.wallet.BalanceEventHub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "payments-flux.wallet-events.heartbeat=200ms")
+class WalletEventsIntegrationTest extends BaseIntegrationTest {
+
+    private static final Pattern LAST_ID = Pattern.compile("(?s).*id:(\\d+)\\n");
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private BalanceEventHub balanceEventHub;
+
+    private Wallet sender;
+    private Wallet receiver;
+
+    @BeforeEach
+    void setUp() {
+        walletRepository.deleteAll();
+        sender = walletRepository.save(new Wallet(null, "Sender User", "16244749006", "sender@email.com",
+                "password123", new BigDecimal("100.00"), 0L));
+        receiver = walletRepository.save(new Wallet(null, "Receiver User", "53359657039", "receiver@email.com",
+                "password123", new BigDecimal("50.00"), 0L));
+    }
+
+    @Test
+    @DisplayName("Should start with a snapshot and stream deposits and transfers")
+    void shouldStreamSnapshotDepositsAndTransfers() throws Exception {
+        MockHttpServletResponse stream = subscribe(sender.getId(), null);
+        awaitContent(stream, "\"cause\":\"SNAPSHOT\"");
+        assertTrue(stream.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE));
+
+        mockMvc.perform(post("/v1/api/wallet/deposit/{id}", sender.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.MoneyRequest(new BigDecimal("25.00")))))
+                .andExpect(status().isOk());
+        awaitContent(stream, "\"cause\":\"DEPOSIT\"");
+
+        mockMvc.perform(post("/v1/api/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferDTO.CreateRequest(
+                                sender.getId(), receiver.getId(), new BigDecimal("75.00")))))
+                .andExpect(status().isCreated());
+        String content = awaitContent(stream, "\"cause\":\"TRANSFER_OUT\"");
+
+        assertTrue(content.contains("event:balance"));
+        assertTrue(content.contains("\"balance\":125.00"));
+        assertTrue(content.contains("\"balance\":50.00"));
+        assertFalse(content.contains("TRANSFER_IN"));
+    }
+
+    @Test
+    @DisplayName("Should replay the events missed since Last-Event-ID instead of a snapshot")
+    void shouldResumeFromLastEventId() throws Exception {
+        MockHttpServletResponse first = subscribe(sender.getId(), null);
+        long lastId = lastEventId(awaitContent(first, "\"cause\":\"SNAPSHOT\""));
+
+        mockMvc.perform(post("/v1/api/wallet/withdraw/{id}", sender.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.MoneyRequest(new BigDecimal("40.00")))))
+                .andExpect(status().isOk());
+        awaitContent(first, "\"cause\":\"WITHDRAW\"");
+
+        MockHttpServletResponse resumed = subscribe(sender.getId(), lastId);
+        String content = awaitContent(resumed, "\"cause\":\"WITHDRAW\"");
+
+        assertFalse(content.contains("SNAPSHOT"));
+        assertTrue(content.contains("\"balance\":60.00"));
+    }
+
+    @Test
+    @DisplayName("Should drop events at or below the version already sent")
+    void shouldDropStaleVersions() throws Exception {
+        MockHttpServletResponse stream = subscribe(sender.getId(), null);
+        assertTrue(awaitContent(stream, "\"cause\":\"SNAPSHOT\"").contains("\"version\":0"));
+
+        balanceEventHub.onBalanceChanged(BalanceChangedEvent.of(
+                sender.getId(), new BigDecimal("999.00"), 0, BalanceChangedEvent.Cause.DEPOSIT));
+        mockMvc.perform(post("/v1/api/wallet/deposit/{id}", sender.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.MoneyRequest(new BigDecimal("10.00")))))
+                .andExpect(status().isOk());
+        awaitContent(stream, "\"version\":1");
+
+        balanceEventHub.onBalanceChanged(BalanceChangedEvent.of(
+                sender.getId(), new BigDecimal("777.00"), 1, BalanceChangedEvent.Cause.WITHDRAW));
+        mockMvc.perform(post("/v1/api/wallet/withdraw/{id}", sender.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WalletDTO.MoneyRequest(new BigDecimal("30.00")))))
+                .andExpect(status().isOk());
+        String content = awaitContent(stream, "\"version\":2");
+
+        assertFalse(content.contains("999.00"));
+        assertFalse(content.contains("777.00"));
+        assertTrue(content.contains("\"balance\":80.00"));
+    }
+
+    @Test
+    @DisplayName("Should send heartbeat comments on idle streams")
+    void shouldSendHeartbeats() throws Exception {
+        MockHttpServletResponse stream = subscribe(receiver.getId(), null);
+
+        awaitContent(stream, ":heartbeat");
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown wallet")
+    void shouldReturnNotFoundForUnknownWallet() throws Exception {
+        mockMvc.perform(get("/v1/api/wallet/{id}/events", "000000000000000000000000"))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletResponse subscribe(String walletId, Long lastEventId) throws Exception {
+        var builder = get("/v1/api/wallet/{id}/events", walletId);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = stream.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = stream.getContentAsString();
+        }
+        String received = content;
+        assertTrue(received.contains(expected), () -> "Expected " + expected + " in stream: " + received);
+        return content;
+    }
+
+    private static long lastEventId(String content) {
+        Matcher matcher = LAST_ID.matcher(content);
+        assertTrue(matcher.lookingAt());
+        return Long.parseLong(matcher.group(1));
+    }
+}
@@ -126,6 +126,76 @@ class WalletIntegrationTest extends BaseIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Import Wallets Integration Tests")
+    class ImportWalletTests {
+        @Test
+        @DisplayName("Should import CSV rows and report invalid and duplicate rows")
+        void shouldImportCsvRowsAndReportFailures() throws Exception {
+            Wallet existing = new Wallet();
+            existing.setFullName("Existing User");
+            existing.setCpfCnpj("12345678909");
+            existing.setEmail("taken@email.com");
+            existing.setPassword("password123");
+            existing.setBalance(BigDecimal.ZERO);
+            walletRepository.save(existing);
+
+            String csv = """
+                    fullName,cpfCnpj,email,password
+                    John Doe,150.846.050-78,john.doe@email.com,password123
+                    Jane Roe,030.334.190-46,jane.roe@email.com,password123
+                    Bad Document,111.111.111-11,bad@email.com,password123
+                    Taken Email,16244749006,taken@email.com,password123
+                    "Roe, Mary",53359657039,mary.roe@email.com,password123
+                    """;
+
+            mockMvc.perform(post("/v1/api/wallet/import")
+                    .contentType("text/csv")
+                    .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.processed").value(5))
+                    .andExpect(jsonPath("$.imported").value(3))
+                    .andExpect(jsonPath("$.errors.length()").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(4))
+                    .andExpect(jsonPath("$.errors[1].line").value(5))
+                    .andExpect(jsonPath("$.errors[1].message").value("email: already registered"));
+
+            assertEquals(4, walletRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should import NDJSON rows and report malformed lines")
+        void shouldImportNdjsonRows() throws Exception {
+            String ndjson = """
+                    {"fullName":"John Doe","cpfCnpj":"15084605078","email":"john.doe@email.com","password":"password123"}
+                    {"fullName":"Broken"
+                    {"fullName":"Jane Roe","cpfCnpj":"03033419046","email":"jane.roe@email.com","password":"123"}
+                    """;
+
+            mockMvc.perform(post("/v1/api/wallet/import")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.processed").value(3))
+                    .andExpect(jsonPath("$.imported").value(1))
+                    .andExpect(jsonPath("$.errors[0].line").value(2))
+                    .andExpect(jsonPath("$.errors[1].line").value(3));
+
+            assertEquals(1, walletRepository.count());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when CSV header is missing columns")
+        void shouldReturn400WhenCsvHeaderIsMissingColumns() throws Exception {
+            mockMvc.perform(post("/v1/api/wallet/import")
+                    .contentType("text/csv")
+                    .content("fullName,email\nJohn Doe,john.doe@email.com\n"))
+                    .andExpect(status().isBadRequest());
+
+            assertEquals(0, walletRepository.count());
+        }
+    }
+
     @Nested
     class FindWalletByIdTests {
         @Test
@@ -0,0 +1,78 @@
+package dev.guilherme.payments_flux.api.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RejectionTemplatesTest {
+
+    private final RejectionTemplates templates = new RejectionTemplates();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should render the same fields as ErrorResponse")
+    void shouldRenderErrorResponseFields() throws Exception {
+        JsonNode body = objectMapper.readTree(templates.render(HttpStatus.BAD_REQUEST, "Business Rule Violation",
+                BusinessException.INSUFFICIENT_BALANCE.getMessage(), "/v1/api/transfer"));
+
+        assertEquals(400, body.get("status").asInt());
+        assertEquals("Business Rule Violation", body.get("error").asText());
+        assertEquals("Insufficient balance for transfer.", body.get("message").asText());
+        assertEquals("/v1/api/transfer", body.get("path").asText());
+        assertDoesNotThrow(() -> LocalDateTime.parse(body.get("timestamp").asText()));
+    }
+
+    @Test
+    @DisplayName("Should keep separate templates for the same message under another status or error")
+    void shouldKeySameMessageByStatusAndError() throws Exception {
+        String message = BusinessException.INSUFFICIENT_BALANCE.getMessage();
+        templates.render(HttpStatus.BAD_REQUEST, "Business Rule Violation", message, "/v1/api/transfer");
+
+        JsonNode body = objectMapper.readTree(templates.render(HttpStatus.CONFLICT, "Conflict", message, "/v1/api/transfer"));
+
+        assertEquals(409, body.get("status").asInt());
+        assertEquals("Conflict", body.get("error").asText());
+        assertEquals(message, body.get("message").asText());
+    }
+
+    @Test
+    @DisplayName("Should escape quotes in messages and paths")
+    void shouldEscapeJson() throws Exception {
+        JsonNode body = objectMapper.readTree(templates.render(HttpStatus.BAD_REQUEST, "Business Rule Violation",
+                "Limit \"daily\" reached", "/v1/api/wallet/withdraw/a\"b"));
+
+        assertEquals("Limit \"daily\" reached", body.get("message").asText());
+        assertEquals("/v1/api/wallet/withdraw/a\"b", body.get("path").asText());
+    }
+
+    @Test
+    @DisplayName("Should only pre-render for clients that accept JSON")
+    void shouldOnlyPreRenderForJsonClients() {
+        assertTrue(RejectionTemplates.acceptsJson(null));
+        assertTrue(RejectionTemplates.acceptsJson("application/json"));
+        assertTrue(RejectionTemplates.acceptsJson("*/*"));
+        assertFalse(RejectionTemplates.acceptsJson("application/cbor"));
+        assertTrue(RejectionTemplates.acceptsJson(" "));
+        assertTrue(RejectionTemplates.acceptsJson("application/json;charset=UTF-8"));
+        assertTrue(RejectionTemplates.acceptsJson("application/json;charset=UTF-8"));
+        assertFalse(RejectionTemplates.acceptsJson("application/json, text/html"));
+        assertFalse(RejectionTemplates.acceptsJson("application/json, text/html"));
+    }
+
+    @Test
+    @DisplayName("Should reject without capturing a stack trace")
+    void shouldRejectWithoutStackTrace() {
+        BusinessException dynamic = new BusinessException("Custom rule");
+        dynamic.addSuppressed(new IllegalStateException());
+
+        assertEquals(0, BusinessException.INSUFFICIENT_BALANCE.getStackTrace().length);
+        assertEquals(0, dynamic.getStackTrace().length);
+        assertEquals(0, dynamic.getSuppressed().length);
+    }
+}
@@ -0,0 +1,154 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import dev.guilherme.payments_flux.api.exception.OverloadedException;
+import dev.guilherme.payments_flux.core.admission.AdaptiveConcurrencyLimiter;
+import dev.guilherme.payments_flux.core.configuration.PersistenceLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chaos run for the adaptive persistence limiter. A stand-in Mongo with a fixed
+ * number of workers serves a closed-loop client population; midway the
+ * service time is multiplied to mimic a slow replica. The same workload runs
+ * with and without the limiter, and the run reports goodput (calls answered
+ * within the client deadline) per phase.
+ * Run with {@code ./gradlew benchmark --tests '*PersistenceLimiterChaosBenchmark'}.
+ */
+@Tag("benchmark")
+class PersistenceLimiterChaosBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 256);
+    private static final int WORKERS = Integer.getInteger("benchmark.workers", 16);
+    private static final Duration SERVICE_TIME = Duration.ofMillis(2);
+    private static final int SLOWDOWN = Integer.getInteger("benchmark.slowdown", 8);
+    private static final Duration PHASE = Duration.ofSeconds(Long.getLong("benchmark.phase-seconds", 5));
+    private static final Duration DEADLINE = Duration.ofMillis(100);
+    private static final List<String> PHASES = List.of("healthy", "slow replica", "recovered");
+
+    @Test
+    void goodputHoldsUpWhenTheDatabaseSlowsDown() throws Exception {
+        PhaseStats[] unlimited = run(null);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read",
+                new PersistenceLimitProperties(true, 32, 4, 256, 0.9, 1000, Duration.ofSeconds(1), Duration.ofMillis(100)),
+                new SimpleMeterRegistry());
+        PhaseStats[] limited = run(limiter);
+
+        System.out.printf("%n%-10s %-14s %10s %10s %10s %10s %8s%n",
+                "mode", "phase", "calls/s", "goodput/s", "shed/s", "p99 (ms)", "limit");
+        print("unlimited", unlimited);
+        print("adaptive", limited);
+
+        assertTrue(limited[1].goodput() >= unlimited[1].goodput(),
+                "the adaptive limiter should answer at least as many calls in time while the replica is slow");
+        assertTrue(limited[1].limit() < limited[0].limit(), "the limit should drop while the replica is slow");
+    }
+
+    private PhaseStats[] run(AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        StandInMongo mongo = new StandInMongo(WORKERS);
+        PhaseStats[] stats = new PhaseStats[PHASES.size()];
+        Phase[] phases = new Phase[PHASES.size()];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new Phase();
+        }
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long end = start + PHASE.toNanos() * PHASES.size();
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        Phase phase = phases[(int) ((now - start) / PHASE.toNanos())];
+                        try {
+                            if (limiter == null) {
+                                mongo.call();
+                            } else {
+                                limiter.execute(() -> {
+                                    mongo.call();
+                                    return null;
+                                });
+                            }
+                            phase.record(System.nanoTime() - now);
+                        } catch (OverloadedException shed) {
+                            phase.shed.increment();
+                            Thread.sleep(1);
+                        } catch (Throwable ex) {
+                            throw new IllegalStateException(ex);
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            for (int i = 0; i < phases.length; i++) {
+                mongo.slowdown = i == 1 ? SLOWDOWN : 1;
+                Thread.sleep(PHASE.toMillis() / 2);
+                int midPhaseLimit = limiter == null ? 0 : limiter.limit();
+                Thread.sleep(PHASE.toMillis() - PHASE.toMillis() / 2);
+                stats[i] = phases[i].stats(midPhaseLimit);
+            }
+        }
+        return stats;
+    }
+
+    private void print(String mode, PhaseStats[] stats) {
+        for (int i = 0; i < stats.length; i++) {
+            PhaseStats s = stats[i];
+            System.out.printf("%-10s %-14s %10.0f %10.0f %10.0f %10.2f %8s%n",
+                    mode, PHASES.get(i), s.calls() / (double) PHASE.toSeconds(), s.goodput() / (double) PHASE.toSeconds(),
+                    s.shed() / (double) PHASE.toSeconds(), s.p99Millis(), s.limit() == 0 ? "-" : s.limit());
+        }
+    }
+
+    /** A database with a fixed worker pool: calls beyond it queue, and their latency grows with the queue. */
+    private static final class StandInMongo {
+
+        private final Semaphore workers;
+        private volatile int slowdown = 1;
+
+        StandInMongo(int workers) {
+            this.workers = new Semaphore(workers, true);
+        }
+
+        void call() throws InterruptedException {
+            workers.acquire();
+            try {
+                Thread.sleep(SERVICE_TIME.multipliedBy(slowdown));
+            } finally {
+                workers.release();
+            }
+        }
+    }
+
+    private static final class Phase {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder shed = new LongAdder();
+
+        void record(long nanos) {
+            latencies.add(nanos);
+        }
+
+        PhaseStats stats(int limit) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            long goodput = Arrays.stream(sorted).filter(n -> n <= DEADLINE.toNanos()).count();
+            double p99 = sorted.length == 0 ? Double.NaN
+                    : sorted[(int) Math.min(sorted.length - 1, Math.ceil(0.99 * sorted.length) - 1)] / 1_000_000.0;
+            return new PhaseStats(sorted.length, goodput, shed.sum(), p99, limit);
+        }
+    }
+
+    private record PhaseStats(long calls, long goodput, long shed, double p99Millis, int limit) {}
+}
@@ -0,0 +1,123 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the extracted fast-startup jar as a separate JVM, with and without the
+ * AOT-processed context and the JDK AOT cache, and prints the time from process
+ * start to the first successful request.
+ * Build the jar and the cache first with {@code ./gradlew -PfastStartup trainAotCache},
+ * then run {@code ./gradlew benchmark --tests '*StartupTimeBenchmark' -Dbenchmark.runs=10}.
+ */
+@Tag("benchmark")
+@Testcontainers
+class StartupTimeBenchmark {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+    private static final Path DIRECTORY = Path.of(System.getProperty("benchmark.fast-startup-dir", "build/fast-startup"));
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:latest");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:alpine").withExposedPorts(6379);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void compareTimeToFirstRequest() throws Exception {
+        Path jar;
+        try (var files = Files.list(DIRECTORY)) {
+            jar = files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst().orElseThrow();
+        }
+        assertTrue(Files.exists(DIRECTORY.resolve("app.aot")), "run ./gradlew -PfastStartup trainAotCache first");
+
+        List<String> jit = List.of();
+        List<String> aot = List.of("-XX:AOTCache=app.aot", "-Dspring.aot.enabled=true");
+
+        long[] jitMillis = new long[RUNS];
+        long[] aotMillis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            jitMillis[i] = timeToFirstRequest(jar, jit);
+            aotMillis[i] = timeToFirstRequest(jar, aot);
+        }
+
+        System.out.printf("%n%-26s %10s %10s %10s%n", "mode", "p50 (ms)", "min (ms)", "max (ms)");
+        print("regular start", jitMillis);
+        print("Spring AOT + AOT cache", aotMillis);
+    }
+
+    private long timeToFirstRequest(Path jar, List<String> options) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(options);
+        command.addAll(List.of(
+                "-Dspring.profiles.active=prod",
+                "-jar", jar.getFileName().toString(),
+                "--server.port=" + port,
+                "--spring.mongodb.uri=" + mongo.getReplicaSetUrl("startup_benchmark"),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getMappedPort(6379)));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(DIRECTORY.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/api/wallet"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // Tomcat is not accepting connections yet.
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + process.exitValue());
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No successful request within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void print(String mode, long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-26s %10d %10d %10d%n", mode, sorted[sorted.length / 2], sorted[0], sorted[sorted.length - 1]);
+    }
+}
@@ -0,0 +1,199 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import dev.guilherme.payments_flux.PaymentsFluxApplication;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the same mixed balance-read/transfer workload against the application with
+ * platform Tomcat threads and with the {@code virtual} profile, and prints throughput
+ * and latency percentiles per concurrency level.
+ * Run with {@code ./gradlew benchmark --tests '*ThreadingModeLoadBenchmark' -Dbenchmark.clients=1000,10000};
+ * 10k clients need an open-files limit above 20k ({@code ulimit -n}).
+ */
+@Tag("benchmark")
+@Testcontainers
+class ThreadingModeLoadBenchmark {
+
+    private static final int WALLETS = Integer.getInteger("benchmark.wallets", 10_000);
+    private static final List<Integer> CLIENTS = Arrays.stream(System.getProperty("benchmark.clients", "1000,10000").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .toList();
+    private static final Duration WARMUP = Duration.parse(System.getProperty("benchmark.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("benchmark.duration", "PT30S"));
+    private static final int TRANSFER_PERCENT = Integer.getInteger("benchmark.transfer-percent", 20);
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:latest");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:alpine").withExposedPorts(6379);
+
+    private static final List<String> walletIds = new ArrayList<>();
+
+    @BeforeAll
+    static void seed() {
+        try (MongoClient client = MongoClients.create(mongo.getReplicaSetUrl("threading_benchmark"))) {
+            List<Document> wallets = new ArrayList<>(WALLETS);
+            for (int i = 0; i < WALLETS; i++) {
+                ObjectId id = new ObjectId();
+                walletIds.add(id.toHexString());
+                wallets.add(new Document("_id", id)
+                        .append("fullName", "Wallet " + i)
+                        .append("cpfCnpj", String.format("%011d", i))
+                        .append("email", "wallet" + i + "@email.com")
+                        .append("password", BCRYPT_HASH)
+                        .append("balance", new Decimal128(new BigDecimal("1000000.00")))
+                        .append("version", 0L)
+                        .append("_class", "dev.guilherme.payments_flux.domain.entity.Wallet"));
+            }
+            client.getDatabase("threading_benchmark").getCollection("wallets").insertMany(wallets);
+        }
+    }
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : List.of(false, true)) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                for (int clients : CLIENTS) {
+                    run(base, clients, WARMUP);
+                    Result result = run(base, clients, DURATION);
+                    rows.add(String.format("%-10s %8d %12.0f %10.2f %10.2f %10.2f %8d",
+                            virtual ? "virtual" : "platform", clients,
+                            result.requests() / (double) DURATION.toSeconds(),
+                            result.percentile(0.50), result.percentile(0.99), result.percentile(0.999),
+                            result.errors()));
+                }
+            }
+        }
+
+        System.out.printf("%n%-10s %8s %12s %10s %10s %10s %8s%n",
+                "threads", "clients", "req/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(PaymentsFluxApplication.class);
+        if (virtual) {
+            builder.profiles("virtual");
+        }
+        return builder
+                .properties(
+                        "server.port=0",
+                        "spring.mongodb.uri=" + mongo.getReplicaSetUrl("threading_benchmark"),
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=1000",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private Result run(URI base, int clients, Duration duration) throws InterruptedException {
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (int c = 0; c < clients; c++) {
+                long seed = c;
+                executor.submit(() -> latencies.add(client(http, base, new SplittableRandom(seed), deadline, errors)));
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, errors.sum());
+    }
+
+    private long[] client(HttpClient http, URI base, SplittableRandom random, long deadline, LongAdder errors) {
+        long[] samples = new long[256];
+        int count = 0;
+
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = random.nextInt(100) < TRANSFER_PERCENT
+                    ? transfer(base, random)
+                    : HttpRequest.newBuilder(base.resolve("/v1/api/wallet/balance/" + randomWallet(random))).GET().build();
+
+            long begin = System.nanoTime();
+            try {
+                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status >= 500) {
+                    errors.increment();
+                }
+            } catch (Exception e) {
+                errors.increment();
+                continue;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = System.nanoTime() - begin;
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    private HttpRequest transfer(URI base, SplittableRandom random) {
+        String body = String.format("{\"senderId\":\"%s\",\"receiverId\":\"%s\",\"amount\":0.01}",
+                randomWallet(random), randomWallet(random));
+        return HttpRequest.newBuilder(base.resolve("/v1/api/transfer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String randomWallet(SplittableRandom random) {
+        return walletIds.get(random.nextInt(walletIds.size()));
+    }
+
+    private record Result(long[] sorted, long errors) {
+
+        long requests() {
+            return sorted.length;
+        }
+
+        double percentile(double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+}
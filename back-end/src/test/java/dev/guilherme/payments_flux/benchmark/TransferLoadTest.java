@@ -0,0 +1,327 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import dev.guilherme.payments_flux.PaymentsFluxApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an open-loop mix of transfers, balance reads and financial summaries
+ * against the real HTTP endpoints, with wallets picked from a Zipf
+ * distribution so a few hot wallets take most of the traffic. Requests are
+ * issued on a fixed schedule whatever the response times are, and latency is
+ * measured from the scheduled start, so queueing in the application shows up
+ * in the percentiles instead of slowing the load down.
+ * <p>
+ * Prints throughput, p50/p99/p99.9 and the error, conflict and shed rates per
+ * operation, and writes the report plus one HdrHistogram percentile file per
+ * operation to {@code build/reports/load-test}. The percentiles cover served
+ * responses only; shed and failed requests count towards their rates alone,
+ * so fast 429s and client-side drops cannot pull the latency down.
+ * Run with {@code ./gradlew loadTest -Dload.rate=5000 -Dload.duration=PT60S};
+ * high rates need an open-files limit above {@code load.max-in-flight}.
+ */
+@Tag("load")
+@Testcontainers
+class TransferLoadTest {
+
+    private static final int WALLETS = Integer.getInteger("load.wallets", 10_000);
+    private static final int RATE = Integer.getInteger("load.rate", 5_000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT15S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final double ZIPF_EXPONENT = Double.parseDouble(System.getProperty("load.zipf-exponent", "0.99"));
+    private static final int TRANSFER_PERCENT = Integer.getInteger("load.transfer-percent", 40);
+    private static final int SUMMARY_PERCENT = Integer.getInteger("load.summary-percent", 2);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 10_000);
+    private static final Path REPORT_DIRECTORY = Path.of(System.getProperty("load.report-dir", "build/reports/load-test"));
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:latest");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static final List<String> walletIds = new ArrayList<>();
+
+    private enum Operation { TRANSFER, BALANCE, SUMMARY }
+
+    private enum Outcome {
+        OK(true), REJECTED(true), CONFLICT(true), SHED(false), ERROR(false);
+
+        private final boolean served;
+
+        Outcome(boolean served) {
+            this.served = served;
+        }
+    }
+
+    @BeforeAll
+    static void seed() {
+        try (MongoClient client = MongoClients.create(mongo.getReplicaSetUrl("load_test"))) {
+            List<Document> wallets = new ArrayList<>(WALLETS);
+            for (int i = 0; i < WALLETS; i++) {
+                ObjectId id = new ObjectId();
+                walletIds.add(id.toHexString());
+                wallets.add(new Document("_id", id)
+                        .append("fullName", "Wallet " + i)
+                        .append("cpfCnpj", String.format("%011d", i))
+                        .append("email", "wallet" + i + "@email.com")
+                        .append("password", BCRYPT_HASH)
+                        .append("balance", new Decimal128(new BigDecimal("100000000.00")))
+                        .append("version", 0L)
+                        .append("_class", "dev.guilherme.payments_flux.domain.entity.Wallet"));
+            }
+            client.getDatabase("load_test").getCollection("wallets").insertMany(wallets);
+        }
+    }
+
+    @Test
+    void runMixedWorkload() throws Exception {
+        ZipfianSampler wallets = new ZipfianSampler(WALLETS, ZIPF_EXPONENT);
+
+        try (ConfigurableApplicationContext context = start();
+             HttpClient http = HttpClient.newBuilder()
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+
+            run(http, base, wallets, WARMUP, new Stats());
+            Stats stats = new Stats();
+            run(http, base, wallets, DURATION, stats);
+
+            String report = report(stats, wallets);
+            System.out.println(report);
+            write(report, stats);
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(PaymentsFluxApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.mongodb.uri=" + mongo.getReplicaSetUrl("load_test"),
+                        "spring.data.redis.host=" + redis.getHost(),
+                        "spring.data.redis.port=" + redis.getMappedPort(6379),
+                        "server.tomcat.max-connections=" + (MAX_IN_FLIGHT + 1_000),
+                        "server.tomcat.accept-count=1000",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    /**
+     * Issues {@code RATE} requests per second for the given duration. Each
+     * request has an intended start on a fixed schedule; when more than
+     * {@code MAX_IN_FLIGHT} are outstanding the request is counted as shed by
+     * the client rather than delaying the schedule.
+     */
+    private void run(HttpClient http, URI base, ZipfianSampler wallets, Duration duration, Stats stats)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(42L);
+        Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long total = duration.toNanos() / interval;
+        long start = System.nanoTime();
+
+        try (ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * interval;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                Operation operation = pick(random);
+                HttpRequest request = request(base, operation, wallets, random);
+                if (!inFlight.tryAcquire()) {
+                    stats.count(operation, Outcome.SHED);
+                    continue;
+                }
+                sender.execute(() -> {
+                    try {
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        stats.record(operation, outcome(status), System.nanoTime() - intended);
+                    } catch (IOException e) {
+                        stats.count(operation, Outcome.ERROR);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            stats.elapsed = System.nanoTime() - start;
+        }
+    }
+
+    private static Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < TRANSFER_PERCENT) {
+            return Operation.TRANSFER;
+        }
+        return roll < TRANSFER_PERCENT + SUMMARY_PERCENT ? Operation.SUMMARY : Operation.BALANCE;
+    }
+
+    private static HttpRequest request(URI base, Operation operation, ZipfianSampler wallets, SplittableRandom random) {
+        return switch (operation) {
+            case TRANSFER -> {
+                String sender = walletIds.get(wallets.next(random));
+                String receiver = walletIds.get(wallets.next(random));
+                yield post(base, "/v1/api/transfer", String.format(
+                        "{\"senderId\":\"%s\",\"receiverId\":\"%s\",\"amount\":0.01}", sender, receiver));
+            }
+            case BALANCE -> HttpRequest.newBuilder(base.resolve("/v1/api/wallet/balance/" + walletIds.get(wallets.next(random))))
+                    .GET()
+                    .build();
+            case SUMMARY -> post(base, "/v1/api/transfer/summary", String.format(
+                    "{\"startDate\":\"%s\",\"endDate\":\"%s\"}", LocalDate.now().minusDays(1), LocalDate.now()));
+        };
+    }
+
+    private static HttpRequest post(URI base, String path, String body) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * A transfer between the same wallet is a 400, which a Zipf draw produces
+     * for the hottest wallets; it counts as rejected rather than as an error.
+     */
+    private static Outcome outcome(int status) {
+        if (status < 300) {
+            return Outcome.OK;
+        }
+        return switch (status) {
+            case 409 -> Outcome.CONFLICT;
+            case 429, 503 -> Outcome.SHED;
+            case 400, 404 -> Outcome.REJECTED;
+            default -> Outcome.ERROR;
+        };
+    }
+
+    private String report(Stats stats, ZipfianSampler wallets) {
+        double seconds = stats.elapsed / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nTarget %d req/s for %s over %d wallets (Zipf %.2f, top 1%% of wallets = %.0f%% of picks)%n",
+                RATE, DURATION, WALLETS, ZIPF_EXPONENT, wallets.share(Math.max(1, WALLETS / 100)) * 100));
+        report.append(String.format("%-10s %10s %10s %10s %10s %10s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "served/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)",
+                "rejected", "conflict", "shed", "error"));
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = stats.histogram(operation);
+            Map<Outcome, LongAdder> outcomes = stats.outcomes.get(operation);
+            long requests = outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+            report.append(String.format("%-10s %10d %10.0f %10.2f %10.2f %10.2f %10.2f %8.2f%% %8.2f%% %8.2f%% %8.2f%%%n",
+                    operation.name().toLowerCase(), requests, histogram.getTotalCount() / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    rate(outcomes.get(Outcome.REJECTED), requests),
+                    rate(outcomes.get(Outcome.CONFLICT), requests),
+                    rate(outcomes.get(Outcome.SHED), requests),
+                    rate(outcomes.get(Outcome.ERROR), requests)));
+        }
+        return report.toString();
+    }
+
+    private void write(String report, Stats stats) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+        Files.writeString(REPORT_DIRECTORY.resolve("report.txt"), report);
+        for (Operation operation : Operation.values()) {
+            Path file = REPORT_DIRECTORY.resolve(operation.name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                stats.histogram(operation).outputPercentileDistribution(out, 1_000_000.0);
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static double rate(LongAdder count, long total) {
+        return total == 0 ? 0 : count.sum() * 100.0 / total;
+    }
+
+    private static final class Stats {
+
+        private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+        private final Map<Operation, Map<Outcome, LongAdder>> outcomes = new EnumMap<>(Operation.class);
+        private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        private long elapsed;
+
+        private Stats() {
+            for (Operation operation : Operation.values()) {
+                recorders.put(operation, new Recorder(HIGHEST_LATENCY, 3));
+                Map<Outcome, LongAdder> counts = new EnumMap<>(Outcome.class);
+                for (Outcome outcome : Outcome.values()) {
+                    counts.put(outcome, new LongAdder());
+                }
+                outcomes.put(operation, counts);
+            }
+        }
+
+        /**
+         * Counts the outcome and, for a served response, records its latency.
+         */
+        void record(Operation operation, Outcome outcome, long nanos) {
+            if (outcome.served) {
+                recorders.get(operation).recordValue(Math.min(nanos, HIGHEST_LATENCY));
+            }
+            count(operation, outcome);
+        }
+
+        void count(Operation operation, Outcome outcome) {
+            outcomes.get(operation).get(outcome).increment();
+        }
+
+        /**
+         * Latencies of the served responses of the operation; read once the
+         * run is over.
+         */
+        Histogram histogram(Operation operation) {
+            return histograms.computeIfAbsent(operation, key -> recorders.get(key).getIntervalHistogram());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.guilherme.payments_flux.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws indexes in {@code [0, n)} with a Zipf distribution: index {@code k}
+ * is picked with a probability proportional to {@code 1 / (k + 1)^exponent},
+ * so a handful of indexes take most of the draws. Sampling is a binary search
+ * over the precomputed cumulative distribution.
+ */
+final class ZipfianSampler {
+
+    private final double[] cumulative;
+
+    ZipfianSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * Share of all draws that land on the {@code top} most popular indexes.
+     */
+    double share(int top) {
+        return cumulative[Math.min(top, cumulative.length) - 1];
+    }
+}
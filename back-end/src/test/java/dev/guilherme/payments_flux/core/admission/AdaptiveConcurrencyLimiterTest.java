@@ -0,0 +1,211 @@
+package dev.guilherme.payments_flux.core.admission;
+
+import dev.guilherme.payments_flux.api.exception.OverloadedException;
+import dev.guilherme.payments_flux.core.configuration.PersistenceLimitProperties;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should grow the limit while RTT stays at the no-load baseline")
+    void shouldGrowLimitAtBaselineRtt() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter, 5 * MS, limiter.limit());
+        }
+
+        assertTrue(limiter.limit() > 20);
+        assertEquals(limiter.limit(), meterRegistry.get("persistence.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when RTT shows requests queueing")
+    void shouldShrinkLimitWhenRttInflates() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        window(limiter, 5 * MS, 40);
+        int baseline = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter, 25 * MS, limiter.limit());
+        }
+
+        assertTrue(limiter.limit() < baseline);
+    }
+
+    @Test
+    @DisplayName("Should fold every sample of a window into one update")
+    void shouldFoldWindowIntoOneUpdate() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(5 * MS, 40, false);
+        }
+        limiter.update();
+
+        assertEquals(41, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Should not re-measure the no-load RTT from a window under load")
+    void shouldNotProbeUnderLoad() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read",
+                new PersistenceLimitProperties(true, 40, 4, 256, 0.9, 1, Duration.ofSeconds(1), Duration.ofMillis(100)),
+                meterRegistry);
+        window(limiter, 5 * MS, 2);
+        int baseline = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter, 25 * MS, limiter.limit());
+        }
+        assertTrue(limiter.limit() < baseline);
+
+        window(limiter, 25 * MS, 2);
+        int beforeProbe = limiter.limit();
+        window(limiter, 25 * MS, limiter.limit());
+        assertTrue(limiter.limit() > beforeProbe);
+    }
+
+    @Test
+    @DisplayName("Should leave the limit alone when traffic is far below it")
+    void shouldIgnoreAppLimitedSamples() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+
+        window(limiter, 5 * MS, 2);
+        window(limiter, 50 * MS, 2);
+
+        assertEquals(40, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on timeouts")
+    void shouldBackOffOnTimeouts() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+
+        assertThrows(QueryTimeoutException.class, () -> limiter.execute(() -> {
+            throw new QueryTimeoutException("slow replica");
+        }));
+        limiter.update();
+
+        assertEquals(36, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should shed calls beyond the current limit")
+    void shouldShedBeyondLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(4);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 4; i++) {
+                executor.submit(callable(limiter, () -> {
+                    started.countDown();
+                    release.await();
+                    return null;
+                }));
+            }
+            started.await();
+
+            Future<?> shed = executor.submit(callable(limiter, () -> "never"));
+            Exception ex = assertThrows(Exception.class, shed::get);
+            assertInstanceOf(OverloadedException.class, ex.getCause());
+            release.countDown();
+        }
+
+        assertEquals(1.0, meterRegistry.get("persistence.rejected").counter().count());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should hold a scan slot until the returned stream is closed")
+    void shouldHoldSlotUntilStreamClosed() throws Throwable {
+        PersistenceLimiters limiters = new PersistenceLimiters(
+                new PersistenceLimitProperties(true, 1, 1, 256, 0.9, 0, Duration.ofSeconds(1), Duration.ofMillis(100)),
+                meterRegistry);
+        AdaptiveConcurrencyLimiter scans = limiters.forMethod(
+                TransferRepository.class.getMethod("streamByCreatedAtRange", LocalDateTime.class, LocalDateTime.class));
+        assertSame(limiters.get(PersistenceLimiters.OperationClass.SCAN), scans);
+
+        Stream<String> cursor = scans.execute(() -> Stream.of("a", "b"));
+
+        assertEquals(1, scans.inFlight());
+        assertThrows(OverloadedException.class, () -> scans.execute(() -> Stream.of("c")));
+        assertEquals(List.of("a", "b"), cursor.toList());
+        assertEquals(1, scans.inFlight());
+
+        cursor.close();
+        cursor.close();
+
+        assertEquals(0, scans.inFlight());
+    }
+
+    private static <T> Callable<T> callable(AdaptiveConcurrencyLimiter limiter, AdaptiveConcurrencyLimiter.Operation<T> operation) {
+        return () -> {
+            try {
+                return limiter.execute(operation);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should keep a separate limit for each operation class")
+    void shouldKeepSeparateLimitPerOperationClass() throws Exception {
+        PersistenceLimiters limiters = new PersistenceLimiters(
+                new PersistenceLimitProperties(true, 40, 4, 256, 0.9, 0, Duration.ofSeconds(1), Duration.ofMillis(100)),
+                meterRegistry);
+        AdaptiveConcurrencyLimiter reads = limiters.get(PersistenceLimiters.OperationClass.READ);
+        AdaptiveConcurrencyLimiter scans = limiters.get(PersistenceLimiters.OperationClass.SCAN);
+
+        window(reads, MS, 40);
+        window(scans, 5 * MS, 40);
+        for (int i = 0; i < 10; i++) {
+            window(scans, 50 * MS, scans.limit());
+        }
+
+        assertTrue(scans.limit() < 40);
+        assertEquals(41, reads.limit());
+        assertSame(reads, limiters.forMethod(WalletRepository.class.getMethod("findBalanceById", String.class)));
+        assertSame(scans, limiters.forMethod(TransferRepository.class.getMethod("findTransferBySenderId", String.class)));
+        assertSame(limiters.get(PersistenceLimiters.OperationClass.WRITE),
+                limiters.forMethod(WalletRepository.class.getMethod("updateBalance", String.class, long.class, BigDecimal.class)));
+    }
+
+    private static void window(AdaptiveConcurrencyLimiter limiter, long rttNanos, int concurrency) {
+        limiter.onSample(rttNanos, concurrency, false);
+        limiter.update();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("read",
+                new PersistenceLimitProperties(true, initialLimit, 4, 256, 0.9, 0, Duration.ofSeconds(1), Duration.ofMillis(100)),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,141 @@
+package dev.guilherme.payments_flux.core.admission;
+
+import dev.guilherme.payments_flux.api.exception.TooManyRequestsException;
+import dev.guilherme.payments_flux.core.configuration.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should reject a wallet over its limit without affecting other wallets")
+    void shouldRejectWalletOverLimit() {
+        AdmissionControl admission = admission(10, 2);
+
+        AdmissionControl.Permit first = admission.acquire("wallet-a");
+        AdmissionControl.Permit second = admission.acquire("wallet-a");
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> admission.acquire("wallet-a"));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertEquals(2, admission.inFlight());
+
+        try (AdmissionControl.Permit other = admission.acquire("wallet-b")) {
+            assertEquals(3, admission.inFlight());
+        }
+
+        first.close();
+        admission.acquire("wallet-a").close();
+        second.close();
+
+        assertEquals(0, admission.inFlight());
+        assertEquals(0, admission.inFlight("wallet-a"));
+        assertEquals(1.0, meterRegistry.get("admission.rejected").tag("limit", "wallet").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject once the global limit is reached")
+    void shouldRejectOverGlobalLimit() {
+        AdmissionControl admission = admission(2, 2);
+
+        admission.acquire("wallet-a");
+        admission.acquire("wallet-b");
+
+        assertThrows(TooManyRequestsException.class, () -> admission.acquire("wallet-c"));
+        assertEquals(0, admission.inFlight("wallet-c"));
+        assertEquals(1.0, meterRegistry.get("admission.rejected").tag("limit", "global").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should never admit more than the wallet limit under contention")
+    void shouldHoldLimitUnderContention() throws Exception {
+        AdmissionControl admission = admission(1_000, 3);
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 16; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < 5_000; n++) {
+                        try (AdmissionControl.Permit permit = admission.acquire("hot-wallet")) {
+                            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                            concurrent.decrementAndGet();
+                        } catch (TooManyRequestsException ignored) {
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertTrue(maxConcurrent.get() <= 3);
+        assertEquals(0, admission.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should limit a hot receiver paid by many senders")
+    void shouldLimitHotReceiver() {
+        AdmissionControl admission = admission(1_000, 3);
+        List<AdmissionControl.Permit> permits = new ArrayList<>();
+        int rejected = 0;
+
+        for (int i = 0; i < 20; i++) {
+            try {
+                permits.add(admission.acquire("sender-" + i, "merchant"));
+            } catch (TooManyRequestsException ex) {
+                rejected++;
+            }
+        }
+
+        assertEquals(3, admission.inFlight("merchant"));
+        assertEquals(3, permits.size());
+        assertEquals(17, rejected);
+
+        permits.forEach(AdmissionControl.Permit::close);
+        assertEquals(0, admission.inFlight());
+        assertEquals(0, admission.inFlight("merchant"));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, admission.inFlight("sender-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should take a stripe shared by sender and receiver once")
+    void shouldTakeSharedStripeOnce() {
+        AdmissionControl admission = admission(10, 1);
+
+        try (AdmissionControl.Permit permit = admission.acquire("wallet-a", "wallet-a")) {
+            assertEquals(1, admission.inFlight("wallet-a"));
+        }
+        assertEquals(0, admission.inFlight("wallet-a"));
+    }
+
+    @Test
+    @DisplayName("Should admit everything when disabled")
+    void shouldAdmitEverythingWhenDisabled() {
+        AdmissionControl admission = new AdmissionControl(
+                new AdmissionProperties(false, 0, 0, 16, Duration.ofSeconds(1)), meterRegistry);
+
+        assertSame(AdmissionControl.Permit.NONE, admission.acquire("wallet-a"));
+    }
+
+    private AdmissionControl admission(int globalLimit, int perWalletLimit) {
+        return new AdmissionControl(
+                new AdmissionProperties(true, globalLimit, perWalletLimit, 64, Duration.ofSeconds(2)), meterRegistry);
+    }
+}
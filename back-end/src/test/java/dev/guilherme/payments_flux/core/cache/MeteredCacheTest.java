@@ -0,0 +1,55 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Cache cache = new MeteredCacheManager(new ConcurrentMapCacheManager("balance-cache"), meterRegistry)
+            .getCache("balance-cache");
+
+    @Test
+    @DisplayName("Should count hits, misses, puts and evictions per cache")
+    void shouldCountCacheOperations() {
+        assertNull(cache.get("wallet-a"));
+        cache.put("wallet-a", BigDecimal.TEN);
+        assertEquals(BigDecimal.TEN, cache.get("wallet-a", BigDecimal.class));
+        cache.evict("wallet-a");
+
+        assertEquals(1, count("cache.gets", "hit"));
+        assertEquals(1, count("cache.gets", "miss"));
+        assertEquals(1, meterRegistry.get("cache.puts").tag("cache", "balance-cache").counter().count());
+        assertEquals(1, meterRegistry.get("cache.evictions").tag("cache", "balance-cache").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count a lookup with a loader as a miss only when the loader runs")
+    void shouldCountLoaderLookups() {
+        assertEquals(BigDecimal.ONE, cache.get("wallet-b", () -> BigDecimal.ONE));
+        assertEquals(BigDecimal.ONE, cache.get("wallet-b", () -> BigDecimal.TWO));
+
+        assertEquals(1, count("cache.gets", "hit"));
+        assertEquals(1, count("cache.gets", "miss"));
+    }
+
+    @Test
+    @DisplayName("Should share counters with bulk paths registering the same cache")
+    void shouldShareCountersWithBulkPaths() {
+        cache.get("wallet-c");
+        CacheMeters.of("balance-cache", meterRegistry).misses().increment(2);
+
+        assertEquals(3, count("cache.gets", "miss"));
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name).tag("cache", "balance-cache").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,173 @@
+package dev.guilherme.payments_flux.core.cache;
+
+import dev.guilherme.payments_flux.core.configuration.CacheBreakerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ResilientCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheBreakerProperties properties = new CacheBreakerProperties(
+            true, 3, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(30), 100, 2);
+
+    private Cache remote;
+    private CacheCircuitBreaker breaker;
+    private ResilientCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("balance-cache", false));
+        breaker = new CacheCircuitBreaker(properties, meterRegistry);
+        cache = new ResilientCache(remote, new LocalFallbackCache("balance-cache", properties.localTtl(), 100),
+                breaker, properties.maxPendingEvictions());
+    }
+
+    @Test
+    @DisplayName("Should serve from Redis while it is healthy")
+    void shouldServeFromRedisWhenHealthy() {
+        cache.put("wallet-a", BigDecimal.TEN);
+
+        assertEquals(BigDecimal.TEN, cache.get("wallet-a", BigDecimal.class));
+        assertEquals(BigDecimal.TEN, remote.get("wallet-a", BigDecimal.class));
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive failures and stop calling Redis")
+    void shouldOpenAfterConsecutiveFailures() {
+        doThrow(new RedisConnectionFailureException("down")).when(remote).get("wallet-a");
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(cache.get("wallet-a"));
+        }
+        assertTrue(breaker.isOpen());
+
+        cache.put("wallet-a", BigDecimal.ONE);
+        assertEquals(BigDecimal.ONE, cache.get("wallet-a").get());
+        verify(remote, times(3)).get("wallet-a");
+        verify(remote, never()).put(any(), any());
+        assertEquals(1.0, meterRegistry.get("cache.breaker.opened").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should propagate a loader failure without tripping the breaker or loading twice")
+    void shouldPropagateLoaderFailureWithoutTrippingBreaker() {
+        CacheBreakerProperties tripOnFirst = new CacheBreakerProperties(
+                true, 1, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(30), 100, 2);
+        CacheCircuitBreaker strictBreaker = new CacheCircuitBreaker(tripOnFirst, new SimpleMeterRegistry());
+        ResilientCache strictCache = new ResilientCache(remote,
+                new LocalFallbackCache("balance-cache", properties.localTtl(), 100), strictBreaker, 2);
+        AtomicInteger loads = new AtomicInteger();
+        DataAccessResourceFailureException mongoDown = new DataAccessResourceFailureException("mongo down");
+
+        Cache.ValueRetrievalException ex = assertThrows(Cache.ValueRetrievalException.class,
+                () -> strictCache.get("wallet-a", () -> {
+                    loads.incrementAndGet();
+                    throw mongoDown;
+                }));
+
+        assertSame(mongoDown, ex.getCause());
+        assertEquals(1, loads.get());
+        assertFalse(strictBreaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("Should load through to Redis on a miss")
+    void shouldLoadThroughToRedisOnMiss() {
+        assertEquals(BigDecimal.TEN, cache.get("wallet-a", () -> BigDecimal.TEN));
+        assertEquals(BigDecimal.TEN, cache.get("wallet-a", () -> BigDecimal.ONE));
+        assertEquals(BigDecimal.TEN, remote.get("wallet-a", BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("Should replay evictions missed while Redis was bypassed")
+    void shouldReplayMissedEvictions() {
+        remote.put("wallet-a", BigDecimal.TEN);
+        breaker.trip();
+
+        cache.evict("wallet-a");
+
+        assertEquals(BigDecimal.TEN, remote.get("wallet-a", BigDecimal.class));
+        assertEquals(1, cache.pendingEvictions());
+
+        cache.replayEvictions();
+
+        assertNull(remote.get("wallet-a"));
+        assertEquals(0, cache.pendingEvictions());
+    }
+
+    @Test
+    @DisplayName("Should replay an eviction that failed while the breaker stayed closed")
+    void shouldReplayEvictionFailedWhileClosed() {
+        CacheManager remoteManager = mock(CacheManager.class);
+        when(remoteManager.getCache("balance-cache")).thenReturn(remote);
+        ResilientCacheManager manager = new ResilientCacheManager(remoteManager,
+                mock(RedisConnectionFactory.class), breaker, properties, meterRegistry);
+        Cache managed = manager.getCache("balance-cache");
+        remote.put("wallet-a", BigDecimal.TEN);
+        doThrow(new RedisConnectionFailureException("blip")).doCallRealMethod().when(remote).evict("wallet-a");
+
+        managed.evict("wallet-a");
+
+        assertFalse(breaker.isOpen());
+        assertEquals(BigDecimal.TEN, remote.get("wallet-a", BigDecimal.class));
+
+        manager.probe();
+
+        assertNull(remote.get("wallet-a"));
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("Should evict a key with a pending eviction before reading it from Redis")
+    void shouldEvictPendingKeyBeforeRead() {
+        remote.put("wallet-a", BigDecimal.TEN);
+        doThrow(new RedisConnectionFailureException("blip")).doCallRealMethod().when(remote).evict("wallet-a");
+
+        cache.evict("wallet-a");
+
+        assertNull(cache.get("wallet-a"));
+        assertEquals(0, cache.pendingEvictions());
+    }
+
+    @Test
+    @DisplayName("Should clear the whole Redis cache when too many evictions were missed")
+    void shouldClearWhenPendingEvictionsOverflow() {
+        remote.put("wallet-d", BigDecimal.TEN);
+        breaker.trip();
+
+        cache.evict("wallet-a");
+        cache.evict("wallet-b");
+        cache.evict("wallet-c");
+        cache.replayEvictions();
+
+        verify(remote).clear();
+        assertNull(remote.get("wallet-d"));
+    }
+
+    @Test
+    @DisplayName("Should count slow Redis calls as failures")
+    void shouldCountSlowCallsAsFailures() {
+        CacheBreakerProperties strict = new CacheBreakerProperties(
+                true, 1, Duration.ZERO, Duration.ofSeconds(1), Duration.ofSeconds(30), 100, 2);
+        CacheCircuitBreaker strictBreaker = new CacheCircuitBreaker(strict, new SimpleMeterRegistry());
+        strictBreaker.onSuccess(1);
+
+        assertTrue(strictBreaker.isOpen());
+    }
+}
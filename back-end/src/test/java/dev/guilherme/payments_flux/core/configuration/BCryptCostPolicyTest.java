@@ -0,0 +1,36 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BCryptCostPolicyTest {
+
+    @Test
+    @DisplayName("Should climb cost while the doubled hash time stays within the target")
+    void shouldClimbCostWithinTarget() {
+        // 10 ms at cost 10 -> 20, 40, 80 ms; 160 ms would exceed 100 ms.
+        int cost = BCryptCostPolicy.calibrate(Duration.ofMillis(100), 10, 14, c -> Duration.ofMillis(10).toNanos());
+
+        assertEquals(13, cost);
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured cost bounds")
+    void shouldStayWithinBounds() {
+        assertEquals(10, BCryptCostPolicy.calibrate(Duration.ofMillis(100), 10, 14, c -> Duration.ofMillis(500).toNanos()));
+        assertEquals(14, BCryptCostPolicy.calibrate(Duration.ofMillis(100), 10, 14, c -> Duration.ofMicros(10).toNanos()));
+    }
+
+    @Test
+    @DisplayName("Should use the fixed cost when one is configured")
+    void shouldUseFixedCost() {
+        PasswordHashProperties properties = new PasswordHashProperties(
+                0, 256, 64, 32, Duration.ofSeconds(2), Duration.ofSeconds(1), 12, Duration.ofMillis(100), 10, 14);
+
+        assertEquals(12, BCryptCostPolicy.resolve(properties));
+    }
+}
@@ -0,0 +1,24 @@
+package dev.guilherme.payments_flux.core.configuration;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("prod")
+class ProdProfileIntegrationTest extends BaseIntegrationTest {
+
+    @Test
+    @DisplayName("Should leave springdoc out of the production context")
+    void shouldNotServeApiDocsInProduction() throws Exception {
+        assertNull(webApplicationContext.getBeanProvider(OpenApiWebMvcResource.class).getIfAvailable());
+
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isNotFound());
+    }
+}
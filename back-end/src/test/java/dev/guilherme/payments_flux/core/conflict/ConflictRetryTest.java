@@ -0,0 +1,107 @@
+package dev.guilherme.payments_flux.core.conflict;
+
+import com.mongodb.MongoException;
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.api.exception.WalletConflictException;
+import dev.guilherme.payments_flux.core.configuration.ConflictRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictRetryTest {
+
+    @Test
+    @DisplayName("Should retry a conflicting action until it succeeds")
+    void shouldRetryUntilSuccess() {
+        ConflictTracker tracker = tracker();
+        ConflictRetry retry = new ConflictRetry(properties(4, Duration.ofSeconds(1)), tracker);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new WalletConflictException("wallet-a");
+            }
+            return "done";
+        }, "wallet-a", "wallet-b");
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        ConflictTracker.Report report = tracker.report();
+        assertEquals(2, report.conflicts());
+        assertEquals(2, report.retries());
+        assertEquals(0, report.exhausted());
+        assertEquals(new ConflictTracker.WalletConflicts("wallet-a", 2), report.hottestWallets().getFirst());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the conflict once the attempts are exhausted")
+    void shouldRethrowAfterMaxAttempts() {
+        ConflictTracker tracker = tracker();
+        ConflictRetry retry = new ConflictRetry(properties(3, Duration.ofSeconds(1)), tracker);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("version mismatch");
+        }, "wallet-a", "wallet-b"));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, tracker.report().exhausted());
+        assertEquals(3, tracker.estimate("wallet-a"));
+        assertEquals(3, tracker.estimate("wallet-b"));
+    }
+
+    @Test
+    @DisplayName("Should stop retrying when the next backoff would cross the deadline")
+    void shouldRespectDeadline() {
+        ConflictRetry retry = new ConflictRetry(properties(100, Duration.ZERO), tracker());
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(WalletConflictException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new WalletConflictException("wallet-a");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry errors that are not conflicts")
+    void shouldNotRetryOtherErrors() {
+        ConflictRetry retry = new ConflictRetry(properties(4, Duration.ofSeconds(1)), tracker());
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(BusinessException.class, () -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new BusinessException("Insufficient balance");
+        }, "wallet-a"));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should treat Mongo write conflicts as conflicts")
+    void shouldRecognizeMongoWriteConflicts() {
+        MongoException writeConflict = new MongoException(112, "WriteConflict");
+
+        assertTrue(ConflictRetry.isConflict(new DataIntegrityViolationException("write conflict", writeConflict)));
+        assertFalse(ConflictRetry.isConflict(new DataIntegrityViolationException("duplicate key",
+                new MongoException(11000, "E11000 duplicate key"))));
+    }
+
+    private static ConflictTracker tracker() {
+        return new ConflictTracker(properties(4, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+    }
+
+    private static ConflictRetryProperties properties(int maxAttempts, Duration deadline) {
+        return new ConflictRetryProperties(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(4), 2.0,
+                deadline, 5, Duration.ofMinutes(1));
+    }
+}
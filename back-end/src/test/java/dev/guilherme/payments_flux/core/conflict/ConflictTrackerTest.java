@@ -0,0 +1,76 @@
+package dev.guilherme.payments_flux.core.conflict;
+
+import dev.guilherme.payments_flux.core.configuration.ConflictRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictTrackerTest {
+
+    private final ConflictTracker tracker = new ConflictTracker(new ConflictRetryProperties(
+            4, Duration.ofMillis(1), Duration.ofMillis(4), 2.0, Duration.ofSeconds(1), 3, Duration.ofMinutes(1)),
+            new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Should rank the wallets with the most conflicts first")
+    void shouldRankHottestWallets() {
+        record("wallet-a", 50);
+        record("wallet-b", 30);
+        record("wallet-c", 10);
+        record("wallet-d", 1);
+        record("wallet-e", 40);
+
+        List<String> hottest = tracker.report().hottestWallets().stream()
+                .map(ConflictTracker.WalletConflicts::walletId)
+                .toList();
+
+        assertEquals(List.of("wallet-a", "wallet-e", "wallet-b"), hottest);
+        assertEquals(131, tracker.report().conflicts());
+    }
+
+    @Test
+    @DisplayName("Should count every conflict recorded concurrently")
+    void shouldCountConcurrentConflicts() throws InterruptedException {
+        int threads = 8;
+        int perThread = 1_000;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    record("wallet-a", perThread);
+                    done.countDown();
+                });
+            }
+            done.await();
+        }
+
+        assertEquals((long) threads * perThread, tracker.estimate("wallet-a"));
+    }
+
+    @Test
+    @DisplayName("Should halve counts on decay and forget wallets that cooled down")
+    void shouldDecayCounts() {
+        record("wallet-a", 8);
+        record("wallet-b", 1);
+
+        tracker.decay();
+
+        assertEquals(4, tracker.estimate("wallet-a"));
+        assertEquals(List.of(new ConflictTracker.WalletConflicts("wallet-a", 4)), tracker.report().hottestWallets());
+    }
+
+    private void record(String walletId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.recordConflict(walletId);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.guilherme.payments_flux.core.jfr;
+
+import dev.guilherme.payments_flux.api.dto.TransferDTO;
+import dev.guilherme.payments_flux.api.exception.BusinessException;
+import dev.guilherme.payments_flux.domain.service.transfer.TransferService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WalletOperationEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should emit one event per phase with the operation and wallet ids")
+    void shouldEmitPhaseEvents() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            try (OperationTimeline timeline = OperationTimeline.start(
+                    OperationTimeline.Operation.TRANSFER, "sender", "receiver")) {
+                timeline.phase(OperationTimeline.Phase.LOOKUP);
+                timeline.phase(OperationTimeline.Phase.VALIDATE);
+                timeline.phase(OperationTimeline.Phase.INSERT);
+            }
+        });
+
+        List<RecordedEvent> phases = events.stream()
+                .filter(event -> event.getEventType().getName().equals(WalletPhaseEvent.NAME))
+                .toList();
+        assertEquals(List.of("lookup", "validate", "insert"), phases.stream().map(event -> event.getString("phase")).toList());
+        assertTrue(phases.stream().allMatch(event -> "transfer".equals(event.getString("operation"))
+                && "sender".equals(event.getString("walletId"))
+                && "receiver".equals(event.getString("counterpartId"))));
+    }
+
+    @Test
+    @DisplayName("Should emit an operation event with the rejection reason around the service call")
+    void shouldEmitOperationEventWithOutcome() throws Exception {
+        TransferService target = mock(TransferService.class);
+        when(target.create(any())).thenThrow(BusinessException.INSUFFICIENT_BALANCE);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(TransferService.class);
+        proxyFactory.addAdvice(WalletOperationInterceptor.forServices());
+        TransferService service = (TransferService) proxyFactory.getProxy();
+
+        List<RecordedEvent> events = record(() -> {
+            assertThrows(BusinessException.class,
+                    () -> service.create(new TransferDTO.CreateRequest("sender", "receiver", BigDecimal.TEN)));
+            service.findById("transfer");
+        });
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.getFirst();
+        assertEquals(WalletOperationEvent.NAME, event.getEventType().getName());
+        assertEquals("transfer", event.getString("operation"));
+        assertEquals("insufficient_balance", event.getString("outcome"));
+        assertEquals("sender", event.getString("walletId"));
+        assertEquals("receiver", event.getString("counterpartId"));
+    }
+
+    @Test
+    @DisplayName("Should not emit anything when no recording enables the events")
+    void shouldStayDisabledWithoutRecording() {
+        OperationTimeline timeline = OperationTimeline.start(OperationTimeline.Operation.DEPOSIT, "wallet", null);
+
+        assertSame(timeline, OperationTimeline.start(OperationTimeline.Operation.WITHDRAW, "other", null));
+        timeline.phase(OperationTimeline.Phase.SAVE);
+        timeline.close();
+    }
+
+    private List<RecordedEvent> record(Runnable operation) throws Exception {
+        Path file = directory.resolve("wallet-operations.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(WalletOperationEvent.NAME);
+            recording.enable(WalletPhaseEvent.NAME);
+            recording.start();
+            operation.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
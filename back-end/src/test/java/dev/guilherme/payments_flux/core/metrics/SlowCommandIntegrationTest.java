@@ -0,0 +1,61 @@
+package dev.guilherme.payments_flux.core.metrics;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "payments-flux.slow-commands.threshold=0ms")
+class SlowCommandIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SlowCommandRecorder slowCommandRecorder;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), Transfer.class);
+        mongoTemplate.insert(new Transfer(null, "slow-sender", "slow-receiver", BigDecimal.TEN, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Should record slow commands by shape and explain them in the background")
+    void shouldRecordAndExplainSlowCommands() throws Exception {
+        SlowCommandRecorder.SlowCommand explained = null;
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (explained == null && System.nanoTime() < deadline) {
+            mongoTemplate.find(Query.query(Criteria.where("senderId").is("slow-sender")), Transfer.class);
+            explained = slowCommandRecorder.report().slowest().stream()
+                    .filter(slow -> "transfers".equals(slow.collection()) && slow.plan() != null)
+                    .filter(slow -> slow.shape().contains("\"senderId\": \"?\""))
+                    .findFirst()
+                    .orElse(null);
+            Thread.sleep(20);
+        }
+
+        assertNotNull(explained);
+        assertEquals("find", explained.command());
+        assertFalse(explained.shape().contains("slow-sender"));
+        assertNull(explained.plan().error());
+        assertTrue(explained.plan().indexes().contains("transfers_senderId_createdAt"));
+        assertFalse(explained.plan().collectionScan());
+
+        mockMvc.perform(get("/actuator/slowcommands"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,136 @@
+package dev.guilherme.payments_flux.core.metrics;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import dev.guilherme.payments_flux.core.configuration.SlowCommandProperties;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SlowCommandRecorderTest {
+
+    private static final BsonDocument EXPLAIN = BsonDocument.parse(
+            "{queryPlanner: {winningPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'transfers_senderId_createdAt'}}}}");
+
+    private MongoDatabase database;
+    private SlowCommandRecorder recorder;
+    private int requestId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        when(database.runCommand(any(BsonDocument.class), eq(BsonDocument.class))).thenReturn(EXPLAIN);
+        MongoClient mongoClient = mock(MongoClient.class);
+        when(mongoClient.getDatabase("payments")).thenReturn(database);
+        ObjectProvider<MongoClient> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(mongoClient);
+
+        recorder = new SlowCommandRecorder(new SlowCommandProperties(true, Duration.ofMillis(10), Map.of(), 3,
+                true, "queryPlanner", Duration.ofMinutes(1), 16), provider, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should record the collection and filter shape of the first slow run")
+    void shouldRecordShapeOfFirstSlowRun() {
+        run(find("transfers", "senderId", "wallet-1"), 50);
+
+        SlowCommandRecorder.SlowCommand slow = recorder.report().slowest().getFirst();
+        assertEquals("transfers", slow.collection());
+        assertTrue(slow.shape().contains("\"senderId\": \"?\""));
+        assertFalse(slow.shape().contains("wallet-1"));
+        assertNull(slow.plan());
+    }
+
+    @Test
+    @DisplayName("Should capture only the next run of the armed shape and share its plan")
+    void shouldArmByShape() {
+        run(find("transfers", "senderId", "wallet-1"), 50);
+        run(find("wallets", "email", "holder@email.com"), 40);
+        run(find("transfers", "senderId", "wallet-2"), 30);
+
+        verify(database, times(1)).runCommand(
+                argThat((BsonDocument explain) -> explain.getDocument("explain").getString("find").getValue().equals("transfers")),
+                eq(BsonDocument.class));
+        List<SlowCommandRecorder.SlowCommand> slowest = recorder.report().slowest();
+        assertEquals(List.of("transfers", "wallets", "transfers"),
+                slowest.stream().map(SlowCommandRecorder.SlowCommand::collection).toList());
+        assertNotNull(slowest.get(0).plan());
+        assertNull(slowest.get(1).plan());
+        assertEquals(List.of("transfers_senderId_createdAt"), slowest.get(2).plan().indexes());
+    }
+
+    @Test
+    @DisplayName("Should treat $in lists of any length as the same shape")
+    void shouldNormalizeInLists() {
+        run(in("wallet-1", "wallet-2"), 50);
+        run(in("wallet-3", "wallet-4", "wallet-5"), 30);
+
+        verify(database, times(1)).runCommand(any(BsonDocument.class), eq(BsonDocument.class));
+        assertTrue(recorder.report().slowest().stream().allMatch(slow -> slow.plan() != null));
+    }
+
+    @Test
+    @DisplayName("Should keep the slowest commands rather than the most recent")
+    void shouldKeepSlowest() {
+        run(find("transfers", "senderId", "a"), 80);
+        run(find("transfers", "receiverId", "b"), 20);
+        run(find("wallets", "email", "c"), 60);
+        run(find("wallets", "cpfCnpj", "d"), 15);
+        run(find("wallets", "fullName", "e"), 70);
+
+        assertEquals(List.of(80.0, 70.0, 60.0), recorder.report().slowest().stream()
+                .map(SlowCommandRecorder.SlowCommand::elapsedMillis)
+                .toList());
+        assertEquals(5, recorder.report().slowCommands());
+    }
+
+    private void run(BsonDocument command, long elapsedMillis) {
+        int id = ++requestId;
+        String name = command.getFirstKey();
+        CommandStartedEvent started = mock(CommandStartedEvent.class);
+        when(started.getRequestId()).thenReturn(id);
+        when(started.getCommandName()).thenReturn(name);
+        when(started.getDatabaseName()).thenReturn("payments");
+        when(started.getCommand()).thenReturn(command);
+        CommandSucceededEvent succeeded = mock(CommandSucceededEvent.class);
+        when(succeeded.getRequestId()).thenReturn(id);
+        when(succeeded.getCommandName()).thenReturn(name);
+        when(succeeded.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(elapsedMillis));
+
+        recorder.commandStarted(started);
+        recorder.commandSucceeded(succeeded);
+    }
+
+    private static BsonDocument find(String collection, String field, String value) {
+        return new BsonDocument("find", new BsonString(collection))
+                .append("filter", new BsonDocument(field, new BsonString(value)))
+                .append("limit", new BsonInt32(1));
+    }
+
+    private static BsonDocument in(String... ids) {
+        BsonArray values = new BsonArray();
+        for (String id : ids) {
+            values.add(new BsonString(id));
+        }
+        return new BsonDocument("find", new BsonString("wallets"))
+                .append("filter", new BsonDocument("_id", new BsonDocument("$in", values)));
+    }
+}
@@ -0,0 +1,59 @@
+package dev.guilherme.payments_flux.core.tracing;
+
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesSpanExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should rotate the span file past its size and keep only the configured history")
+    void shouldRotateAndBoundHistory() throws Exception {
+        Path file = directory.resolve("spans.jsonl");
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(file, 1, 2, JsonMapper.builder().build());
+
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()) {
+            Tracer tracer = tracerProvider.get("test");
+            for (int i = 0; i < 5; i++) {
+                tracer.spanBuilder("span-" + i).startSpan().end();
+            }
+        }
+
+        assertFalse(Files.exists(file));
+        assertTrue(Files.readString(directory.resolve("spans.jsonl.1")).contains("\"name\":\"span-4\""));
+        assertTrue(Files.readString(directory.resolve("spans.jsonl.2")).contains("\"name\":\"span-3\""));
+        assertFalse(Files.exists(directory.resolve("spans.jsonl.3")));
+    }
+
+    @Test
+    @DisplayName("Should keep appending to the current file below the size limit")
+    void shouldAppendBelowLimit() throws Exception {
+        Path file = directory.resolve("spans.jsonl");
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(file, 1 << 20, 2, JsonMapper.builder().build());
+
+        try (SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build()) {
+            Tracer tracer = tracerProvider.get("test");
+            tracer.spanBuilder("first").startSpan().end();
+            tracer.spanBuilder("second").startSpan().end();
+        }
+
+        assertEquals(2, Files.readAllLines(file).size());
+        assertFalse(Files.exists(directory.resolve("spans.jsonl.1")));
+    }
+}
@@ -0,0 +1,124 @@
+package dev.guilherme.payments_flux.core.tracing;
+
+import dev.guilherme.payments_flux.core.configuration.TracingProperties;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanExporterTest {
+
+    private final List<SpanData> exported = new ArrayList<>();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    @DisplayName("Should keep every span of a trace whose root exceeds the latency threshold")
+    void shouldKeepSlowTraces() {
+        Tracer tracer = tracer(0.0);
+
+        trace(tracer, 600, StatusCode.UNSET);
+
+        assertEquals(3, exported.size());
+        assertEquals(1, exported.stream().map(SpanData::getTraceId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should keep a fast trace when any of its spans failed")
+    void shouldKeepFailedTraces() {
+        Tracer tracer = tracer(0.0);
+
+        trace(tracer, 10, StatusCode.ERROR);
+
+        assertEquals(3, exported.size());
+    }
+
+    @Test
+    @DisplayName("Should drop fast successful traces outside the sampled ratio")
+    void shouldDropFastTraces() {
+        Tracer tracer = tracer(0.0);
+
+        for (int i = 0; i < 20; i++) {
+            trace(tracer, 10, StatusCode.UNSET);
+        }
+
+        assertTrue(exported.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep roughly the sampled ratio of fast traces, always whole")
+    void shouldSampleFastTracesByTraceId() {
+        Tracer tracer = tracer(0.5);
+
+        for (int i = 0; i < 400; i++) {
+            trace(tracer, 10, StatusCode.UNSET);
+        }
+
+        long traces = exported.stream().map(SpanData::getTraceId).distinct().count();
+        assertEquals(traces * 3, exported.size());
+        assertTrue(traces > 120 && traces < 280, "kept " + traces + " of 400 traces");
+    }
+
+    private Tracer tracer(double sampleRatio) {
+        TracingProperties properties = new TracingProperties(true, TracingProperties.Exporter.FILE,
+                Path.of("unused"), DataSize.ofMegabytes(64), 3, "unused", Duration.ofMillis(500), sampleRatio, 100, Duration.ofSeconds(30));
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new TailSamplingSpanExporter(new CapturingExporter(), properties)))
+                .build();
+        return tracerProvider.get("test");
+    }
+
+    private static void trace(Tracer tracer, long rootMillis, StatusCode childStatus) {
+        long start = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        Span root = tracer.spanBuilder("POST /v1/api/transfer").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        Context context = Context.root().with(root);
+
+        Span service = tracer.spanBuilder("TransferService.create").setParent(context).startSpan();
+        Span mongo = tracer.spanBuilder("update wallets").setParent(context.with(service)).startSpan();
+        mongo.setStatus(childStatus);
+        mongo.end();
+        service.end();
+        root.end(start + TimeUnit.MILLISECONDS.toNanos(rootMillis), TimeUnit.NANOSECONDS);
+    }
+
+    private class CapturingExporter implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.guilherme.payments_flux.core.validator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpfCnpjTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "52998224725", "529.982.247-25", "15084605078",
+            "11222333000181", "11.222.333/0001-81",
+            "12ABC34501DE35", "12.ABC.345/01DE-35", "12.abc.345/01de-35"
+    })
+    @DisplayName("Should accept valid CPFs, CNPJs and alphanumeric CNPJs")
+    void shouldAcceptValidNumbers(String value) {
+        assertTrue(CpfCnpj.isValid(value));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "52998224724", "11222333000182", "12ABC34501DE36",
+            "00000000000", "11111111111", "00000000000000",
+            "5299822472", "529982247250", "112223330001811",
+            "5299822472A", "12ABC34501DEA5", "529#982#247#25", ""
+    })
+    @DisplayName("Should reject wrong check digits, repeated digits, bad lengths and misplaced letters")
+    void shouldRejectInvalidNumbers(String value) {
+        assertFalse(CpfCnpj.isValid(value));
+    }
+
+    @Test
+    @DisplayName("Should normalize punctuation and case, reusing canonical strings")
+    void shouldNormalize() {
+        String canonical = "12ABC34501DE35";
+
+        assertSame(canonical, CpfCnpj.normalize(canonical));
+        assertEquals(canonical, CpfCnpj.normalize("12.abc.345/01de-35"));
+        assertEquals("52998224725", CpfCnpj.normalize("529.982.247-25"));
+        assertNull(CpfCnpj.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Should report the invalid entries of a batch and leave blanks to @NotBlank")
+    void shouldFindInvalidEntriesInBatch() {
+        BitSet invalid = CpfCnpj.findInvalid(Arrays.asList(
+                "52998224725", "52998224724", null, " ", "12ABC34501DE35", "123"));
+
+        assertEquals(BitSet.valueOf(new long[]{0b100010}), invalid);
+    }
+}
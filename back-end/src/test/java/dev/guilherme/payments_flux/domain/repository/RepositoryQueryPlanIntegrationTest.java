@@ -0,0 +1,228 @@
+package dev.guilherme.payments_flux.domain.repository;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.entity.Wallet;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryQueryPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final int WALLETS = 20;
+    private static final int TRANSFERS_PER_SENDER = 25;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    private static final Set<String> SESSION_FIELDS = Set.of("$db", "lsid", "txnNumber", "autocommit",
+            "startTransaction", "$clusterTime", "$readPreference", "readConcern", "writeConcern");
+
+    private final List<Wallet> wallets = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transferRepository.deleteAll();
+        walletRepository.deleteAll();
+        wallets.clear();
+
+        for (int i = 0; i < WALLETS; i++) {
+            Wallet wallet = new Wallet();
+            wallet.setFullName("Wallet " + i);
+            wallet.setCpfCnpj(String.format("%011d", i));
+            wallet.setEmail("wallet" + i + "@email.com");
+            wallet.setPassword("password123");
+            wallet.setBalance(BigDecimal.valueOf(1000));
+            wallets.add(walletRepository.save(wallet));
+        }
+
+        List<Transfer> transfers = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().minusDays(TRANSFERS_PER_SENDER);
+        for (int i = 0; i < WALLETS; i++) {
+            for (int day = 0; day < TRANSFERS_PER_SENDER; day++) {
+                transfers.add(new Transfer(null,
+                        wallets.get(i).getId(),
+                        wallets.get((i + 1) % WALLETS).getId(),
+                        BigDecimal.TEN,
+                        start.plusDays(day)));
+            }
+        }
+        transferRepository.saveAll(transfers);
+    }
+
+    @Test
+    @DisplayName("findTransferBySenderId should use the sender index")
+    void findTransferBySenderIdShouldUseIndex() {
+        Document explain = explain(() -> transferRepository.findTransferBySenderId(wallets.getFirst().getId()));
+
+        assertIndexedPlan(explain, TRANSFERS_PER_SENDER);
+    }
+
+    @Test
+    @DisplayName("findTransferByReceiverId should use the receiver index")
+    void findTransferByReceiverIdShouldUseIndex() {
+        Document explain = explain(() -> transferRepository.findTransferByReceiverId(wallets.getFirst().getId()));
+
+        assertIndexedPlan(explain, TRANSFERS_PER_SENDER);
+    }
+
+    @Test
+    @DisplayName("findAll sorted by createdAt should walk the createdAt index")
+    void findAllSortedByCreatedAtShouldUseIndex() {
+        Document explain = explain(() -> transferRepository.findAll(PageRequest.of(0, 10, Sort.by("createdAt"))));
+
+        assertIndexedPlan(explain, 10);
+    }
+
+    @Test
+    @DisplayName("findFirstByCreatedAtBefore should walk the createdAt index")
+    void findOldestTransferShouldUseIndex() {
+        Document explain = explain(() -> transferRepository.findFirstByCreatedAtBeforeOrderByCreatedAtAsc(LocalDateTime.now()));
+
+        assertIndexedPlan(explain, 1);
+    }
+
+    @Test
+    @DisplayName("findById should use the _id index")
+    void findByIdShouldUseIdIndex() {
+        String id = transferRepository.findAll().getFirst().getId();
+        Document explain = explain(() -> transferRepository.findById(id));
+
+        assertIndexedPlan(explain, 1);
+    }
+
+    @Test
+    @DisplayName("findBalanceById should use the _id index")
+    void findBalanceByIdShouldUseIdIndex() {
+        Document explain = explain(() -> walletRepository.findBalanceById(wallets.getFirst().getId()));
+
+        assertIndexedPlan(explain, 1);
+    }
+
+    @Test
+    @DisplayName("findBalanceVersionByIdIn should use the _id index")
+    void findBalanceVersionByIdInShouldUseIdIndex() {
+        Document explain = explain(() -> walletRepository.findBalanceVersionByIdIn(
+                List.of(wallets.get(0).getId(), wallets.get(1).getId())));
+
+        assertIndexedPlan(explain, 2);
+    }
+
+    @Test
+    @DisplayName("getFinancialSummary should be covered by the createdAt index")
+    void getFinancialSummaryShouldBeCoveredByIndex() {
+        Document explain = explain(() -> transferRepository.getFinancialSummary(
+                LocalDate.now().minusDays(5), LocalDate.now()));
+
+        assertIndexedPlan(explain, 0);
+    }
+
+    /**
+     * Runs the repository call, takes the first read command the driver sent
+     * for it, and explains exactly that command, so a changed derived query,
+     * projection or sort is explained as it is actually issued.
+     */
+    private Document explain(Runnable repositoryCall) {
+        BsonDocument command = CommandCapture.capture(repositoryCall);
+        BsonDocument explainable = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!SESSION_FIELDS.contains(key)) {
+                explainable.append(key, value);
+            }
+        });
+        return mongoTemplate.getDb().runCommand(new BsonDocument("explain", explainable)
+                .append("verbosity", new BsonString("executionStats")));
+    }
+
+    private void assertIndexedPlan(Document explain, long maxDocsExamined) {
+        List<String> stages = new ArrayList<>();
+        List<Long> docsExamined = new ArrayList<>();
+        collect(explain, false, stages, docsExamined);
+
+        assertThat(stages).as("winning plan stages").isNotEmpty().doesNotContain("COLLSCAN");
+        assertThat(docsExamined).as("totalDocsExamined").isNotEmpty().allMatch(n -> n <= maxDocsExamined);
+    }
+
+    private void collect(Object node, boolean inWinningPlan, List<String> stages, List<Long> docsExamined) {
+        if (node instanceof Document document) {
+            for (var entry : document.entrySet()) {
+                String key = entry.getKey();
+                Object value = entry.getValue();
+                if (key.equals("rejectedPlans")) {
+                    continue;
+                }
+                if (inWinningPlan && key.equals("stage") && value instanceof String stage) {
+                    stages.add(stage);
+                }
+                if (key.equals("totalDocsExamined") && value instanceof Number n) {
+                    docsExamined.add(n.longValue());
+                }
+                collect(value, inWinningPlan || key.equals("winningPlan"), stages, docsExamined);
+            }
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collect(item, inWinningPlan, stages, docsExamined));
+        }
+    }
+
+    @TestConfiguration
+    static class CommandCapture {
+
+        private static final Set<String> READS = Set.of("find", "aggregate", "count", "distinct");
+        private static final Queue<BsonDocument> CAPTURED = new ConcurrentLinkedQueue<>();
+        private static volatile boolean capturing;
+
+        static synchronized BsonDocument capture(Runnable repositoryCall) {
+            CAPTURED.clear();
+            capturing = true;
+            try {
+                repositoryCall.run();
+            } finally {
+                capturing = false;
+            }
+            BsonDocument command = CAPTURED.poll();
+            assertThat(command).as("read command sent by the repository").isNotNull();
+            return command;
+        }
+
+        @Bean
+        MongoClientSettingsBuilderCustomizer commandCapture() {
+            return settings -> settings.addCommandListener(new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    if (capturing && READS.contains(event.getCommandName())) {
+                        CAPTURED.add(event.getCommand().clone());
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.guilherme.payments_flux.domain.repository.archive;
+
+import dev.guilherme.payments_flux.core.configuration.TransferStorageProperties;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private LocalDate day;
+    private List<Transfer> transfers;
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.now().minusDays(120);
+        transfers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime createdAt = day.atStartOfDay().plusMinutes(i);
+            transfers.add(new Transfer(
+                    new ObjectId(Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant())).toHexString(),
+                    "sender-" + (i % 10),
+                    "receiver-" + (i % 7),
+                    new BigDecimal("10.50").add(BigDecimal.valueOf(i)),
+                    createdAt));
+        }
+    }
+
+    @Test
+    @DisplayName("Should find archived transfers by id and wallet after a restart")
+    void shouldFindArchivedTransfersAfterRestart() throws Exception {
+        archive(directory).append(day, transfers.iterator());
+
+        TransferArchive reloaded = archive(directory);
+        Transfer expected = transfers.get(42);
+
+        assertEquals(expected, reloaded.findById(expected.getId()).orElseThrow());
+        assertEquals(10, reloaded.findBySender("sender-3").size());
+        assertEquals(transfers.stream().filter(t -> t.getReceiverId().equals("receiver-5")).toList(),
+                reloaded.findByReceiver("receiver-5"));
+        assertTrue(reloaded.findById(new ObjectId().toHexString()).isEmpty());
+        assertTrue(reloaded.findBySender("unknown").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should split segments into blocks and write them under a date partition")
+    void shouldSplitSegmentsIntoBlocks() throws Exception {
+        SegmentIndex index = archive(directory).append(day, transfers.iterator()).orElseThrow();
+
+        assertEquals(7, index.blocks().size());
+        assertEquals(100, index.records());
+        assertEquals(directory.resolve(String.format("%04d/%02d", day.getYear(), day.getMonthValue())),
+                index.segment().getParent());
+    }
+
+    @Test
+    @DisplayName("Should index each segment by time range and wallets")
+    void shouldIndexSegmentsByTimeRangeAndWallets() throws Exception {
+        SegmentIndex index = archive(directory).append(day, transfers.iterator()).orElseThrow();
+
+        assertEquals(transfers.getFirst().getCreatedAt(), index.from());
+        assertEquals(transfers.getLast().getCreatedAt(), index.to());
+        assertTrue(index.mayContainWallet("sender-9"));
+        assertTrue(index.mayContainWallet("receiver-6"));
+        assertFalse(index.overlaps(day.minusDays(1).atStartOfDay(), day.atStartOfDay().minusSeconds(1)));
+
+        SegmentIndex reloaded = SegmentFiles.readIndex(index.segment().resolveSibling(
+                index.segment().getFileName().toString().replace(SegmentFiles.SEGMENT_SUFFIX, SegmentFiles.INDEX_SUFFIX)));
+        assertEquals(index.from(), reloaded.from());
+        assertEquals(index.to(), reloaded.to());
+        assertArrayEquals(index.wallets(), reloaded.wallets());
+    }
+
+    @Test
+    @DisplayName("Should skip segments of other days when looking up by id")
+    void shouldSkipSegmentsOfOtherDays() throws Exception {
+        TransferArchive archive = archive(directory);
+        archive.append(day, transfers.iterator());
+        LocalDateTime otherDay = day.plusDays(3).atStartOfDay();
+        Transfer other = new Transfer(
+                new ObjectId(Date.from(otherDay.atZone(ZoneId.systemDefault()).toInstant())).toHexString(),
+                "sender-x", "receiver-x", BigDecimal.ONE, otherDay);
+        archive.append(day.plusDays(3), List.of(other).iterator());
+
+        assertEquals(other, archive.findById(other.getId()).orElseThrow());
+        assertEquals(List.of(other), archive.findBySender("sender-x"));
+        assertEquals(10, archive.findBySender("sender-3").size());
+    }
+
+    @Test
+    @DisplayName("Should not create a segment when there is nothing to archive")
+    void shouldNotCreateSegmentWhenEmpty() throws Exception {
+        assertTrue(archive(directory).append(day, List.<Transfer>of().iterator()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return nothing when the archive is disabled")
+    void shouldReturnNothingWhenDisabled() {
+        TransferArchive disabled = new TransferArchive(properties(false, directory));
+
+        assertTrue(disabled.findById(transfers.getFirst().getId()).isEmpty());
+        assertTrue(disabled.findBySender("sender-1").isEmpty());
+    }
+
+    private static TransferArchive archive(Path directory) {
+        return new TransferArchive(properties(true, directory));
+    }
+
+    private static TransferStorageProperties properties(boolean enabled, Path directory) {
+        return new TransferStorageProperties(
+                new TransferStorageProperties.TimeSeries(false, Granularity.SECONDS, Duration.ofSeconds(5)),
+                new TransferStorageProperties.Archive(enabled, directory, Duration.ofDays(90), Duration.ofHours(1), 16));
+    }
+}
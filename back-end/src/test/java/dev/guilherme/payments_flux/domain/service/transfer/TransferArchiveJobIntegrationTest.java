@@ -0,0 +1,98 @@
+package dev.guilherme.payments_flux.domain.service.transfer;
+
+import dev.guilherme.payments_flux.api.controller.BaseIntegrationTest;
+import dev.guilherme.payments_flux.domain.entity.Transfer;
+import dev.guilherme.payments_flux.domain.repository.TransferRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = {
+        "payments-flux.transfers.archive.enabled=true",
+        "payments-flux.transfers.archive.directory=build/transfer-archive-test",
+        "payments-flux.transfers.archive.interval=PT24H"
+})
+class TransferArchiveJobIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransferArchiveJob transferArchiveJob;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    private String senderId;
+    private String receiverId;
+    private List<Transfer> expired;
+    private Transfer recent;
+
+    @BeforeEach
+    void setUp() {
+        transferRepository.deleteAll();
+        senderId = new ObjectId().toHexString();
+        receiverId = new ObjectId().toHexString();
+
+        expired = new ArrayList<>();
+        for (int day = 120; day > 117; day--) {
+            for (int i = 0; i < 5; i++) {
+                LocalDateTime createdAt = LocalDateTime.now().minusDays(day).plusMinutes(i);
+                expired.add(transfer(createdAt));
+            }
+        }
+        transferRepository.saveAll(expired);
+        recent = transferRepository.save(transfer(LocalDateTime.now().minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should move expired days to the archive and keep serving them")
+    void shouldArchiveExpiredDaysAndServeThem() throws Exception {
+        transferArchiveJob.archive();
+
+        assertEquals(List.of(recent.getId()),
+                transferRepository.findAll().stream().map(Transfer::getId).toList());
+
+        Transfer archived = expired.get(7);
+        mockMvc.perform(get("/v1/api/transfer/{id}", archived.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(archived.getId()))
+                .andExpect(jsonPath("$.senderId").value(senderId));
+
+        mockMvc.perform(get("/v1/api/transfer/sender/{id}", senderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expired.size() + 1));
+
+        mockMvc.perform(get("/v1/api/transfer/receiver/{id}", receiverId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expired.size() + 1));
+    }
+
+    @Test
+    @DisplayName("Should leave transfers inside the retention window in MongoDB")
+    void shouldLeaveRecentTransfersInMongo() {
+        transferRepository.deleteAll(expired);
+
+        transferArchiveJob.archive();
+
+        assertEquals(1, transferRepository.count());
+        assertTrue(transferRepository.findById(recent.getId()).isPresent());
+    }
+
+    private Transfer transfer(LocalDateTime createdAt) {
+        ObjectId id = new ObjectId(Date.from(createdAt.atZone(ZoneId.systemDefault()).toInstant()));
+        return new Transfer(id.toHexString(), senderId, receiverId, BigDecimal.TEN, createdAt);
+    }
+}
@@ -3,11 +3,14 @@ package dev.guilherme.payments_flux.domain.service.transfer;
 import dev.guilherme.payments_flux.api.dto.TransferDTO;
 import dev.guilherme.payments_flux.api.exception.BusinessException;
 import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
+import dev.guilherme.payments_flux.api.exception.WalletConflictException;
 import dev.guilherme.payments_flux.api.mapper.TransferMapper;
 import dev.guilherme.payments_flux.domain.entity.Transfer;
-import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceVersionProjection;
 import dev.guilherme.payments_flux.domain.repository.TransferRepository;
 import dev.guilherme.payments_flux.domain.repository.WalletRepository;
+import dev.guilherme.payments_flux.domain.repository.archive.TransferArchive;
+import dev.guilherme.payments_flux.domain.service.wallet.BalanceChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +20,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +32,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,12 @@ public class TransferServiceImplTest {
     @Mock
     private TransferMapper transferMapper;
 
+    @Mock
+    private TransferArchive transferArchive;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TransferServiceImpl transferService;
 
@@ -49,8 +60,8 @@ public class TransferServiceImplTest {
     private String senderId;
     private String receiverId;
     private BigDecimal amount;
-    private Wallet sender;
-    private Wallet receiver;
+    private WalletBalanceVersionProjection sender;
+    private WalletBalanceVersionProjection receiver;
 
     @BeforeEach
     void setUp() {
@@ -58,8 +69,6 @@ public class TransferServiceImplTest {
         senderId = "1L";
         receiverId = "2L";
         amount = new BigDecimal("100.00");
-        sender = new Wallet();
-        receiver = new Wallet();
     }
 
 
@@ -70,19 +79,15 @@ public class TransferServiceImplTest {
         void shouldCreateTransferWithValidDataAndReturnResponse() {
             var requestDTO = new TransferDTO.CreateRequest(senderId, receiverId, amount);
 
-            sender = new Wallet();
-            sender.setId(senderId);
-            sender.setBalance(BigDecimal.valueOf(500));
-
-            receiver = new Wallet();
-            receiver.setId(receiverId);
-            receiver.setBalance(BigDecimal.valueOf(300));
+            sender = new WalletBalanceVersionProjection(senderId, BigDecimal.valueOf(500), 3L);
+            receiver = new WalletBalanceVersionProjection(receiverId, BigDecimal.valueOf(300), 7L);
 
             Transfer transferEntity = new Transfer();
             transferEntity.setAmount(amount);
 
-            when(walletRepository.findById(senderId)).thenReturn(Optional.of(sender));
-            when(walletRepository.findById(receiverId)).thenReturn(Optional.of(receiver));
+            when(walletRepository.findBalanceVersionByIdIn(List.of(senderId, receiverId)))
+                    .thenReturn(List.of(sender, receiver));
+            when(walletRepository.updateBalance(any(), anyLong(), any())).thenReturn(1L);
             when(transferMapper.toEntity(requestDTO)).thenReturn(transferEntity);
             when(transferRepository.save(any())).thenReturn(new Transfer(
                     "323291L", senderId, receiverId, amount, LocalDateTime.now()));
@@ -97,10 +102,32 @@ public class TransferServiceImplTest {
             assertEquals(amount, transferCaptor.getValue().getAmount());
 
             verify(walletRepository, never()).save(any());
-            assertEquals(0, sender.getBalance().compareTo(BigDecimal.valueOf(400)),
-                    "Sender balance should be updated");
-            assertEquals(0, receiver.getBalance().compareTo(BigDecimal.valueOf(400)),
-                    "Receiver balance should be updated");
+            verify(walletRepository, never()).findById(any());
+            verify(walletRepository).updateBalance(senderId, 3L, new BigDecimal("400.00"));
+            verify(walletRepository).updateBalance(receiverId, 7L, new BigDecimal("400.00"));
+            verify(eventPublisher).publishEvent(new BalanceChangedEvent(
+                    senderId, new BigDecimal("400.00"), 4L, BalanceChangedEvent.Cause.TRANSFER_OUT, null));
+            verify(eventPublisher).publishEvent(new BalanceChangedEvent(
+                    receiverId, new BigDecimal("400.00"), 8L, BalanceChangedEvent.Cause.TRANSFER_IN, null));
+        }
+
+        @Test
+        @DisplayName("Should throw WalletConflictException naming the wallet that changed concurrently")
+        void shouldThrowOptimisticLockingFailureWhenWalletChangedConcurrently() {
+            var requestDTO = new TransferDTO.CreateRequest(senderId, receiverId, amount);
+
+            sender = new WalletBalanceVersionProjection(senderId, BigDecimal.valueOf(500), 3L);
+            receiver = new WalletBalanceVersionProjection(receiverId, BigDecimal.valueOf(300), 7L);
+
+            when(walletRepository.findBalanceVersionByIdIn(List.of(senderId, receiverId)))
+                    .thenReturn(List.of(sender, receiver));
+            when(walletRepository.updateBalance(senderId, 3L, new BigDecimal("400.00"))).thenReturn(0L);
+
+            WalletConflictException exception = assertThrows(
+                    WalletConflictException.class, () -> transferService.create(requestDTO));
+            assertEquals(senderId, exception.getWalletId());
+            verify(transferRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
         }
 
         @Test
@@ -109,19 +136,18 @@ public class TransferServiceImplTest {
             BigDecimal insufficientAmount = new BigDecimal("1000.00");
             TransferDTO.CreateRequest createRequestDTO = new TransferDTO.CreateRequest(senderId, receiverId, insufficientAmount);
 
-            sender.setId(senderId);
-            sender.setBalance(BigDecimal.valueOf(500.00));
-            receiver.setId(receiverId);
-            receiver.setBalance(BigDecimal.valueOf(200.00));
+            sender = new WalletBalanceVersionProjection(senderId, BigDecimal.valueOf(500.00), 0L);
+            receiver = new WalletBalanceVersionProjection(receiverId, BigDecimal.valueOf(200.00), 0L);
 
-            when(walletRepository.findById(createRequestDTO.senderId())).thenReturn(Optional.of(sender));
-            when(walletRepository.findById(createRequestDTO.receiverId())).thenReturn(Optional.of(receiver));
+            when(walletRepository.findBalanceVersionByIdIn(List.of(senderId, receiverId)))
+                    .thenReturn(List.of(sender, receiver));
 
             BusinessException exception = assertThrows(
                     BusinessException.class, (() -> transferService.create(createRequestDTO))
             );
 
             assertEquals("Insufficient balance for transfer.", exception.getMessage());
+            verify(walletRepository, never()).updateBalance(any(), anyLong(), any());
             verify(transferRepository, never()).save(any());
         }
 
@@ -130,12 +156,10 @@ public class TransferServiceImplTest {
         void shouldThrowBusinessExceptionWhenTransferringToSameWallet() {
             TransferDTO.CreateRequest createRequestDTO = new TransferDTO.CreateRequest(receiverId, receiverId, amount);
 
-            Wallet wallet = new Wallet();
-            wallet.setId(receiverId);
-            wallet.setBalance(BigDecimal.valueOf(500));
+            var wallet = new WalletBalanceVersionProjection(receiverId, BigDecimal.valueOf(500), 0L);
 
-            when(walletRepository.findById(createRequestDTO.senderId())).thenReturn(Optional.of(wallet));
-            when(walletRepository.findById(createRequestDTO.receiverId())).thenReturn(Optional.of(wallet));
+            when(walletRepository.findBalanceVersionByIdIn(List.of(receiverId, receiverId)))
+                    .thenReturn(List.of(wallet));
 
             BusinessException exception = assertThrows(
                     BusinessException.class, (() -> transferService.create(createRequestDTO))
@@ -144,6 +168,18 @@ public class TransferServiceImplTest {
             assertEquals("The transferency is not be finished.", exception.getMessage());
             verify(transferRepository, never()).save(any());
         }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when sender wallet not found")
+        void shouldThrowResourceNotFoundExceptionWhenSenderNotFound() {
+            TransferDTO.CreateRequest createRequestDTO = new TransferDTO.CreateRequest(senderId, receiverId, amount);
+
+            when(walletRepository.findBalanceVersionByIdIn(List.of(senderId, receiverId)))
+                    .thenReturn(List.of(new WalletBalanceVersionProjection(receiverId, BigDecimal.TEN, 0L)));
+
+            assertThrows(ResourceNotFoundException.class, () -> transferService.create(createRequestDTO));
+            verify(transferRepository, never()).save(any());
+        }
     }
 
     @Nested
@@ -175,6 +211,22 @@ public class TransferServiceImplTest {
             assertTrue(exception.getMessage().contains("Transfer not found"));
             verify(transferMapper, never()).toResponse(any());
         }
+
+        @Test
+        @DisplayName("Should fall through to the archive when transfer is not in MongoDB")
+        void shouldFallThroughToArchiveWhenTransferNotInMongo() {
+            Transfer archived = new Transfer(transferId, senderId, receiverId, amount, LocalDateTime.now().minusYears(1));
+            var expectedResponse = new TransferDTO.Response(transferId, senderId, receiverId, amount, archived.getCreatedAt());
+
+            when(transferRepository.findById(transferId)).thenReturn(Optional.empty());
+            when(transferArchive.findById(transferId)).thenReturn(Optional.of(archived));
+            when(transferMapper.toResponse(archived)).thenReturn(expectedResponse);
+
+            var response = transferService.findById(transferId);
+
+            assertEquals(expectedResponse, response);
+            verify(transferArchive).findById(transferId);
+        }
     }
 
     @Nested
@@ -249,6 +301,22 @@ public class TransferServiceImplTest {
             verify(transferRepository).findTransferBySenderId(senderId);
             verify(transferMapper, never()).toResponse(any());
         }
+
+        @Test
+        @DisplayName("Should merge archived transfers without duplicates")
+        void shouldMergeArchivedTransfersWithoutDuplicates() {
+            Transfer hot = new Transfer(transferId, senderId, receiverId, amount, LocalDateTime.now());
+            Transfer cold = new Transfer("12345L", senderId, receiverId, amount, LocalDateTime.now().minusYears(1));
+
+            when(transferRepository.findTransferBySenderId(senderId)).thenReturn(List.of(hot));
+            when(transferArchive.findBySender(senderId)).thenReturn(List.of(cold, hot));
+
+            var result = transferService.findBySender(senderId);
+
+            assertEquals(2, result.size());
+            verify(transferMapper).toResponse(hot);
+            verify(transferMapper).toResponse(cold);
+        }
     }
 
     @Nested
@@ -0,0 +1,102 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.core.cache.CacheCircuitBreaker;
+import dev.guilherme.payments_flux.core.cache.ResilientCacheManager;
+import dev.guilherme.payments_flux.core.configuration.CacheBreakerProperties;
+import dev.guilherme.payments_flux.core.constraints.CacheNames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BalanceBatchCacheTest {
+
+    private static final String PREFIX = "balance-cache::";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CacheBreakerProperties properties = new CacheBreakerProperties(
+            true, 3, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(30), 100, 100);
+
+    private Cache redis;
+    private ValueOperations<String, BigDecimal> valueOperations;
+    private CacheCircuitBreaker breaker;
+    private ResilientCacheManager cacheManager;
+    private BalanceBatchCache batchCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = spy(new ConcurrentMapCache(CacheNames.BALANCE, false));
+        CacheManager remoteManager = mock(CacheManager.class);
+        when(remoteManager.getCache(CacheNames.BALANCE)).thenReturn(redis);
+        breaker = new CacheCircuitBreaker(properties, meterRegistry);
+        cacheManager = new ResilientCacheManager(remoteManager, mock(RedisConnectionFactory.class),
+                breaker, properties, meterRegistry);
+
+        RedisTemplate<String, BigDecimal> template = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> ((List<String>) invocation.getArgument(0))
+                .stream()
+                .map(key -> redis.get(key.substring(PREFIX.length()), BigDecimal.class))
+                .toList());
+        doAnswer(invocation -> {
+            redis.put(invocation.<String>getArgument(0).substring(PREFIX.length()), invocation.getArgument(1));
+            return null;
+        }).when(valueOperations).set(any(), any(), any(Duration.class));
+        when(template.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(template);
+            return List.of();
+        });
+        batchCache = new BalanceBatchCache(template, cacheManager, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should not serve a balance whose eviction is still pending")
+    void shouldEvictPendingBalanceBeforeBatchRead() {
+        redis.put("wallet-a", BigDecimal.TEN);
+        doThrow(new RedisConnectionFailureException("blip")).doCallRealMethod().when(redis).evict("wallet-a");
+        cacheManager.getCache(CacheNames.BALANCE).evict("wallet-a");
+        assertFalse(breaker.isOpen());
+
+        assertEquals(Map.of(), batchCache.getAll(List.of("wallet-a")));
+
+        batchCache.putAll(Map.of("wallet-a", BigDecimal.ONE));
+        assertEquals(Map.of("wallet-a", BigDecimal.ONE), batchCache.getAll(List.of("wallet-a")));
+    }
+
+    @Test
+    @DisplayName("Should read and back-fill the local fallback while the breaker is open")
+    void shouldUseLocalFallbackWhileBypassed() {
+        redis.put("wallet-a", BigDecimal.TEN);
+        for (int i = 0; i < properties.failureThreshold(); i++) {
+            breaker.onFailure();
+        }
+        assertTrue(breaker.isOpen());
+
+        assertEquals(Map.of(), batchCache.getAll(List.of("wallet-a")));
+
+        batchCache.putAll(Map.of("wallet-a", BigDecimal.ONE));
+        assertEquals(Map.of("wallet-a", BigDecimal.ONE), batchCache.getAll(List.of("wallet-a")));
+        verifyNoInteractions(valueOperations);
+        assertEquals(BigDecimal.TEN, redis.get("wallet-a", BigDecimal.class));
+    }
+}
@@ -0,0 +1,135 @@
+package dev.guilherme.payments_flux.domain.service.wallet;
+
+import dev.guilherme.payments_flux.api.exception.OverloadedException;
+import dev.guilherme.payments_flux.core.configuration.PasswordHashProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolExecutor executor;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hashed:" + rawPassword);
+            }
+        };
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4),
+                new ThreadPoolExecutor.AbortPolicy());
+        PasswordHashProperties properties = new PasswordHashProperties(
+                1, 4, 1, 2, Duration.ofMillis(200), Duration.ofSeconds(3), 4, Duration.ofMillis(100), 4, 4);
+        passwordHasher = new PasswordHasher(blockingEncoder, executor, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should hash on the pool and record hash and queue wait timings")
+    void shouldHashOnPoolAndRecordTimings() {
+        release.countDown();
+
+        assertEquals("hashed:secret", passwordHasher.hash("secret"));
+        assertEquals(1, meterRegistry.get("wallet.password.hash").timer().count());
+        assertEquals(1, meterRegistry.get("wallet.password.hash.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should shed interactive hashes once the queue reaches the shedding depth")
+    void shouldShedWhenQueueIsTooDeep() throws Exception {
+        CompletableFuture<String> running = passwordHasher.hashAsync("first");
+        CompletableFuture<String> queued = passwordHasher.hashAsync("second");
+        awaitQueueDepth(1);
+
+        OverloadedException ex = assertThrows(OverloadedException.class, () -> passwordHasher.hash("third"));
+
+        assertEquals(Duration.ofSeconds(3), ex.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("wallet.password.hash.shed").counter().count());
+        assertEquals(1.0, meterRegistry.get("wallet.password.hash.queue.depth").gauge().value());
+
+        release.countDown();
+        assertEquals("hashed:first", running.get(1, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should shed an interactive hash that is not done before the timeout")
+    void shouldShedWhenHashTimesOut() {
+        assertThrows(OverloadedException.class, () -> passwordHasher.hash("slow"));
+        assertEquals(1.0, meterRegistry.get("wallet.password.hash.shed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop a timed out hash that never left the queue")
+    void shouldDropTimedOutHashFromQueue() throws Exception {
+        CompletableFuture<String> running = passwordHasher.hashAsync("first");
+        awaitActive();
+
+        assertThrows(OverloadedException.class, () -> passwordHasher.hash("queued"));
+
+        assertEquals(0, executor.getQueue().size());
+        release.countDown();
+        assertEquals("hashed:first", running.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should shed before submitting when the work ahead cannot finish within the timeout")
+    void shouldShedWhenExpectedWaitExceedsTimeout() throws Exception {
+        CompletableFuture<String> running = passwordHasher.hashAsync("first");
+        awaitActive();
+        meterRegistry.get("wallet.password.hash").timer().record(Duration.ofMillis(150));
+
+        assertThrows(OverloadedException.class, () -> passwordHasher.hash("second"));
+
+        assertEquals(0, executor.getQueue().size());
+        assertEquals(1, executor.getTaskCount());
+        release.countDown();
+        assertEquals("hashed:first", running.get(1, TimeUnit.SECONDS));
+    }
+
+    private void awaitActive() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.getActiveCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.getQueue().size() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import dev.guilherme.payments_flux.api.exception.BusinessException;
 import dev.guilherme.payments_flux.api.exception.ResourceNotFoundException;
 import dev.guilherme.payments_flux.api.mapper.WalletMapper;
 import dev.guilherme.payments_flux.domain.entity.Wallet;
+import dev.guilherme.payments_flux.domain.projections.WalletBalanceVersionProjection;
+import dev.guilherme.payments_flux.domain.projections.WalletIdBalanceProjection;
 import dev.guilherme.payments_flux.domain.repository.WalletRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +17,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,7 +38,13 @@ public class WalletServiceImplTest {
     private WalletMapper walletMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private BalanceBatchCache balanceBatchCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private WalletServiceImpl walletService;
@@ -79,7 +88,7 @@ public class WalletServiceImplTest {
             verify(walletRepository).save(walletCaptor.capture());
             Wallet capturedWallet = walletCaptor.getValue();
             assertEquals(BigDecimal.ZERO, capturedWallet.getBalance());
-            verify(passwordEncoder).encode(password);
+            verify(passwordHasher).hash(password);
         }
 
         @Test
@@ -90,11 +99,13 @@ public class WalletServiceImplTest {
             when(walletMapper.toEntity(any())).thenReturn(new Wallet());
             when(walletRepository.save(any())).thenReturn(new Wallet(walletId, fullName, cpfCnpj, email, "encoded", BigDecimal.ZERO, version));
             when(walletMapper.toResponse(any())).thenReturn(new WalletDTO.Response(walletId, fullName, cpfCnpj, email, BigDecimal.ZERO));
-            when(passwordEncoder.encode(password)).thenReturn("encoded");
+            when(passwordHasher.hash(password)).thenReturn("encoded");
 
             walletService.create(requestDTO);
 
-            verify(passwordEncoder).encode(password);
+            ArgumentCaptor<Wallet> walletCaptor = ArgumentCaptor.forClass(Wallet.class);
+            verify(walletRepository).save(walletCaptor.capture());
+            assertEquals("encoded", walletCaptor.getValue().getPassword());
         }
     }
 
@@ -134,6 +145,57 @@ public class WalletServiceImplTest {
         }
     }
 
+    @Nested
+    class BalanceSnapshot {
+        @Test
+        @DisplayName("Should read the snapshot balance and version from the repository")
+        void shouldReadSnapshotFromRepository() {
+            when(walletRepository.findBalanceVersionById(walletId))
+                    .thenReturn(Optional.of(new WalletBalanceVersionProjection(walletId, balance, version)));
+
+            BalanceChangedEvent snapshot = walletService.balanceSnapshot(walletId);
+
+            assertEquals(BalanceChangedEvent.of(walletId, balance, version, BalanceChangedEvent.Cause.SNAPSHOT), snapshot);
+            verify(walletRepository, never()).findBalanceById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when the wallet does not exist")
+        void shouldThrowWhenWalletMissing() {
+            when(walletRepository.findBalanceVersionById(walletId)).thenReturn(Optional.empty());
+
+            assertThrows(ResourceNotFoundException.class, () -> walletService.balanceSnapshot(walletId));
+        }
+    }
+
+    @Nested
+    class GetBalances {
+        @Test
+        @DisplayName("Should serve cache hits, load misses with one query and back-fill them")
+        void shouldServeHitsAndLoadMisses() {
+            when(balanceBatchCache.getAll(List.of("a", "b", "c"))).thenReturn(Map.of("b", BigDecimal.ONE));
+            when(walletRepository.findBalanceByIdIn(List.of("a", "c")))
+                    .thenReturn(List.of(new WalletIdBalanceProjection("a", BigDecimal.TEN)));
+
+            Map<String, BigDecimal> balances = walletService.getBalances(List.of("a", "b", "a", "c"));
+
+            assertEquals(List.of("a", "b"), List.copyOf(balances.keySet()));
+            assertEquals(BigDecimal.TEN, balances.get("a"));
+            assertEquals(BigDecimal.ONE, balances.get("b"));
+            verify(balanceBatchCache).putAll(Map.of("a", BigDecimal.TEN));
+        }
+
+        @Test
+        @DisplayName("Should not query the database when every balance is cached")
+        void shouldNotQueryWhenAllCached() {
+            when(balanceBatchCache.getAll(List.of("a"))).thenReturn(Map.of("a", BigDecimal.ONE));
+
+            assertEquals(Map.of("a", BigDecimal.ONE), walletService.getBalances(List.of("a")));
+            verify(walletRepository, never()).findBalanceByIdIn(any());
+            verify(balanceBatchCache, never()).putAll(any());
+        }
+    }
+
     @Nested
     class UpdateWallet {
         @Test
@@ -275,6 +337,8 @@ public class WalletServiceImplTest {
             verify(walletRepository).findById(walletId);
             verify(walletRepository).save(wallet);
             assertEquals(BigDecimal.valueOf(60.00), wallet.getBalance());
+            verify(eventPublisher).publishEvent(
+                    BalanceChangedEvent.of(walletId, wallet.getBalance(), version, BalanceChangedEvent.Cause.DEPOSIT));
         }
         
         @Test
@@ -315,6 +379,8 @@ public class WalletServiceImplTest {
             verify(walletRepository).findById(walletId);
             verify(walletRepository).save(wallet);
             assertEquals(BigDecimal.valueOf(70.00), wallet.getBalance());
+            verify(eventPublisher).publishEvent(
+                    BalanceChangedEvent.of(walletId, wallet.getBalance(), version, BalanceChangedEvent.Cause.WITHDRAW));
         }
         
         @Test